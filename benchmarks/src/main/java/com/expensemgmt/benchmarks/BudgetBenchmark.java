@@ -0,0 +1,59 @@
+package com.expensemgmt.benchmarks;
+
+import com.expensemgmt.model.Budget;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-budget checks run on every dashboard render and approval, cycling through
+ * 1024 budgets so the branch predictor cannot learn one answer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BudgetBenchmark {
+
+    private static final int MASK = 1023;
+
+    private Budget[] budgets;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        budgets = ExpenseDataset.budgets(MASK + 1);
+    }
+
+    @Benchmark
+    public BigDecimal utilizationPercentage() {
+        return budgets[next++ & MASK].getUtilizationPercentage();
+    }
+
+    @Benchmark
+    public BigDecimal remainingAmount() {
+        return budgets[next++ & MASK].getRemainingAmount();
+    }
+
+    @Benchmark
+    public boolean isNearLimit() {
+        return budgets[next++ & MASK].isNearLimit();
+    }
+
+    @Benchmark
+    public boolean isOverBudget() {
+        return budgets[next++ & MASK].isOverBudget();
+    }
+}
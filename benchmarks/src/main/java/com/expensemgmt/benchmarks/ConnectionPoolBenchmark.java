@@ -0,0 +1,72 @@
+package com.expensemgmt.benchmarks;
+
+import com.expensemgmt.util.DatabaseConnection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connection acquire latency with 200 concurrent callers, the shape of a burst of requests,
+ * against the pool configured in application.properties. Sample mode reports percentiles.
+ * Requires a reachable database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(200)
+@Fork(1)
+public class ConnectionPoolBenchmark {
+
+    @Setup(Level.Trial)
+    public void checkDatabase() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            if (!conn.isValid(5)) {
+                throw new IllegalStateException("Database in application.properties is not reachable");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void printPoolMetrics() {
+        System.out.println(DatabaseConnection.getPoolMetrics());
+        DatabaseConnection.shutdown();
+    }
+
+    @Benchmark
+    public boolean acquireAndRelease() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return conn.getAutoCommit();
+        }
+    }
+
+    /**
+     * Acquire plus a trivial round trip, so each connection is held for a realistic minimum.
+     */
+    @Benchmark
+    public boolean acquireAndQuery() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT 1")) {
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.expensemgmt.benchmarks;
+
+import com.expensemgmt.model.Budget;
+import com.expensemgmt.model.Expense;
+import com.expensemgmt.model.Policy;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deterministic generated data shaped like a production organization: amounts are
+ * log-normal around $30 with a long tail, most expenses are in USD, dates spread over
+ * two years, and categories, stores and submitters follow a skewed distribution. The
+ * same seed always yields the same data, so runs are comparable.
+ */
+final class ExpenseDataset {
+
+    static final String ORGANIZATION_ID = "1";
+    static final int CATEGORIES = 20;
+    static final int STORES = 50;
+    static final int USERS = 500;
+
+    private static final long SEED = 20240501L;
+    private static final String[] CURRENCIES = {"USD", "USD", "USD", "USD", "USD", "USD", "USD", "USD", "EUR", "GBP"};
+    private static final Expense.Status[] STATUSES = {Expense.Status.APPROVED, Expense.Status.APPROVED,
+            Expense.Status.APPROVED, Expense.Status.REIMBURSED, Expense.Status.PENDING, Expense.Status.PENDING,
+            Expense.Status.REJECTED, Expense.Status.DRAFT};
+    private static final String[] TITLES = {"Team lunch", "Taxi to airport", "Hotel", "Office supplies",
+            "Conference ticket", "Client dinner", "Train fare", "Software licence", "Parking", "Coffee"};
+    private static final long TWO_YEARS_MILLIS = TimeUnit.DAYS.toMillis(730);
+
+    private ExpenseDataset() {
+    }
+
+    static List<Expense> expenses(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        long now = System.currentTimeMillis();
+        List<Expense> expenses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Expense expense = new Expense();
+            expense.setId(Integer.toString(i + 1));
+            expense.setTitle(TITLES[random.nextInt(TITLES.length)]);
+            expense.setAmount(amount(random));
+            expense.setCurrency(CURRENCIES[random.nextInt(CURRENCIES.length)]);
+            long expenseTime = now - (long) (random.nextDouble() * TWO_YEARS_MILLIS);
+            expense.setExpenseDate(new Date(expenseTime));
+            expense.setSubmissionDate(new Date(expenseTime + TimeUnit.DAYS.toMillis(random.nextInt(10))));
+            expense.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            expense.setOrganizationId(ORGANIZATION_ID);
+            expense.setCategoryId(Integer.toString(skewed(random, CATEGORIES) + 1));
+            expense.setStoreId(Integer.toString(skewed(random, STORES) + 1));
+            expense.setUserId(Integer.toString(skewed(random, USERS) + 1));
+            if (random.nextInt(10) < 7) {
+                expense.setReceiptUrl("receipts/" + (i + 1) + ".pdf");
+            }
+            expenses.add(expense);
+        }
+        return expenses;
+    }
+
+    static BigDecimal[] amounts(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        BigDecimal[] amounts = new BigDecimal[count];
+        for (int i = 0; i < count; i++) {
+            amounts[i] = amount(random);
+        }
+        return amounts;
+    }
+
+    /**
+     * Policies spread over the categories, one in ten organization-wide, with limits in the range
+     * the generated amounts fall into so that a realistic share of expenses violates them.
+     */
+    static List<Policy> policies(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Policy> policies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Policy policy = new Policy(Integer.toString(i + 1), "Policy " + (i + 1), ORGANIZATION_ID);
+            policy.setCategoryId(random.nextInt(10) == 0 ? null : Integer.toString(random.nextInt(CATEGORIES) + 1));
+            policy.setMaxAmount(BigDecimal.valueOf(5_000 + random.nextInt(200_000), 2));
+            policy.setRequiresReceipt(random.nextInt(4) == 0);
+            policy.setRequiresApproval(random.nextBoolean());
+            policy.setApprovalThreshold(BigDecimal.valueOf(2_500 + random.nextInt(100_000), 2));
+            policy.setIsActive(random.nextInt(20) != 0);
+            policies.add(policy);
+        }
+        return policies;
+    }
+
+    static Budget[] budgets(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        Budget[] budgets = new Budget[count];
+        for (int i = 0; i < count; i++) {
+            Budget budget = new Budget();
+            budget.setId(Integer.toString(i + 1));
+            long allocated = 100_000 + random.nextInt(10_000_000);
+            budget.setAllocatedAmount(BigDecimal.valueOf(allocated, 2));
+            budget.setSpentAmount(BigDecimal.valueOf((long) (allocated * random.nextDouble() * 1.2), 2));
+            budget.setAlertThreshold(new BigDecimal("0.80"));
+            budgets[i] = budget;
+        }
+        return budgets;
+    }
+
+    private static BigDecimal amount(SplittableRandom random) {
+        // Box-Muller; SplittableRandom has no nextGaussian on Java 11
+        double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+        long cents = Math.max(1, Math.min(5_000_000, Math.round(Math.exp(3.4 + gaussian) * 100)));
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * Index in [0, size) where low indexes are much more likely, like a few busy users or stores.
+     */
+    private static int skewed(SplittableRandom random, int size) {
+        double u = random.nextDouble();
+        return (int) (size * u * u);
+    }
+}
@@ -0,0 +1,89 @@
+package com.expensemgmt.benchmarks;
+
+import com.expensemgmt.dao.BatchInsertResult;
+import com.expensemgmt.dao.ExpenseDao;
+import com.expensemgmt.model.Expense;
+import com.expensemgmt.util.DatabaseConnection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput of {@link ExpenseDao#insert(Expense)}, one statement and commit per row,
+ * against {@link ExpenseDao#insertBatch(List)}. Scores are per row. Requires the database in
+ * application.properties; rows are attributed to the user and organization given by
+ * {@code -Dbench.userId} and {@code -Dbench.organizationId} (default 1) and deleted afterwards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExpenseInsertBenchmark {
+
+    private static final int ROWS = 1000;
+    private static final String TITLE = "jmh-insert";
+
+    private final ExpenseDao expenseDao = new ExpenseDao();
+    private List<Expense> expenses;
+
+    @Setup(Level.Invocation)
+    public void prepare() {
+        expenses = ExpenseDataset.expenses(ROWS);
+        String userId = System.getProperty("bench.userId", "1");
+        String organizationId = System.getProperty("bench.organizationId", "1");
+        for (Expense expense : expenses) {
+            expense.setId(null);
+            expense.setTitle(TITLE);
+            expense.setUserId(userId);
+            expense.setOrganizationId(organizationId);
+            expense.setCategoryId(null);
+            expense.setStoreId(null);
+            expense.setApprovedBy(null);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteInserted() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement("DELETE FROM expense WHERE title = ?")) {
+            ps.setString(1, TITLE);
+            ps.executeUpdate();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void rowAtATime() throws SQLException {
+        for (Expense expense : expenses) {
+            expenseDao.insert(expense);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public BatchInsertResult batched() throws SQLException {
+        BatchInsertResult result = expenseDao.insertBatch(expenses);
+        if (!result.isComplete()) {
+            throw new IllegalStateException("Batch insert failed: " + result);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,75 @@
+package com.expensemgmt.benchmarks;
+
+import com.expensemgmt.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summing expense amounts as BigDecimal against long minor units ({@link Money.Sum}),
+ * the way the dashboard and ledger aggregate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MoneyBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private BigDecimal[] amounts;
+    private long[] minorUnits;
+
+    @Setup
+    public void setUp() {
+        amounts = ExpenseDataset.amounts(size);
+        minorUnits = new long[size];
+        for (int i = 0; i < size; i++) {
+            minorUnits[i] = Money.toMinorUnits(amounts[i], Money.DEFAULT_SCALE);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal sumBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : amounts) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long sumMinorUnits() {
+        Money.Sum sum = new Money.Sum(Money.DEFAULT_CURRENCY);
+        for (long minor : minorUnits) {
+            sum.add(minor);
+        }
+        return sum.getMinorUnits();
+    }
+
+    /**
+     * Money.Sum fed BigDecimal amounts, i.e. including the conversion from what JDBC returns.
+     */
+    @Benchmark
+    public long sumBigDecimalIntoMinorUnits() {
+        Money.Sum sum = new Money.Sum(Money.DEFAULT_CURRENCY);
+        for (BigDecimal amount : amounts) {
+            sum.add(amount);
+        }
+        return sum.getMinorUnits();
+    }
+}
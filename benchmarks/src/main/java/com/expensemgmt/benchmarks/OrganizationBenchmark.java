@@ -0,0 +1,53 @@
+package com.expensemgmt.benchmarks;
+
+import com.expensemgmt.model.Organization;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory monthly expense count over an organization's loaded expenses, which
+ * grows linearly with history. ExpenseQuotaService answers the same question from a
+ * counter; this shows what that avoids.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class OrganizationBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int expenseCount;
+
+    private Organization organization;
+
+    @Setup
+    public void setUp() {
+        organization = new Organization();
+        organization.setId(ExpenseDataset.ORGANIZATION_ID);
+        organization.setMaxExpensesPerMonth(Integer.MAX_VALUE);
+        organization.setExpenses(ExpenseDataset.expenses(expenseCount));
+    }
+
+    @Benchmark
+    public int currentMonthExpenseCount() {
+        return organization.getCurrentMonthExpenseCount();
+    }
+
+    @Benchmark
+    public boolean hasReachedExpenseLimit() {
+        return organization.hasReachedExpenseLimit();
+    }
+}
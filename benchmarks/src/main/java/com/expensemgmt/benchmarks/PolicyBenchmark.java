@@ -0,0 +1,69 @@
+package com.expensemgmt.benchmarks;
+
+import com.expensemgmt.dto.PolicyViolation;
+import com.expensemgmt.model.Expense;
+import com.expensemgmt.model.Policy;
+import com.expensemgmt.service.PolicyEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checking one expense against an organization's policies: calling
+ * {@link Policy#isExpenseCompliant(Expense)} on each applicable policy, against the
+ * compiled per-category rules of {@link PolicyEngine}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolicyBenchmark {
+
+    private static final int MASK = 1023;
+
+    @Param({"10", "1000", "10000"})
+    public int policyCount;
+
+    private List<Policy> policies;
+    private List<Expense> expenses;
+    private PolicyEngine.CompiledPolicies compiled;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        policies = ExpenseDataset.policies(policyCount);
+        expenses = ExpenseDataset.expenses(MASK + 1);
+        // The DAO is never consulted once the rules are installed
+        compiled = new PolicyEngine(null).install(ExpenseDataset.ORGANIZATION_ID, policies);
+    }
+
+    @Benchmark
+    public boolean scanPolicies() {
+        Expense expense = expenses.get(next++ & MASK);
+        boolean compliant = true;
+        for (Policy policy : policies) {
+            if (policy.getCategoryId() == null || policy.getCategoryId().equals(expense.getCategoryId())) {
+                compliant &= policy.isExpenseCompliant(expense);
+            }
+        }
+        return compliant;
+    }
+
+    @Benchmark
+    public List<PolicyViolation> compiledRules() {
+        return compiled.evaluate(expenses.get(next++ & MASK));
+    }
+}
@@ -56,7 +56,7 @@ echo "   3. Access the application at: http://localhost:8080/expense-management-
 echo ""
 echo "📋 Next steps:"
 echo "   1. Set up MySQL database using src/main/resources/schema.sql"
-echo "   2. Configure database connection in DatabaseConnection.java or context.xml"
+echo "   2. Configure database connection (db.* keys) in src/main/resources/application.properties"
 echo "   3. Run data migration script if migrating from existing data"
 echo "   4. Start Tomcat server"
 echo ""
@@ -1,14 +1,39 @@
 package com.expensemgmt.controller;
 
+import com.expensemgmt.dao.ExpenseFilter;
+import com.expensemgmt.dto.DuplicateCheckResult;
+import com.expensemgmt.dto.DuplicateMatch;
+import com.expensemgmt.dto.ExpensePage;
+import com.expensemgmt.dto.ExpenseSearchResult;
 import com.expensemgmt.model.Expense;
+import com.expensemgmt.model.User;
+import com.expensemgmt.service.ExpenseSearchService;
 import com.expensemgmt.service.ExpenseService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.SessionAttribute;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.sql.SQLException;
+import java.time.LocalDate;
 import java.util.List;
 
+/**
+ * Expense listing, search and duplicate checks. Every request is scoped to the signed-in
+ * user's organization, never to one named by the client; users who cannot view all
+ * expenses only see their own.
+ */
 @RestController
 @RequestMapping("/api/expenses")
 public class ExpenseController {
@@ -17,7 +42,107 @@ public class ExpenseController {
     private ExpenseService expenseService;
 
     @GetMapping
-    public List<Expense> getAllExpenses() {
-        return expenseService.getAllExpenses();
+    public ExpensePage getExpenses(
+            @SessionAttribute(name = "user", required = false) User user,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String categoryId,
+            @RequestParam(required = false) String storeId,
+            @RequestParam(required = false) Expense.Status status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + ExpenseService.DEFAULT_PAGE_SIZE) int limit) throws SQLException {
+        ExpenseFilter filter = buildFilter(user, userId, categoryId, storeId, status, from, to);
+        return expenseService.getExpenses(filter, cursor, limit);
+    }
+
+    @GetMapping("/search")
+    public List<ExpenseSearchResult> searchExpenses(
+            @SessionAttribute(name = "user", required = false) User user,
+            @RequestParam String q,
+            @RequestParam(required = false) Expense.Status status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "" + ExpenseSearchService.DEFAULT_LIMIT) int limit) throws SQLException {
+        ExpenseFilter filter = buildFilter(user, null, null, null, status, from, to);
+        return expenseService.search(filter, q, limit);
+    }
+
+    @PostMapping("/duplicates/check")
+    public DuplicateCheckResult checkDuplicates(@SessionAttribute(name = "user", required = false) User user,
+                                                @RequestBody Expense expense) throws SQLException {
+        expense.setOrganizationId(organizationOf(user));
+        if (expense.getUserId() == null || !user.canViewAllExpenses()) {
+            expense.setUserId(user.getId());
+        }
+        return expenseService.findDuplicates(expense);
+    }
+
+    @GetMapping("/duplicates")
+    public List<DuplicateMatch> scanDuplicates(@SessionAttribute(name = "user", required = false) User user)
+            throws SQLException {
+        String organizationId = organizationOf(user);
+        if (!user.canViewAllExpenses()) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        }
+        return expenseService.scanDuplicates(organizationId);
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamExpenses(
+            @SessionAttribute(name = "user", required = false) User user,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String categoryId,
+            @RequestParam(required = false) String storeId,
+            @RequestParam(required = false) Expense.Status status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        ExpenseFilter filter = buildFilter(user, userId, categoryId, storeId, status, from, to);
+        StreamingResponseBody body = out -> {
+            try {
+                expenseService.streamExpenses(filter, out);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Failed to stream expenses", e);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    // The signed-in user's organization; requests without one are refused rather than run unscoped
+    private static String organizationOf(User user) {
+        if (user == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+        if (user.getOrganizationId() == null) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "User has no organization");
+        }
+        return user.getOrganizationId();
+    }
+
+    private static ExpenseFilter buildFilter(User user, String userId, String categoryId, String storeId,
+                                             Expense.Status status, LocalDate from, LocalDate to) {
+        ExpenseFilter filter = buildFilter(organizationOf(user), userId, categoryId, storeId, status, from, to);
+        if (!user.canViewAllExpenses()) {
+            filter.setUserId(user.getId());
+        }
+        return filter;
+    }
+
+    private static ExpenseFilter buildFilter(String organizationId, String userId, String categoryId, String storeId,
+                                             Expense.Status status, LocalDate from, LocalDate to) {
+        ExpenseFilter filter = new ExpenseFilter();
+        filter.setOrganizationId(organizationId);
+        filter.setUserId(userId);
+        filter.setCategoryId(categoryId);
+        filter.setStoreId(storeId);
+        filter.setStatus(status);
+        filter.setFromDate(from);
+        filter.setToDate(to);
+        return filter;
     }
 }
@@ -0,0 +1,46 @@
+package com.expensemgmt.dao;
+
+import com.expensemgmt.dto.AuditEntry;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+public class AuditLogDao {
+
+    private static final String INSERT_PREFIX = "INSERT INTO audit_log (table_name, record_id, action, old_values, " +
+            "new_values, user_id, ip_address, user_agent, created_at) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Inserts audit rows with a single multi-row INSERT on the caller's connection.
+     * Callers bound the list size; AuditLogWriter flushes at most {@code audit.batchSize} rows.
+     */
+    public void insertAll(Connection conn, List<AuditEntry> entries) throws SQLException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + entries.size() * (ROW.length() + 2))
+                .append(INSERT_PREFIX);
+        for (int i = 0; i < entries.size(); i++) {
+            sql.append(i == 0 ? ROW : ", " + ROW);
+        }
+        try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            for (AuditEntry entry : entries) {
+                ps.setString(index++, entry.getTableName());
+                ps.setString(index++, entry.getRecordId());
+                ps.setString(index++, entry.getAction());
+                ps.setString(index++, entry.getOldValues());
+                ps.setString(index++, entry.getNewValues());
+                ps.setString(index++, entry.getUserId());
+                ps.setString(index++, entry.getIpAddress());
+                ps.setString(index++, entry.getUserAgent());
+                ps.setTimestamp(index++, new Timestamp(entry.getCreatedAt().getTime()));
+            }
+            ps.executeUpdate();
+        }
+    }
+}
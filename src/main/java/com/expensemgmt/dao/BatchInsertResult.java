@@ -0,0 +1,93 @@
+package com.expensemgmt.dao;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a chunked batch insert: how many rows committed and which chunks were rolled back.
+ */
+public class BatchInsertResult {
+
+    private final int requested;
+    private int inserted;
+    private final List<ChunkFailure> failures = new ArrayList<>();
+
+    public BatchInsertResult(int requested) {
+        this.requested = requested;
+    }
+
+    void recordSuccess(int rows) {
+        inserted += rows;
+    }
+
+    void recordFailure(int fromIndex, int toIndex, SQLException cause) {
+        failures.add(new ChunkFailure(fromIndex, toIndex, cause.getMessage()));
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    public int getFailed() {
+        return requested - inserted;
+    }
+
+    public boolean isComplete() {
+        return failures.isEmpty();
+    }
+
+    public List<ChunkFailure> getFailures() {
+        return Collections.unmodifiableList(failures);
+    }
+
+    /**
+     * A rolled-back chunk, as a half-open range of indexes into the submitted list.
+     */
+    public static class ChunkFailure {
+        private final int fromIndex;
+        private final int toIndex;
+        private final String message;
+
+        ChunkFailure(int fromIndex, int toIndex, String message) {
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.message = message;
+        }
+
+        public int getFromIndex() {
+            return fromIndex;
+        }
+
+        public int getToIndex() {
+            return toIndex;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "ChunkFailure{" +
+                    "fromIndex=" + fromIndex +
+                    ", toIndex=" + toIndex +
+                    ", message='" + message + '\'' +
+                    '}';
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BatchInsertResult{" +
+                "requested=" + requested +
+                ", inserted=" + inserted +
+                ", failures=" + failures +
+                '}';
+    }
+}
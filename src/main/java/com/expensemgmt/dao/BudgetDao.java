@@ -0,0 +1,79 @@
+package com.expensemgmt.dao;
+
+import com.expensemgmt.model.Budget;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+public class BudgetDao {
+
+    private static final String COLUMNS = "b.id, b.name, b.description, b.amount, b.spent, b.alert_threshold, " +
+            "b.start_date, b.end_date, b.category_id, b.organization_id, b.is_active, b.created_at, b.updated_at";
+
+    /**
+     * Locks and returns the active budgets an expense counts against: same organization,
+     * same category (or an organization-wide budget with no category), and a period
+     * covering the expense date. Must run inside the caller's transaction.
+     */
+    public List<Budget> findApplicableForUpdate(Connection conn, String organizationId, String categoryId,
+                                                Date expenseDate) throws SQLException {
+        String sql = "SELECT " + COLUMNS + " FROM budget b WHERE b.organization_id = ? AND b.is_active = TRUE " +
+                "AND (b.category_id IS NULL OR b.category_id = ?) AND ? BETWEEN b.start_date AND b.end_date " +
+                "ORDER BY b.id FOR UPDATE";
+        List<Budget> budgets = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, organizationId);
+            ps.setString(2, categoryId);
+            ps.setDate(3, new java.sql.Date(expenseDate.getTime()));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    budgets.add(mapRow(rs));
+                }
+            }
+        }
+        return budgets;
+    }
+
+    /**
+     * Adjusts the running spend in place so concurrent ledgers never overwrite each other.
+     */
+    public void addToSpent(Connection conn, List<Budget> budgets, BigDecimal delta) throws SQLException {
+        String sql = "UPDATE budget SET spent = spent + ? WHERE id = ?";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (Budget budget : budgets) {
+                ps.setBigDecimal(1, delta);
+                ps.setString(2, budget.getId());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    static Budget mapRow(ResultSet rs) throws SQLException {
+        Budget budget = new Budget();
+        budget.setId(rs.getString("id"));
+        budget.setName(rs.getString("name"));
+        budget.setDescription(rs.getString("description"));
+        budget.setAllocatedAmount(rs.getBigDecimal("amount"));
+        BigDecimal spent = rs.getBigDecimal("spent");
+        budget.setSpentAmount(spent != null ? spent : BigDecimal.ZERO);
+        BigDecimal threshold = rs.getBigDecimal("alert_threshold");
+        if (threshold != null) {
+            budget.setAlertThreshold(threshold);
+        }
+        budget.setStartDate(rs.getDate("start_date"));
+        budget.setEndDate(rs.getDate("end_date"));
+        budget.setCategoryId(rs.getString("category_id"));
+        budget.setOrganizationId(rs.getString("organization_id"));
+        budget.setIsActive(rs.getBoolean("is_active"));
+        budget.setCreatedAt(rs.getTimestamp("created_at"));
+        budget.setUpdatedAt(rs.getTimestamp("updated_at"));
+        return budget;
+    }
+}
@@ -0,0 +1,44 @@
+package com.expensemgmt.dao;
+
+import com.expensemgmt.model.Category;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class CategoryDao {
+
+    /**
+     * Active categories of the organization, by name.
+     */
+    public List<Category> findActiveByOrganization(Connection conn, String organizationId) throws SQLException {
+        String sql = "SELECT id, name, organization_id FROM category WHERE organization_id = ? AND is_active = TRUE " +
+                "ORDER BY name";
+        List<Category> categories = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, organizationId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Category category = new Category();
+                    category.setId(rs.getString("id"));
+                    category.setName(rs.getString("name"));
+                    category.setOrganizationId(rs.getString("organization_id"));
+                    categories.add(category);
+                }
+            }
+        }
+        return categories;
+    }
+
+    /**
+     * Category name per id for the given ids; unknown ids are omitted.
+     */
+    public Map<String, String> findNamesByIds(Connection conn, Collection<String> ids) throws SQLException {
+        return NameQueries.findNames(conn, "category", "name", ids);
+    }
+}
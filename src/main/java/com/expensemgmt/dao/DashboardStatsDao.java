@@ -0,0 +1,113 @@
+package com.expensemgmt.dao;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Aggregate queries behind the dashboard. A null userId means organization-wide; those
+ * queries read only expense_rollup_monthly, so their cost does not grow with the number
+ * of expenses. Per-user queries group over expense directly, answered from the covering
+ * (user_id, organization_id, status, category_id, date, currency, amount) index.
+ *
+ * Amounts are returned per currency and calendar month, unconverted; the caller converts
+ * each group into the reporting currency.
+ */
+public class DashboardStatsDao {
+
+    /**
+     * Count and amount per status, currency and month.
+     */
+    public List<AmountRow> amountsByStatus(Connection conn, String organizationId, String userId)
+            throws SQLException {
+        String sql = userId == null
+                ? "SELECT r.status, r.currency, YEAR(r.month), MONTH(r.month), SUM(r.expense_count), SUM(r.amount_sum) " +
+                  "FROM expense_rollup_monthly r WHERE r.organization_id = ? GROUP BY r.status, r.currency, r.month"
+                : "SELECT e.status, COALESCE(e.currency, 'USD'), YEAR(e.date), MONTH(e.date), COUNT(*), " +
+                  "COALESCE(SUM(e.amount), 0) FROM expense e WHERE e.organization_id = ? AND e.user_id = ? " +
+                  "GROUP BY e.status, 2, YEAR(e.date), MONTH(e.date)";
+        return query(conn, sql, organizationId, userId, true);
+    }
+
+    /**
+     * Amount per category name, currency and month. Expenses without a category are grouped as "Uncategorized".
+     */
+    public List<AmountRow> amountsByCategory(Connection conn, String organizationId, String userId)
+            throws SQLException {
+        String totals = userId == null
+                ? "SELECT r.category_id, r.currency, YEAR(r.month) AS y, MONTH(r.month) AS m, SUM(r.amount_sum) AS total " +
+                  "FROM expense_rollup_monthly r WHERE r.organization_id = ? GROUP BY r.category_id, r.currency, r.month"
+                : "SELECT e.category_id, COALESCE(e.currency, 'USD') AS currency, YEAR(e.date) AS y, MONTH(e.date) AS m, " +
+                  "SUM(e.amount) AS total FROM expense e WHERE e.organization_id = ? AND e.user_id = ? " +
+                  "GROUP BY e.category_id, 2, YEAR(e.date), MONTH(e.date)";
+        String sql = "SELECT COALESCE(c.name, 'Uncategorized'), t.currency, t.y, t.m, t.total FROM (" + totals + ") t " +
+                "LEFT JOIN category c ON c.id = t.category_id";
+        return query(conn, sql, organizationId, userId, false);
+    }
+
+    private static List<AmountRow> query(Connection conn, String sql, String organizationId, String userId,
+                                         boolean withCount) throws SQLException {
+        List<AmountRow> rows = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, organizationId);
+            if (userId != null) {
+                ps.setString(2, userId);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    YearMonth month = YearMonth.of(rs.getInt(3), rs.getInt(4));
+                    long count = withCount ? rs.getLong(5) : 0;
+                    BigDecimal amount = rs.getBigDecimal(withCount ? 6 : 5);
+                    rows.add(new AmountRow(rs.getString(1), rs.getString(2), month, count,
+                            amount != null ? amount : BigDecimal.ZERO));
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * One aggregate group: a status or category name, with the count (status queries only) and
+     * amount of its expenses in one currency and month.
+     */
+    public static class AmountRow {
+        private final String key;
+        private final String currency;
+        private final YearMonth month;
+        private final long count;
+        private final BigDecimal amount;
+
+        public AmountRow(String key, String currency, YearMonth month, long count, BigDecimal amount) {
+            this.key = key;
+            this.currency = currency;
+            this.month = month;
+            this.count = count;
+            this.amount = amount;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getCurrency() {
+            return currency;
+        }
+
+        public YearMonth getMonth() {
+            return month;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+    }
+}
@@ -0,0 +1,438 @@
+package com.expensemgmt.dao;
+
+import com.expensemgmt.model.Expense;
+import com.expensemgmt.util.AppConfig;
+import com.expensemgmt.util.DatabaseConnection;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ExpenseDao {
+
+    static final String COLUMNS = "e.id, e.title, e.description, e.amount, e.currency, e.date, e.receipt_url, " +
+            "e.status, e.category_id, e.store_id, e.user_id, e.approver_id, e.approved_at, e.rejected_reason, " +
+            "e.organization_id, e.reporting_amount, e.reporting_currency, e.created_at, e.updated_at";
+
+    private static final String INSERT_SQL = "INSERT INTO expense (title, description, amount, currency, date, " +
+            "receipt_url, status, category_id, store_id, user_id, approver_id, organization_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    // Newest first; (date, id) is served by idx_expense_date, whose InnoDB entries carry the primary key
+    private static final String ORDER_BY = " ORDER BY e.date DESC, e.id DESC";
+
+    /**
+     * Returns up to {@code limit} expenses after the given cursor (or from the start when null).
+     * Fetches one extra row to know whether another page exists.
+     */
+    public List<Expense> findPage(ExpenseFilter filter, ExpenseCursor after, int limit) throws SQLException {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM expense e WHERE 1=1");
+        filter.appendTo(sql, params);
+        if (after != null) {
+            sql.append(" AND (e.date < ? OR (e.date = ? AND e.id < ?))");
+            java.sql.Date date = java.sql.Date.valueOf(after.getDate());
+            params.add(date);
+            params.add(date);
+            params.add(after.getId());
+        }
+        sql.append(ORDER_BY).append(" LIMIT ?");
+        params.add(limit + 1);
+
+        List<Expense> expenses = new ArrayList<>(limit + 1);
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            bind(ps, params);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    expenses.add(mapRow(rs));
+                }
+            }
+        }
+        return expenses;
+    }
+
+    /**
+     * Streams every matching expense through {@code handler} using a forward-only, read-only
+     * cursor. With MySQL Connector/J a fetch size of Integer.MIN_VALUE makes the driver hand
+     * rows over one at a time instead of buffering the whole result set in memory.
+     */
+    public void streamAll(ExpenseFilter filter, RowHandler<Expense> handler) throws SQLException, IOException {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM expense e WHERE 1=1");
+        filter.appendTo(sql, params);
+        sql.append(ORDER_BY);
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql.toString(),
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(Integer.MIN_VALUE);
+            bind(ps, params);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    handler.handle(mapRow(rs));
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads and row-locks an expense inside the caller's transaction, or returns null if absent.
+     */
+    public Expense findByIdForUpdate(Connection conn, String id) throws SQLException {
+        String sql = "SELECT " + COLUMNS + " FROM expense e WHERE e.id = ? FOR UPDATE";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? mapRow(rs) : null;
+            }
+        }
+    }
+
+    /**
+     * Writes the status, approver, approval time, rejection reason and reporting amount of an expense.
+     */
+    public void updateStatus(Connection conn, Expense expense) throws SQLException {
+        String sql = "UPDATE expense SET status = ?, approver_id = ?, approved_at = ?, rejected_reason = ?, " +
+                "reporting_amount = ?, reporting_currency = ? WHERE id = ?";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, expense.getStatus().name());
+            ps.setString(2, expense.getApprovedBy());
+            ps.setTimestamp(3, expense.getApprovalDate() != null ? new Timestamp(expense.getApprovalDate().getTime()) : null);
+            ps.setString(4, expense.getRejectionReason());
+            ps.setBigDecimal(5, expense.getReportingAmount());
+            ps.setString(6, expense.getReportingCurrency());
+            ps.setString(7, expense.getId());
+            ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Loads and row-locks the given expenses of one organization with a single statement.
+     * Ids that do not exist or belong to another organization are absent from the result.
+     */
+    public Map<String, Expense> findByIdsForUpdate(Connection conn, String organizationId, List<String> ids)
+            throws SQLException {
+        Map<String, Expense> expenses = new HashMap<>();
+        if (ids.isEmpty()) {
+            return expenses;
+        }
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS)
+                .append(" FROM expense e WHERE e.organization_id = ? AND e.id IN (");
+        for (int i = 0; i < ids.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(") ORDER BY e.id FOR UPDATE");
+        try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            ps.setString(1, organizationId);
+            for (int i = 0; i < ids.size(); i++) {
+                ps.setString(i + 2, ids.get(i));
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Expense expense = mapRow(rs);
+                    expenses.put(expense.getId(), expense);
+                }
+            }
+        }
+        return expenses;
+    }
+
+    /**
+     * Writes the decision of each expense with one batched UPDATE, guarded by the status and
+     * updated_at the caller read under lock. Returns the update count per expense; 0 means the
+     * row no longer matches.
+     */
+    public int[] updateDecisionBatch(Connection conn, List<Expense> expenses, Expense.Status expectedStatus,
+                                     List<Date> expectedUpdatedAt, Date updatedAt) throws SQLException {
+        if (expenses.isEmpty()) {
+            return new int[0];
+        }
+        String sql = "UPDATE expense SET status = ?, approver_id = ?, approved_at = ?, rejected_reason = ?, " +
+                "reporting_amount = ?, reporting_currency = ?, updated_at = ? " +
+                "WHERE id = ? AND status = ? AND updated_at = ?";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 0; i < expenses.size(); i++) {
+                Expense expense = expenses.get(i);
+                ps.setString(1, expense.getStatus().name());
+                ps.setString(2, expense.getApprovedBy());
+                ps.setTimestamp(3, expense.getApprovalDate() != null ? new Timestamp(expense.getApprovalDate().getTime()) : null);
+                ps.setString(4, expense.getRejectionReason());
+                ps.setBigDecimal(5, expense.getReportingAmount());
+                ps.setString(6, expense.getReportingCurrency());
+                ps.setTimestamp(7, new Timestamp(updatedAt.getTime()));
+                ps.setString(8, expense.getId());
+                ps.setString(9, expectedStatus.name());
+                ps.setTimestamp(10, new Timestamp(expectedUpdatedAt.get(i).getTime()));
+                ps.addBatch();
+            }
+            return ps.executeBatch();
+        }
+    }
+
+    /**
+     * Points a user's pending expenses at their new manager, or unassigns them when
+     * {@code approverId} is null. Returns the number of expenses moved.
+     */
+    public int reassignPending(Connection conn, String organizationId, String userId, String approverId)
+            throws SQLException {
+        String sql = "UPDATE expense SET approver_id = ? " +
+                "WHERE organization_id = ? AND user_id = ? AND status = 'PENDING'";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, approverId);
+            ps.setString(2, organizationId);
+            ps.setString(3, userId);
+            return ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Expenses created in [from, to) per organization id; all organizations when
+     * {@code organizationId} is null. Served by idx_expense_org_created_at.
+     */
+    public Map<String, Long> countCreatedByOrganization(Connection conn, String organizationId, Date from, Date to)
+            throws SQLException {
+        String sql = "SELECT organization_id, COUNT(*) FROM expense WHERE created_at >= ? AND created_at < ? AND " +
+                (organizationId != null ? "organization_id = ?" : "organization_id IS NOT NULL") +
+                " GROUP BY organization_id";
+        Map<String, Long> counts = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setTimestamp(1, new Timestamp(from.getTime()));
+            ps.setTimestamp(2, new Timestamp(to.getTime()));
+            if (organizationId != null) {
+                ps.setString(3, organizationId);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    counts.put(rs.getString(1), rs.getLong(2));
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Pending expenses assigned to {@code approverId}, newest first.
+     * Served by idx_expense_org_status_approver.
+     */
+    public List<Expense> findPendingByApprover(String organizationId, String approverId, int limit) throws SQLException {
+        String sql = "SELECT " + COLUMNS + " FROM expense e " +
+                "WHERE e.organization_id = ? AND e.status = 'PENDING' AND e.approver_id = ?" + ORDER_BY + " LIMIT ?";
+        return query(sql, organizationId, approverId, limit);
+    }
+
+    /**
+     * Pending expenses submitted by anyone below {@code managerId} in the reporting
+     * hierarchy, newest first. Drives from the manager's user_hierarchy rows into
+     * idx_expense_user_status_date.
+     */
+    public List<Expense> findPendingForTeam(String organizationId, String managerId, int limit) throws SQLException {
+        String sql = "SELECT " + COLUMNS + " FROM user_hierarchy h JOIN expense e ON e.user_id = h.descendant_id " +
+                "WHERE h.ancestor_id = ? AND h.depth > 0 AND e.status = 'PENDING' AND e.organization_id = ?" +
+                ORDER_BY + " LIMIT ?";
+        return query(sql, managerId, organizationId, limit);
+    }
+
+    public int countPendingByApprover(String organizationId, String approverId) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM expense e " +
+                "WHERE e.organization_id = ? AND e.status = 'PENDING' AND e.approver_id = ?";
+        return count(sql, organizationId, approverId);
+    }
+
+    public int countPendingForTeam(String organizationId, String managerId) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM user_hierarchy h JOIN expense e ON e.user_id = h.descendant_id " +
+                "WHERE h.ancestor_id = ? AND h.depth > 0 AND e.status = 'PENDING' AND e.organization_id = ?";
+        return count(sql, managerId, organizationId);
+    }
+
+    /**
+     * Organizations owning an expense that references the given receipt URL.
+     */
+    public List<String> findOrganizationIdsByReceiptUrl(String receiptUrl) throws SQLException {
+        String sql = "SELECT DISTINCT e.organization_id FROM expense e WHERE e.receipt_url = ?";
+        List<String> ids = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, receiptUrl);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getString(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Organization owning the expense, read without locking, or null if there is no such expense.
+     */
+    public String findOrganizationId(String id) throws SQLException {
+        String sql = "SELECT e.organization_id FROM expense e WHERE e.id = ?";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Inserts expenses in chunks of {@code db.batch.chunkSize}, one transaction per chunk.
+     * A failing chunk is rolled back and reported; the remaining chunks are still attempted.
+     * Generated ids are written back onto the expenses of committed chunks only.
+     */
+    public BatchInsertResult insertBatch(List<Expense> expenses) throws SQLException {
+        return insertBatch(expenses, AppConfig.getInt("db.batch.chunkSize", DEFAULT_CHUNK_SIZE));
+    }
+
+    public BatchInsertResult insertBatch(List<Expense> expenses, int chunkSize) throws SQLException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        BatchInsertResult result = new BatchInsertResult(expenses.size());
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < expenses.size(); from += chunkSize) {
+                    int to = Math.min(from + chunkSize, expenses.size());
+                    List<Expense> chunk = expenses.subList(from, to);
+                    try {
+                        for (Expense expense : chunk) {
+                            bindInsert(ps, expense);
+                            ps.addBatch();
+                        }
+                        ps.executeBatch();
+                        List<String> ids = readGeneratedIds(ps);
+                        conn.commit();
+                        // Only after the commit, so a rolled-back chunk never carries ids of rows that do not exist
+                        assignIds(chunk, ids);
+                        result.recordSuccess(chunk.size());
+                    } catch (SQLException e) {
+                        ps.clearBatch();
+                        conn.rollback();
+                        result.recordFailure(from, to, e);
+                    }
+                }
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Row-at-a-time insert, one statement and commit per expense. Kept as the
+     * baseline for comparing against {@link #insertBatch(List)}.
+     */
+    public void insert(Expense expense) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            bindInsert(ps, expense);
+            ps.executeUpdate();
+            assignIds(Collections.singletonList(expense), readGeneratedIds(ps));
+        }
+    }
+
+    private static void bindInsert(PreparedStatement ps, Expense expense) throws SQLException {
+        ps.setString(1, expense.getTitle());
+        ps.setString(2, expense.getDescription());
+        ps.setBigDecimal(3, expense.getAmount());
+        ps.setString(4, expense.getCurrency() != null ? expense.getCurrency() : "USD");
+        ps.setDate(5, expense.getExpenseDate() != null ? new java.sql.Date(expense.getExpenseDate().getTime()) : null);
+        ps.setString(6, expense.getReceiptUrl());
+        ps.setString(7, (expense.getStatus() != null ? expense.getStatus() : Expense.Status.PENDING).name());
+        ps.setString(8, expense.getCategoryId());
+        ps.setString(9, expense.getStoreId());
+        ps.setString(10, expense.getUserId());
+        ps.setString(11, expense.getApprovedBy());
+        ps.setString(12, expense.getOrganizationId());
+    }
+
+    private static List<String> readGeneratedIds(PreparedStatement ps) throws SQLException {
+        List<String> ids = new ArrayList<>();
+        try (ResultSet keys = ps.getGeneratedKeys()) {
+            while (keys.next()) {
+                ids.add(keys.getString(1));
+            }
+        }
+        return ids;
+    }
+
+    private static void assignIds(List<Expense> expenses, List<String> ids) {
+        for (int i = 0; i < expenses.size() && i < ids.size(); i++) {
+            expenses.get(i).setId(ids.get(i));
+        }
+    }
+
+    private List<Expense> query(String sql, Object... params) throws SQLException {
+        List<Expense> expenses = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            bind(ps, Arrays.asList(params));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    expenses.add(mapRow(rs));
+                }
+            }
+        }
+        return expenses;
+    }
+
+    private int count(String sql, Object... params) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            bind(ps, Arrays.asList(params));
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    static void bind(PreparedStatement ps, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            ps.setObject(i + 1, params.get(i));
+        }
+    }
+
+    static Expense mapRow(ResultSet rs) throws SQLException {
+        Expense expense = new Expense();
+        expense.setId(rs.getString("id"));
+        expense.setTitle(rs.getString("title"));
+        expense.setDescription(rs.getString("description"));
+        expense.setAmount(rs.getBigDecimal("amount"));
+        expense.setCurrency(rs.getString("currency"));
+        expense.setExpenseDate(rs.getDate("date"));
+        expense.setReceiptUrl(rs.getString("receipt_url"));
+        String status = rs.getString("status");
+        if (status != null) {
+            expense.setStatus(Expense.Status.valueOf(status));
+        }
+        expense.setCategoryId(rs.getString("category_id"));
+        expense.setStoreId(rs.getString("store_id"));
+        expense.setUserId(rs.getString("user_id"));
+        expense.setApprovedBy(rs.getString("approver_id"));
+        expense.setApprovalDate(rs.getTimestamp("approved_at"));
+        expense.setRejectionReason(rs.getString("rejected_reason"));
+        expense.setOrganizationId(rs.getString("organization_id"));
+        expense.setReportingAmount(rs.getBigDecimal("reporting_amount"));
+        expense.setReportingCurrency(rs.getString("reporting_currency"));
+        expense.setCreatedAt(rs.getTimestamp("created_at"));
+        expense.setUpdatedAt(rs.getTimestamp("updated_at"));
+        return expense;
+    }
+}
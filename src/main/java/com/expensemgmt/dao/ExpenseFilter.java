@@ -0,0 +1,122 @@
+package com.expensemgmt.dao;
+
+import com.expensemgmt.model.Expense;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Optional filters for expense listing queries. Null fields are ignored.
+ */
+public class ExpenseFilter {
+
+    private String organizationId;
+    private String userId;
+    private String categoryId;
+    private String storeId;
+    private Expense.Status status;
+    private Expense.Status excludedStatus;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+
+    // Appends "AND ..." clauses for every set field and collects their parameters in order
+    void appendTo(StringBuilder sql, List<Object> params) {
+        if (organizationId != null) {
+            sql.append(" AND e.organization_id = ?");
+            params.add(organizationId);
+        }
+        if (userId != null) {
+            sql.append(" AND e.user_id = ?");
+            params.add(userId);
+        }
+        if (categoryId != null) {
+            sql.append(" AND e.category_id = ?");
+            params.add(categoryId);
+        }
+        if (storeId != null) {
+            sql.append(" AND e.store_id = ?");
+            params.add(storeId);
+        }
+        if (status != null) {
+            sql.append(" AND e.status = ?");
+            params.add(status.name());
+        }
+        if (excludedStatus != null) {
+            sql.append(" AND e.status <> ?");
+            params.add(excludedStatus.name());
+        }
+        if (fromDate != null) {
+            sql.append(" AND e.date >= ?");
+            params.add(java.sql.Date.valueOf(fromDate));
+        }
+        if (toDate != null) {
+            sql.append(" AND e.date <= ?");
+            params.add(java.sql.Date.valueOf(toDate));
+        }
+    }
+
+    // Getters and setters
+    public String getOrganizationId() {
+        return organizationId;
+    }
+
+    public void setOrganizationId(String organizationId) {
+        this.organizationId = organizationId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(String categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getStoreId() {
+        return storeId;
+    }
+
+    public void setStoreId(String storeId) {
+        this.storeId = storeId;
+    }
+
+    public Expense.Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Expense.Status status) {
+        this.status = status;
+    }
+
+    public Expense.Status getExcludedStatus() {
+        return excludedStatus;
+    }
+
+    public void setExcludedStatus(Expense.Status excludedStatus) {
+        this.excludedStatus = excludedStatus;
+    }
+
+    public LocalDate getFromDate() {
+        return fromDate;
+    }
+
+    public void setFromDate(LocalDate fromDate) {
+        this.fromDate = fromDate;
+    }
+
+    public LocalDate getToDate() {
+        return toDate;
+    }
+
+    public void setToDate(LocalDate toDate) {
+        this.toDate = toDate;
+    }
+}
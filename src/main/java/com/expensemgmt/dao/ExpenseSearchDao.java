@@ -0,0 +1,124 @@
+package com.expensemgmt.dao;
+
+import com.expensemgmt.model.Expense;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Full-text queries over the ft_expense_title_description and ft_store_name FULLTEXT
+ * indexes (ngram parser, so terms also match inside words and across CJK text).
+ */
+public class ExpenseSearchDao {
+
+    /**
+     * Expenses whose title or description match {@code booleanQuery} (MySQL boolean mode
+     * syntax), most relevant first.
+     */
+    public List<Hit> findByText(Connection conn, ExpenseFilter filter, String booleanQuery, int limit)
+            throws SQLException {
+        return findByText(conn, filter, booleanQuery, "IN BOOLEAN MODE", limit);
+    }
+
+    /**
+     * Natural-language relevance match: with the ngram parser, rows sharing most n-grams with
+     * {@code text} rank highest, which tolerates typos and partial words.
+     */
+    public List<Hit> findByTextFuzzy(Connection conn, ExpenseFilter filter, String text, int limit)
+            throws SQLException {
+        return findByText(conn, filter, text, "IN NATURAL LANGUAGE MODE", limit);
+    }
+
+    /**
+     * Ids of the organization's stores whose name matches {@code booleanQuery}.
+     */
+    public List<String> findStoreIds(Connection conn, String organizationId, String booleanQuery) throws SQLException {
+        String sql = "SELECT id FROM store WHERE MATCH(name) AGAINST (? IN BOOLEAN MODE) AND organization_id = ?";
+        List<String> ids = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, booleanQuery);
+            ps.setString(2, organizationId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getString(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Newest expenses at any of the given stores, each with score 0.
+     */
+    public List<Hit> findByStores(Connection conn, ExpenseFilter filter, Collection<String> storeIds, int limit)
+            throws SQLException {
+        List<Hit> hits = new ArrayList<>();
+        if (storeIds.isEmpty()) {
+            return hits;
+        }
+        List<Object> params = new ArrayList<>(storeIds);
+        StringBuilder sql = new StringBuilder("SELECT ").append(ExpenseDao.COLUMNS)
+                .append(", 0 AS score FROM expense e WHERE e.store_id IN (");
+        for (int i = 0; i < storeIds.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(")");
+        filter.appendTo(sql, params);
+        sql.append(" ORDER BY e.date DESC, e.id DESC LIMIT ?");
+        params.add(limit);
+        return query(conn, sql.toString(), params);
+    }
+
+    private static List<Hit> findByText(Connection conn, ExpenseFilter filter, String query, String mode, int limit)
+            throws SQLException {
+        String match = "MATCH(e.title, e.description) AGAINST (? " + mode + ")";
+        List<Object> params = new ArrayList<>();
+        params.add(query);
+        params.add(query);
+        StringBuilder sql = new StringBuilder("SELECT ").append(ExpenseDao.COLUMNS).append(", ").append(match)
+                .append(" AS score FROM expense e WHERE ").append(match);
+        filter.appendTo(sql, params);
+        sql.append(" ORDER BY score DESC, e.date DESC LIMIT ?");
+        params.add(limit);
+        return query(conn, sql.toString(), params);
+    }
+
+    private static List<Hit> query(Connection conn, String sql, List<Object> params) throws SQLException {
+        List<Hit> hits = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ExpenseDao.bind(ps, params);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    hits.add(new Hit(ExpenseDao.mapRow(rs), rs.getDouble("score")));
+                }
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * An expense with its MySQL relevance score.
+     */
+    public static class Hit {
+        private final Expense expense;
+        private final double score;
+
+        public Hit(Expense expense, double score) {
+            this.expense = expense;
+            this.score = score;
+        }
+
+        public Expense getExpense() {
+            return expense;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+}
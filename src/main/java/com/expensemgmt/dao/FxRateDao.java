@@ -0,0 +1,32 @@
+package com.expensemgmt.dao;
+
+import com.expensemgmt.dto.FxRate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class FxRateDao {
+
+    /**
+     * Every rate dated on or after {@code since}, in primary key order.
+     */
+    public List<FxRate> findSince(Connection conn, LocalDate since) throws SQLException {
+        String sql = "SELECT rate_date, base_currency, quote_currency, rate FROM fx_rate WHERE rate_date >= ? " +
+                "ORDER BY rate_date, base_currency, quote_currency";
+        List<FxRate> rates = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setDate(1, java.sql.Date.valueOf(since));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rates.add(new FxRate(rs.getDate(1).toLocalDate(), rs.getString(2), rs.getString(3), rs.getBigDecimal(4)));
+                }
+            }
+        }
+        return rates;
+    }
+}
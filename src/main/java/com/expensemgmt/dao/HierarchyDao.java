@@ -0,0 +1,140 @@
+package com.expensemgmt.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maintains user.manager_id and its flattened closure in user_hierarchy, so "everyone
+ * under this manager" is a single indexed lookup instead of a walk down the tree.
+ */
+public class HierarchyDao {
+
+    private static final int BATCH_SIZE = 1000;
+
+    public String findManagerId(Connection conn, String userId) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT manager_id FROM user WHERE id = ?")) {
+            ps.setString(1, userId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Manager id per user for the given users; users without a manager are omitted.
+     */
+    public Map<String, String> findManagerIds(Connection conn, Collection<String> userIds) throws SQLException {
+        Map<String, String> managers = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return managers;
+        }
+        StringBuilder sql = new StringBuilder("SELECT id, manager_id FROM user WHERE manager_id IS NOT NULL AND id IN (");
+        for (int i = 0; i < userIds.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(")");
+        try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            for (String userId : userIds) {
+                ps.setString(index++, userId);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    managers.put(rs.getString(1), rs.getString(2));
+                }
+            }
+        }
+        return managers;
+    }
+
+    /**
+     * True when {@code descendantId} reports, directly or indirectly, to {@code ancestorId}
+     * (or is the same user).
+     */
+    public boolean isInSubtree(Connection conn, String ancestorId, String descendantId) throws SQLException {
+        String sql = "SELECT 1 FROM user_hierarchy WHERE ancestor_id = ? AND descendant_id = ?";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, ancestorId);
+            ps.setString(2, descendantId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * Sets a user's manager; false when the user is not in the organization.
+     */
+    public boolean updateManager(Connection conn, String organizationId, String userId, String managerId)
+            throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "UPDATE user SET manager_id = ? WHERE id = ? AND organization_id = ?")) {
+            ps.setString(1, managerId);
+            ps.setString(2, userId);
+            ps.setString(3, organizationId);
+            return ps.executeUpdate() > 0;
+        }
+    }
+
+    public boolean isMember(Connection conn, String organizationId, String userId) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT 1 FROM user WHERE id = ? AND organization_id = ?")) {
+            ps.setString(1, userId);
+            ps.setString(2, organizationId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * Recomputes the closure rows of one organization from user.manager_id and returns
+     * the number of rows written. A cycle in manager_id is cut where it repeats.
+     */
+    public int rebuildOrganization(Connection conn, String organizationId) throws SQLException {
+        Map<String, String> managerOf = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement("SELECT id, manager_id FROM user WHERE organization_id = ?")) {
+            ps.setString(1, organizationId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    managerOf.put(rs.getString(1), rs.getString(2));
+                }
+            }
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement("DELETE FROM user_hierarchy WHERE organization_id = ?")) {
+            ps.setString(1, organizationId);
+            ps.executeUpdate();
+        }
+
+        String insert = "INSERT INTO user_hierarchy (organization_id, ancestor_id, descendant_id, depth) VALUES (?, ?, ?, ?)";
+        int rows = 0;
+        try (PreparedStatement ps = conn.prepareStatement(insert)) {
+            for (String userId : managerOf.keySet()) {
+                Set<String> seen = new HashSet<>();
+                String ancestor = userId;
+                int depth = 0;
+                // Managers outside the organization are not followed
+                while (ancestor != null && managerOf.containsKey(ancestor) && seen.add(ancestor)) {
+                    ps.setString(1, organizationId);
+                    ps.setString(2, ancestor);
+                    ps.setString(3, userId);
+                    ps.setInt(4, depth++);
+                    ps.addBatch();
+                    if (++rows % BATCH_SIZE == 0) {
+                        ps.executeBatch();
+                    }
+                    ancestor = managerOf.get(ancestor);
+                }
+            }
+            ps.executeBatch();
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,54 @@
+package com.expensemgmt.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batched id-to-name lookups for resolving expense relations: one {@code IN} query per
+ * {@link #MAX_IDS_PER_QUERY} ids instead of one query per row.
+ */
+final class NameQueries {
+
+    static final int MAX_IDS_PER_QUERY = 1000;
+
+    private NameQueries() {
+    }
+
+    /**
+     * {@code nameColumn} per id of {@code table} for the given ids; unknown ids are omitted.
+     * Table and column names are trusted constants from the calling DAO.
+     */
+    static Map<String, String> findNames(Connection conn, String table, String nameColumn, Collection<String> ids)
+            throws SQLException {
+        Map<String, String> names = new HashMap<>();
+        List<String> pending = new ArrayList<>(ids);
+        for (int from = 0; from < pending.size(); from += MAX_IDS_PER_QUERY) {
+            List<String> chunk = pending.subList(from, Math.min(from + MAX_IDS_PER_QUERY, pending.size()));
+            StringBuilder sql = new StringBuilder("SELECT id, ").append(nameColumn).append(" FROM ").append(table)
+                    .append(" WHERE id IN (");
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            sql.append(")");
+            try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+                int index = 1;
+                for (String id : chunk) {
+                    ps.setString(index++, id);
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        names.put(rs.getString(1), rs.getString(2));
+                    }
+                }
+            }
+        }
+        return names;
+    }
+}
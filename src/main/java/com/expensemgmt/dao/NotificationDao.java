@@ -0,0 +1,127 @@
+package com.expensemgmt.dao;
+
+import com.expensemgmt.model.Notification;
+import com.expensemgmt.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+public class NotificationDao {
+
+    private static final String INSERT_SQL = "INSERT INTO notification (title, message, type, user_id, " +
+            "reference_id, reference_type, expires_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Inserts notifications with one batch on the caller's connection, in the caller's
+     * transaction, and returns the generated ids in input order. NotificationFanoutService
+     * calls this after the producing change has committed, one transaction per chunk, and
+     * sets the ids on the notifications only once the chunk commits. Delivery is best
+     * effort: a failed chunk is logged and lost while the change stays committed.
+     */
+    public List<String> insertAll(Connection conn, List<Notification> notifications) throws SQLException {
+        List<String> ids = new ArrayList<>(notifications.size());
+        if (notifications.isEmpty()) {
+            return ids;
+        }
+        try (PreparedStatement ps = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (Notification notification : notifications) {
+                bindInsert(ps, notification);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                while (keys.next()) {
+                    ids.add(keys.getString(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Unread notifications of a user, counted on idx_notification_user_read.
+     */
+    public int countUnread(String userId) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM notification WHERE user_id = ? AND is_read = FALSE";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, userId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Marks one of the user's notifications read. Returns false if it was already read or is not theirs.
+     */
+    public boolean markRead(String userId, String notificationId) throws SQLException {
+        String sql = "UPDATE notification SET is_read = TRUE, read_at = NOW() WHERE id = ? AND user_id = ? AND is_read = FALSE";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, notificationId);
+            ps.setString(2, userId);
+            return ps.executeUpdate() == 1;
+        }
+    }
+
+    /**
+     * Marks every unread notification of the user read with one UPDATE on idx_notification_user_read.
+     */
+    public int markAllRead(String userId) throws SQLException {
+        String sql = "UPDATE notification SET is_read = TRUE, read_at = NOW() WHERE user_id = ? AND is_read = FALSE";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, userId);
+            return ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Smallest and largest notification id, or null when the table is empty.
+     */
+    public long[] findIdRange(Connection conn) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT MIN(id), MAX(id) FROM notification");
+             ResultSet rs = ps.executeQuery()) {
+            if (!rs.next() || rs.getObject(1) == null) {
+                return null;
+            }
+            return new long[]{rs.getLong(1), rs.getLong(2)};
+        }
+    }
+
+    /**
+     * Deletes expired notifications, and read ones created before {@code readCutoff}, with ids in
+     * [fromId, toId). The primary-key range bounds the rows locked by each statement.
+     * {@code includeOrphans} also removes rows of deleted users, for the partitioned table
+     * where the user_id foreign key cannot cascade.
+     */
+    public int deleteExpiredInRange(Connection conn, long fromId, long toId, Timestamp readCutoff,
+                                    boolean includeOrphans) throws SQLException {
+        String sql = "DELETE FROM notification WHERE id >= ? AND id < ? " +
+                "AND ((expires_at IS NOT NULL AND expires_at < NOW()) OR (is_read = TRUE AND created_at < ?)" +
+                (includeOrphans ? " OR NOT EXISTS (SELECT 1 FROM user u WHERE u.id = notification.user_id)" : "") + ")";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setLong(1, fromId);
+            ps.setLong(2, toId);
+            ps.setTimestamp(3, readCutoff);
+            return ps.executeUpdate();
+        }
+    }
+
+    static void bindInsert(PreparedStatement ps, Notification notification) throws SQLException {
+        ps.setString(1, notification.getType().getDisplayName());
+        ps.setString(2, notification.getMessage());
+        ps.setString(3, notification.getType().name());
+        ps.setString(4, notification.getUserId());
+        ps.setString(5, notification.getReferenceId());
+        ps.setString(6, notification.getReferenceType());
+        ps.setTimestamp(7, notification.getExpiresAt() != null ? new Timestamp(notification.getExpiresAt().getTime()) : null);
+    }
+}
@@ -0,0 +1,99 @@
+package com.expensemgmt.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Monthly RANGE COLUMNS(created_at) partitions of the notification table, as set up by
+ * notification_partitioning.sql. Partition pYYYYMM holds that month; p_future (MAXVALUE)
+ * stays empty and is split whenever a new month is added.
+ */
+public class NotificationPartitionDao {
+
+    public static final String FUTURE_PARTITION = "p_future";
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("p_?[a-z0-9]+");
+
+    /**
+     * Partitions in order, or an empty list when the table is not partitioned.
+     */
+    public List<Partition> findPartitions(Connection conn) throws SQLException {
+        String sql = "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'notification' AND PARTITION_NAME IS NOT NULL " +
+                "ORDER BY PARTITION_ORDINAL_POSITION";
+        List<Partition> partitions = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                partitions.add(new Partition(rs.getString(1), parseBound(rs.getString(2))));
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * Adds the partition for {@code month} by splitting the empty p_future partition.
+     */
+    public void addMonth(Connection conn, YearMonth month) throws SQLException {
+        String sql = "ALTER TABLE notification REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO (" +
+                "PARTITION " + nameOf(month) + " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1) + "'), " +
+                "PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN MAXVALUE)";
+        try (Statement st = conn.createStatement()) {
+            st.execute(sql);
+        }
+    }
+
+    /**
+     * Drops a whole partition; a metadata operation regardless of how many rows it holds.
+     */
+    public void dropPartition(Connection conn, String name) throws SQLException {
+        if (!PARTITION_NAME.matcher(name).matches() || FUTURE_PARTITION.equals(name)) {
+            throw new IllegalArgumentException("Refusing to drop partition " + name);
+        }
+        try (Statement st = conn.createStatement()) {
+            st.execute("ALTER TABLE notification DROP PARTITION " + name);
+        }
+    }
+
+    public static String nameOf(YearMonth month) {
+        return String.format("p%04d%02d", month.getYear(), month.getMonthValue());
+    }
+
+    // RANGE COLUMNS descriptions look like '2026-11-01 00:00:00' or '2026-11-01', or MAXVALUE
+    private static LocalDate parseBound(String description) {
+        if (description == null || description.equalsIgnoreCase("MAXVALUE")) {
+            return null;
+        }
+        String value = description.replace("'", "").trim();
+        return LocalDate.parse(value.length() > 10 ? value.substring(0, 10) : value);
+    }
+
+    public static class Partition {
+        private final String name;
+        private final LocalDate lessThan;
+
+        Partition(String name, LocalDate lessThan) {
+            this.name = name;
+            this.lessThan = lessThan;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Exclusive upper bound of created_at, or null for the MAXVALUE partition.
+         */
+        public LocalDate getLessThan() {
+            return lessThan;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.expensemgmt.dao;
+
+import com.expensemgmt.model.Money;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class OrganizationDao {
+
+    public List<String> findAllIds(Connection conn) throws SQLException {
+        List<String> ids = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement("SELECT id FROM organization");
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getString(1));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * The organization's reporting currency, or {@link Money#DEFAULT_CURRENCY} when unset.
+     */
+    public String findCurrency(Connection conn, String organizationId) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT currency FROM organization WHERE id = ?")) {
+            ps.setString(1, organizationId);
+            try (ResultSet rs = ps.executeQuery()) {
+                String currency = rs.next() ? rs.getString(1) : null;
+                return currency != null ? currency : Money.DEFAULT_CURRENCY;
+            }
+        }
+    }
+
+    /**
+     * Subscription limits per organization id; all organizations when {@code organizationId} is null.
+     */
+    public Map<String, QuotaLimits> findQuotaLimits(Connection conn, String organizationId) throws SQLException {
+        String sql = "SELECT id, max_users, max_expenses_per_month FROM organization" +
+                (organizationId != null ? " WHERE id = ?" : "");
+        Map<String, QuotaLimits> limits = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            if (organizationId != null) {
+                ps.setString(1, organizationId);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    limits.put(rs.getString(1), new QuotaLimits(rs.getObject(2, Integer.class),
+                            rs.getObject(3, Integer.class)));
+                }
+            }
+        }
+        return limits;
+    }
+
+    public static class QuotaLimits {
+        private final Integer maxUsers;
+        private final Integer maxExpensesPerMonth;
+
+        public QuotaLimits(Integer maxUsers, Integer maxExpensesPerMonth) {
+            this.maxUsers = maxUsers;
+            this.maxExpensesPerMonth = maxExpensesPerMonth;
+        }
+
+        /**
+         * Null means unlimited.
+         */
+        public Integer getMaxUsers() {
+            return maxUsers;
+        }
+
+        /**
+         * Null means unlimited.
+         */
+        public Integer getMaxExpensesPerMonth() {
+            return maxExpensesPerMonth;
+        }
+    }
+}
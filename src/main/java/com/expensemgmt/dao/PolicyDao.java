@@ -0,0 +1,55 @@
+package com.expensemgmt.dao;
+
+import com.expensemgmt.model.Policy;
+import com.expensemgmt.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PolicyDao {
+
+    private static final String COLUMNS = "p.id, p.name, p.description, p.category_id, p.max_amount, " +
+            "p.requires_receipt, p.requires_approval, p.approval_threshold, p.organization_id, p.is_active, " +
+            "p.created_at, p.updated_at";
+
+    public List<Policy> findActiveByOrganization(String organizationId) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return findActiveByOrganization(conn, organizationId);
+        }
+    }
+
+    public List<Policy> findActiveByOrganization(Connection conn, String organizationId) throws SQLException {
+        String sql = "SELECT " + COLUMNS + " FROM policy p WHERE p.organization_id = ? AND p.is_active = TRUE";
+        List<Policy> policies = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, organizationId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    policies.add(mapRow(rs));
+                }
+            }
+        }
+        return policies;
+    }
+
+    static Policy mapRow(ResultSet rs) throws SQLException {
+        Policy policy = new Policy();
+        policy.setId(rs.getString("id"));
+        policy.setName(rs.getString("name"));
+        policy.setDescription(rs.getString("description"));
+        policy.setCategoryId(rs.getString("category_id"));
+        policy.setMaxAmount(rs.getBigDecimal("max_amount"));
+        policy.setRequiresReceipt(rs.getBoolean("requires_receipt"));
+        policy.setRequiresApproval(rs.getBoolean("requires_approval"));
+        policy.setApprovalThreshold(rs.getBigDecimal("approval_threshold"));
+        policy.setOrganizationId(rs.getString("organization_id"));
+        policy.setIsActive(rs.getBoolean("is_active"));
+        policy.setCreatedAt(rs.getTimestamp("created_at"));
+        policy.setUpdatedAt(rs.getTimestamp("updated_at"));
+        return policy;
+    }
+}
@@ -0,0 +1,58 @@
+package com.expensemgmt.dao;
+
+import com.expensemgmt.dto.ExpenseReportRow;
+import com.expensemgmt.util.DatabaseConnection;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ReportDao {
+
+    /**
+     * Streams report rows for the filter through {@code handler}, oldest first. Related
+     * names come from the same query, and the forward-only cursor with
+     * fetchSize=Integer.MIN_VALUE keeps Connector/J from buffering the result set.
+     */
+    public void streamExpenseRows(ExpenseFilter filter, RowHandler<ExpenseReportRow> handler)
+            throws SQLException, IOException {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT e.id, e.title, e.amount, e.currency, " +
+                "e.reporting_amount, e.reporting_currency, e.status, e.date, " +
+                "u.email AS employee, c.name AS category, s.name AS store FROM expense e " +
+                "LEFT JOIN user u ON u.id = e.user_id " +
+                "LEFT JOIN category c ON c.id = e.category_id " +
+                "LEFT JOIN store s ON s.id = e.store_id WHERE 1=1");
+        filter.appendTo(sql, params);
+        sql.append(" ORDER BY e.date, e.id");
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql.toString(),
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(Integer.MIN_VALUE);
+            ExpenseDao.bind(ps, params);
+            try (ResultSet rs = ps.executeQuery()) {
+                // The row object is reused; handlers must not keep a reference to it
+                ExpenseReportRow row = new ExpenseReportRow();
+                while (rs.next()) {
+                    row.setId(rs.getString("id"));
+                    row.setTitle(rs.getString("title"));
+                    row.setAmount(rs.getBigDecimal("amount"));
+                    row.setCurrency(rs.getString("currency"));
+                    row.setReportingAmount(rs.getBigDecimal("reporting_amount"));
+                    row.setReportingCurrency(rs.getString("reporting_currency"));
+                    row.setStatus(rs.getString("status"));
+                    row.setDate(rs.getDate("date"));
+                    row.setEmployee(rs.getString("employee"));
+                    row.setCategory(rs.getString("category"));
+                    row.setStore(rs.getString("store"));
+                    handler.handle(row);
+                }
+            }
+        }
+    }
+}
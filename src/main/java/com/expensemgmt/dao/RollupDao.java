@@ -0,0 +1,142 @@
+package com.expensemgmt.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maintains expense_rollup_monthly, one row per (organization, month, category, store, status,
+ * currency) holding the expense count and amount sum in that currency.
+ */
+public class RollupDao {
+
+    private static final String MONTH_EXPR = "CAST(DATE_FORMAT(e.date, '%Y-%m-01') AS DATE)";
+
+    private static final String CURRENCY_EXPR = "COALESCE(e.currency, 'USD')";
+
+    private static final String AGGREGATE_SELECT = "SELECT e.organization_id, " + MONTH_EXPR + ", " +
+            "COALESCE(e.category_id, 0), COALESCE(e.store_id, 0), e.status, " + CURRENCY_EXPR + ", COUNT(*), SUM(e.amount) " +
+            "FROM expense e ";
+
+    private static final String INSERT_PREFIX = "INSERT INTO expense_rollup_monthly " +
+            "(organization_id, month, category_id, store_id, status, currency, expense_count, amount_sum) ";
+
+    private static final String GROUP_BY = " GROUP BY e.organization_id, " + MONTH_EXPR +
+            ", COALESCE(e.category_id, 0), COALESCE(e.store_id, 0), e.status, " + CURRENCY_EXPR;
+
+    public Timestamp currentTimestamp(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery("SELECT NOW()")) {
+            rs.next();
+            return rs.getTimestamp(1);
+        }
+    }
+
+    public Timestamp getWatermark(Connection conn, String name) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT last_updated_at FROM job_watermark WHERE name = ?")) {
+            ps.setString(1, name);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getTimestamp(1) : null;
+            }
+        }
+    }
+
+    public void setWatermark(Connection conn, String name, Timestamp value) throws SQLException {
+        String sql = "INSERT INTO job_watermark (name, last_updated_at) VALUES (?, ?) " +
+                "ON DUPLICATE KEY UPDATE last_updated_at = VALUES(last_updated_at)";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, name);
+            ps.setTimestamp(2, value);
+            ps.executeUpdate();
+        }
+    }
+
+    /**
+     * (organization, month) buckets holding expenses updated in [from, to). Served by idx_expense_updated_at.
+     */
+    public List<MonthBucket> findChangedBuckets(Connection conn, Timestamp from, Timestamp to) throws SQLException {
+        String sql = "SELECT DISTINCT e.organization_id, " + MONTH_EXPR + " FROM expense e " +
+                "WHERE e.updated_at >= ? AND e.updated_at < ? AND e.organization_id IS NOT NULL";
+        List<MonthBucket> buckets = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setTimestamp(1, from);
+            ps.setTimestamp(2, to);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    buckets.add(new MonthBucket(rs.getString(1), rs.getDate(2).toLocalDate()));
+                }
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Recomputes every rollup row of one organization-month from the expense table.
+     */
+    public void rebuildBucket(Connection conn, MonthBucket bucket) throws SQLException {
+        try (PreparedStatement delete = conn.prepareStatement(
+                "DELETE FROM expense_rollup_monthly WHERE organization_id = ? AND month = ?")) {
+            delete.setString(1, bucket.getOrganizationId());
+            delete.setDate(2, java.sql.Date.valueOf(bucket.getMonth()));
+            delete.executeUpdate();
+        }
+        String sql = INSERT_PREFIX + AGGREGATE_SELECT +
+                "WHERE e.organization_id = ? AND e.date >= ? AND e.date < ?" + GROUP_BY;
+        try (PreparedStatement insert = conn.prepareStatement(sql)) {
+            insert.setString(1, bucket.getOrganizationId());
+            insert.setDate(2, java.sql.Date.valueOf(bucket.getMonth()));
+            insert.setDate(3, java.sql.Date.valueOf(bucket.getMonth().plusMonths(1)));
+            insert.executeUpdate();
+        }
+    }
+
+    public List<String> findOrganizationIdsWithExpenses(Connection conn) throws SQLException {
+        List<String> ids = new ArrayList<>();
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT DISTINCT organization_id FROM expense WHERE organization_id IS NOT NULL")) {
+            while (rs.next()) {
+                ids.add(rs.getString(1));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Recomputes all rollup rows of one organization.
+     */
+    public void rebuildOrganization(Connection conn, String organizationId) throws SQLException {
+        try (PreparedStatement delete = conn.prepareStatement(
+                "DELETE FROM expense_rollup_monthly WHERE organization_id = ?")) {
+            delete.setString(1, organizationId);
+            delete.executeUpdate();
+        }
+        try (PreparedStatement insert = conn.prepareStatement(
+                INSERT_PREFIX + AGGREGATE_SELECT + "WHERE e.organization_id = ?" + GROUP_BY)) {
+            insert.setString(1, organizationId);
+            insert.executeUpdate();
+        }
+    }
+
+    public static class MonthBucket {
+        private final String organizationId;
+        private final LocalDate month;
+
+        public MonthBucket(String organizationId, LocalDate month) {
+            this.organizationId = organizationId;
+            this.month = month;
+        }
+
+        public String getOrganizationId() {
+            return organizationId;
+        }
+
+        public LocalDate getMonth() {
+            return month;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.expensemgmt.dao;
+
+import java.io.IOException;
+
+/**
+ * Receives rows one at a time from a streaming query, so callers never hold the full result.
+ */
+@FunctionalInterface
+public interface RowHandler<T> {
+    void handle(T row) throws IOException;
+}
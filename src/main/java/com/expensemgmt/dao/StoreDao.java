@@ -0,0 +1,55 @@
+package com.expensemgmt.dao;
+
+import com.expensemgmt.model.Store;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class StoreDao {
+
+    private static final String COLUMNS = "id, name, address, type, number_of_employees, organization_id, " +
+            "created_at, updated_at";
+
+    /**
+     * Active stores of the organization, by name.
+     */
+    public List<Store> findActiveByOrganization(Connection conn, String organizationId) throws SQLException {
+        String sql = "SELECT " + COLUMNS + " FROM store WHERE organization_id = ? AND is_active = TRUE ORDER BY name";
+        List<Store> stores = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, organizationId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    stores.add(mapRow(rs));
+                }
+            }
+        }
+        return stores;
+    }
+
+    /**
+     * Store name per id for the given ids; unknown ids are omitted.
+     */
+    public Map<String, String> findNamesByIds(Connection conn, Collection<String> ids) throws SQLException {
+        return NameQueries.findNames(conn, "store", "name", ids);
+    }
+
+    static Store mapRow(ResultSet rs) throws SQLException {
+        Store store = new Store();
+        store.setId(rs.getString("id"));
+        store.setName(rs.getString("name"));
+        store.setAddress(rs.getString("address"));
+        store.setType(rs.getString("type"));
+        store.setNumberOfEmployees(rs.getObject("number_of_employees", Integer.class));
+        store.setOrganizationId(rs.getString("organization_id"));
+        store.setCreatedAt(rs.getTimestamp("created_at"));
+        store.setUpdatedAt(rs.getTimestamp("updated_at"));
+        return store;
+    }
+}
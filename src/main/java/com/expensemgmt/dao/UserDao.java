@@ -0,0 +1,88 @@
+package com.expensemgmt.dao;
+
+import com.expensemgmt.model.User;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class UserDao {
+
+    /**
+     * Ids of all active users in an organization.
+     */
+    public List<String> findActiveIds(Connection conn, String organizationId) throws SQLException {
+        List<String> ids = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement("SELECT id FROM user WHERE organization_id = ? AND is_active = TRUE")) {
+            ps.setString(1, organizationId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getString(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Display name per user id for the given ids; unknown ids are omitted.
+     */
+    public Map<String, String> findNamesByIds(Connection conn, Collection<String> ids) throws SQLException {
+        return NameQueries.findNames(conn, "user", "name", ids);
+    }
+
+    /**
+     * Active user count per organization id; all organizations when {@code organizationId} is null.
+     */
+    public Map<String, Long> countActiveByOrganization(Connection conn, String organizationId) throws SQLException {
+        String sql = "SELECT organization_id, COUNT(*) FROM user WHERE is_active = TRUE AND organization_id " +
+                (organizationId != null ? "= ?" : "IS NOT NULL") + " GROUP BY organization_id";
+        Map<String, Long> counts = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            if (organizationId != null) {
+                ps.setString(1, organizationId);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    counts.put(rs.getString(1), rs.getLong(2));
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Ids of the active users in an organization holding any of the given roles.
+     */
+    public List<String> findActiveIdsByRoles(Connection conn, String organizationId, User.Role... roles) throws SQLException {
+        if (roles.length == 0) {
+            return Collections.emptyList();
+        }
+        StringBuilder sql = new StringBuilder("SELECT id FROM user WHERE organization_id = ? AND is_active = TRUE AND role IN (");
+        for (int i = 0; i < roles.length; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(")");
+
+        List<String> ids = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            ps.setString(1, organizationId);
+            for (int i = 0; i < roles.length; i++) {
+                ps.setString(i + 2, roles[i].name());
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getString(1));
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,72 @@
+package com.expensemgmt.dto;
+
+import java.util.Date;
+
+/**
+ * One audit_log row: a change to a record, with its before and after values as JSON.
+ */
+public class AuditEntry {
+
+    private final String tableName;
+    private final String recordId;
+    private final String action;
+    private final String oldValues;
+    private final String newValues;
+    private final String userId;
+    private String ipAddress;
+    private String userAgent;
+    private final Date createdAt = new Date();
+
+    public AuditEntry(String tableName, String recordId, String action, String oldValues, String newValues, String userId) {
+        this.tableName = tableName;
+        this.recordId = recordId;
+        this.action = action;
+        this.oldValues = oldValues;
+        this.newValues = newValues;
+        this.userId = userId;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getRecordId() {
+        return recordId;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public String getOldValues() {
+        return oldValues;
+    }
+
+    public String getNewValues() {
+        return newValues;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getIpAddress() {
+        return ipAddress;
+    }
+
+    public void setIpAddress(String ipAddress) {
+        this.ipAddress = ipAddress;
+    }
+
+    public String getUserAgent() {
+        return userAgent;
+    }
+
+    public void setUserAgent(String userAgent) {
+        this.userAgent = userAgent;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+}
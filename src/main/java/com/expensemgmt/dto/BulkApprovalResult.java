@@ -0,0 +1,83 @@
+package com.expensemgmt.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Per-expense outcome of a bulk approve or reject, in request order.
+ */
+public class BulkApprovalResult {
+
+    public enum Outcome {
+        APPROVED,
+        REJECTED,
+        NOT_FOUND,
+        NOT_PENDING,
+        CONFLICT,
+        FORBIDDEN,
+        FAILED
+    }
+
+    private final List<Item> items = new ArrayList<>();
+
+    public void add(String expenseId, Outcome outcome, Date updatedAt, String message) {
+        items.add(new Item(expenseId, outcome, updatedAt, message));
+    }
+
+    public List<Item> getItems() {
+        return Collections.unmodifiableList(items);
+    }
+
+    public int getSucceeded() {
+        int count = 0;
+        for (Item item : items) {
+            if (item.isSuccess()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int getFailed() {
+        return items.size() - getSucceeded();
+    }
+
+    public static class Item {
+        private final String expenseId;
+        private final Outcome outcome;
+        private final Date updatedAt;
+        private final String message;
+
+        Item(String expenseId, Outcome outcome, Date updatedAt, String message) {
+            this.expenseId = expenseId;
+            this.outcome = outcome;
+            this.updatedAt = updatedAt;
+            this.message = message;
+        }
+
+        public String getExpenseId() {
+            return expenseId;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        /**
+         * The expense's new version for applied decisions, or the current one on a conflict.
+         */
+        public Date getUpdatedAt() {
+            return updatedAt;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public boolean isSuccess() {
+            return outcome == Outcome.APPROVED || outcome == Outcome.REJECTED;
+        }
+    }
+}
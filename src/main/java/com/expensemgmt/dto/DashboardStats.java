@@ -0,0 +1,130 @@
+package com.expensemgmt.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Figures rendered by dashboard.jsp. Chart maps are ordered label -> amount.
+ */
+public class DashboardStats {
+
+    private long pendingCount;
+    private long approvedCount;
+    private long rejectedCount;
+    private long totalCount;
+    private String reportingCurrency;
+    private long unconvertedCount;
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+    private BigDecimal thisMonthAmount = BigDecimal.ZERO;
+    private BigDecimal monthChange = BigDecimal.ZERO;
+    private BigDecimal approvalRate = BigDecimal.ZERO;
+    private Map<String, BigDecimal> categoryData;
+    private Map<String, BigDecimal> monthlyData;
+
+    public boolean isIncrease() {
+        return monthChange.signum() >= 0;
+    }
+
+    // Getters and setters
+    public long getPendingCount() {
+        return pendingCount;
+    }
+
+    public void setPendingCount(long pendingCount) {
+        this.pendingCount = pendingCount;
+    }
+
+    public long getApprovedCount() {
+        return approvedCount;
+    }
+
+    public void setApprovedCount(long approvedCount) {
+        this.approvedCount = approvedCount;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public void setRejectedCount(long rejectedCount) {
+        this.rejectedCount = rejectedCount;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(long totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    /**
+     * Currency of every amount in these figures.
+     */
+    public String getReportingCurrency() {
+        return reportingCurrency;
+    }
+
+    public void setReportingCurrency(String reportingCurrency) {
+        this.reportingCurrency = reportingCurrency;
+    }
+
+    /**
+     * Expenses left out of the amounts because no FX rate into the reporting currency was available.
+     */
+    public long getUnconvertedCount() {
+        return unconvertedCount;
+    }
+
+    public void setUnconvertedCount(long unconvertedCount) {
+        this.unconvertedCount = unconvertedCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public BigDecimal getThisMonthAmount() {
+        return thisMonthAmount;
+    }
+
+    public void setThisMonthAmount(BigDecimal thisMonthAmount) {
+        this.thisMonthAmount = thisMonthAmount;
+    }
+
+    public BigDecimal getMonthChange() {
+        return monthChange;
+    }
+
+    public void setMonthChange(BigDecimal monthChange) {
+        this.monthChange = monthChange;
+    }
+
+    public BigDecimal getApprovalRate() {
+        return approvalRate;
+    }
+
+    public void setApprovalRate(BigDecimal approvalRate) {
+        this.approvalRate = approvalRate;
+    }
+
+    public Map<String, BigDecimal> getCategoryData() {
+        return categoryData;
+    }
+
+    public void setCategoryData(Map<String, BigDecimal> categoryData) {
+        this.categoryData = categoryData;
+    }
+
+    public Map<String, BigDecimal> getMonthlyData() {
+        return monthlyData;
+    }
+
+    public void setMonthlyData(Map<String, BigDecimal> monthlyData) {
+        this.monthlyData = monthlyData;
+    }
+}
@@ -0,0 +1,33 @@
+package com.expensemgmt.dto;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of checking one expense for duplicates. While the organization's index is still
+ * being built nothing could be compared, which is reported as not ready rather than as no matches.
+ */
+public class DuplicateCheckResult {
+
+    private static final DuplicateCheckResult NOT_READY = new DuplicateCheckResult(false, Collections.emptyList());
+
+    private final boolean indexReady;
+    private final List<DuplicateMatch> matches;
+
+    public DuplicateCheckResult(boolean indexReady, List<DuplicateMatch> matches) {
+        this.indexReady = indexReady;
+        this.matches = matches;
+    }
+
+    public static DuplicateCheckResult notReady() {
+        return NOT_READY;
+    }
+
+    public boolean isIndexReady() {
+        return indexReady;
+    }
+
+    public List<DuplicateMatch> getMatches() {
+        return matches;
+    }
+}
@@ -0,0 +1,39 @@
+package com.expensemgmt.dto;
+
+/**
+ * An expense that looks like a re-submission of an earlier one.
+ */
+public class DuplicateMatch {
+
+    public enum Reason {
+        // Same receipt file (by content hash), whoever submitted it
+        SAME_RECEIPT,
+        // Same submitter, amount, currency and store within a day of each other
+        SAME_CHARGE
+    }
+
+    private final String expenseId;
+    private final String duplicateOfId;
+    private final Reason reason;
+
+    public DuplicateMatch(String expenseId, String duplicateOfId, Reason reason) {
+        this.expenseId = expenseId;
+        this.duplicateOfId = duplicateOfId;
+        this.reason = reason;
+    }
+
+    /**
+     * The suspected duplicate; null when checking an expense that has not been saved yet.
+     */
+    public String getExpenseId() {
+        return expenseId;
+    }
+
+    public String getDuplicateOfId() {
+        return duplicateOfId;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,31 @@
+package com.expensemgmt.dto;
+
+import com.expensemgmt.model.Expense;
+
+import java.util.List;
+
+/**
+ * One keyset page of expenses. Pass nextCursor back to fetch the following page.
+ */
+public class ExpensePage {
+
+    private final List<Expense> items;
+    private final String nextCursor;
+
+    public ExpensePage(List<Expense> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Expense> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,114 @@
+package com.expensemgmt.dto;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * One flattened line of an expense report export, with related names already resolved.
+ */
+public class ExpenseReportRow {
+
+    private String id;
+    private String title;
+    private BigDecimal amount;
+    private String currency;
+    private BigDecimal reportingAmount;
+    private String reportingCurrency;
+    private String status;
+    private String employee;
+    private String category;
+    private String store;
+    private Date date;
+
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    /**
+     * Amount in the organization's reporting currency, fixed at approval; null before approval.
+     */
+    public BigDecimal getReportingAmount() {
+        return reportingAmount;
+    }
+
+    public void setReportingAmount(BigDecimal reportingAmount) {
+        this.reportingAmount = reportingAmount;
+    }
+
+    public String getReportingCurrency() {
+        return reportingCurrency;
+    }
+
+    public void setReportingCurrency(String reportingCurrency) {
+        this.reportingCurrency = reportingCurrency;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getEmployee() {
+        return employee;
+    }
+
+    public void setEmployee(String employee) {
+        this.employee = employee;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getStore() {
+        return store;
+    }
+
+    public void setStore(String store) {
+        this.store = store;
+    }
+
+    public Date getDate() {
+        return date;
+    }
+
+    public void setDate(Date date) {
+        this.date = date;
+    }
+}
@@ -0,0 +1,23 @@
+package com.expensemgmt.dto;
+
+/**
+ * One ranked search match. Scores are only comparable within one search.
+ */
+public class ExpenseSearchResult {
+
+    private final ExpenseView expense;
+    private final double score;
+
+    public ExpenseSearchResult(ExpenseView expense, double score) {
+        this.expense = expense;
+        this.score = score;
+    }
+
+    public ExpenseView getExpense() {
+        return expense;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
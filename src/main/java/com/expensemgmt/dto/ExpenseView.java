@@ -0,0 +1,113 @@
+package com.expensemgmt.dto;
+
+import com.expensemgmt.model.Expense;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * Read-only projection of an expense for lists and pages, with the names of its submitter,
+ * approver, category and store already resolved (see ExpenseProjectionLoader).
+ */
+public class ExpenseView {
+
+    private final String id;
+    private final String title;
+    private final BigDecimal amount;
+    private final String currency;
+    private final BigDecimal reportingAmount;
+    private final String reportingCurrency;
+    private final Date date;
+    private final Expense.Status status;
+    private final String userId;
+    private final String userName;
+    private final String approvedBy;
+    private final String approverName;
+    private final String categoryId;
+    private final String categoryName;
+    private final String storeId;
+    private final String storeName;
+
+    public ExpenseView(Expense expense, String userName, String approverName, String categoryName, String storeName) {
+        this.id = expense.getId();
+        this.title = expense.getTitle();
+        this.amount = expense.getAmount();
+        this.currency = expense.getCurrency();
+        this.reportingAmount = expense.getReportingAmount();
+        this.reportingCurrency = expense.getReportingCurrency();
+        this.date = expense.getExpenseDate();
+        this.status = expense.getStatus();
+        this.userId = expense.getUserId();
+        this.userName = userName;
+        this.approvedBy = expense.getApprovedBy();
+        this.approverName = approverName;
+        this.categoryId = expense.getCategoryId();
+        this.categoryName = categoryName;
+        this.storeId = expense.getStoreId();
+        this.storeName = storeName;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public BigDecimal getReportingAmount() {
+        return reportingAmount;
+    }
+
+    public String getReportingCurrency() {
+        return reportingCurrency;
+    }
+
+    public Date getDate() {
+        return date;
+    }
+
+    public Expense.Status getStatus() {
+        return status;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public String getApprovedBy() {
+        return approvedBy;
+    }
+
+    public String getApproverName() {
+        return approverName;
+    }
+
+    public String getCategoryId() {
+        return categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public String getStoreId() {
+        return storeId;
+    }
+
+    public String getStoreName() {
+        return storeName;
+    }
+}
@@ -0,0 +1,39 @@
+package com.expensemgmt.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One row of the FX rate table: on {@code date}, one unit of {@code baseCurrency} buys
+ * {@code rate} units of {@code quoteCurrency}.
+ */
+public class FxRate {
+
+    private final LocalDate date;
+    private final String baseCurrency;
+    private final String quoteCurrency;
+    private final BigDecimal rate;
+
+    public FxRate(LocalDate date, String baseCurrency, String quoteCurrency, BigDecimal rate) {
+        this.date = date;
+        this.baseCurrency = baseCurrency;
+        this.quoteCurrency = quoteCurrency;
+        this.rate = rate;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    public String getQuoteCurrency() {
+        return quoteCurrency;
+    }
+
+    public BigDecimal getRate() {
+        return rate;
+    }
+}
@@ -0,0 +1,58 @@
+package com.expensemgmt.dto;
+
+/**
+ * One reason an expense fails an organization's policies.
+ */
+public class PolicyViolation {
+
+    public enum Reason {
+        AMOUNT_EXCEEDS_MAXIMUM,
+        RECEIPT_REQUIRED,
+        APPROVAL_THRESHOLD_EXCEEDED
+    }
+
+    private final Reason reason;
+    private final String policyId;
+    private final String policyName;
+    private final String message;
+
+    public PolicyViolation(Reason reason, String policyId, String policyName, String message) {
+        this.reason = reason;
+        this.policyId = policyId;
+        this.policyName = policyName;
+        this.message = message;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public String getPolicyId() {
+        return policyId;
+    }
+
+    public String getPolicyName() {
+        return policyName;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Whether the expense may not be submitted. Crossing an approval threshold only routes
+     * the expense for approval, which every submitted expense gets anyway.
+     */
+    public boolean isBlocking() {
+        return reason != Reason.APPROVAL_THRESHOLD_EXCEEDED;
+    }
+
+    @Override
+    public String toString() {
+        return "PolicyViolation{" +
+                "reason=" + reason +
+                ", policyId='" + policyId + '\'' +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
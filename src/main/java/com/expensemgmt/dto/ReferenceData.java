@@ -0,0 +1,37 @@
+package com.expensemgmt.dto;
+
+import com.expensemgmt.model.Category;
+import com.expensemgmt.model.Policy;
+import com.expensemgmt.model.Store;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An organization's active categories, stores and policies, as cached by ReferenceDataService.
+ * Shared between requests: callers must not modify the lists or the objects in them.
+ */
+public class ReferenceData {
+
+    private final List<Category> categories;
+    private final List<Store> stores;
+    private final List<Policy> policies;
+
+    public ReferenceData(List<Category> categories, List<Store> stores, List<Policy> policies) {
+        this.categories = Collections.unmodifiableList(categories);
+        this.stores = Collections.unmodifiableList(stores);
+        this.policies = Collections.unmodifiableList(policies);
+    }
+
+    public List<Category> getCategories() {
+        return categories;
+    }
+
+    public List<Store> getStores() {
+        return stores;
+    }
+
+    public List<Policy> getPolicies() {
+        return policies;
+    }
+}
@@ -0,0 +1,46 @@
+package com.expensemgmt.dto;
+
+/**
+ * A receipt file in content-addressed storage. The URL is stable for identical content.
+ */
+public class StoredReceipt {
+
+    private final String sha256;
+    private final String extension;
+    private final long size;
+    private final boolean duplicate;
+
+    public StoredReceipt(String sha256, String extension, long size, boolean duplicate) {
+        this.sha256 = sha256;
+        this.extension = extension;
+        this.size = size;
+        this.duplicate = duplicate;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * True when identical content was already stored and this upload was discarded.
+     */
+    public boolean isDuplicate() {
+        return duplicate;
+    }
+
+    public String getFileName() {
+        return sha256 + "." + extension;
+    }
+
+    public String getUrl() {
+        return "/receipts/" + getFileName();
+    }
+}
@@ -0,0 +1,124 @@
+package com.expensemgmt.filter;
+
+import com.expensemgmt.util.AppConfig;
+import com.expensemgmt.util.JdbcMetrics;
+import com.expensemgmt.util.RequestMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.DispatcherType;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletMapping;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.MappingMatch;
+import java.io.IOException;
+
+/**
+ * Records latency and JDBC query count per route (see {@link RequestMetrics}).
+ *
+ * Mapped for REQUEST and FORWARD dispatches: a request is recorded under its servlet
+ * mapping pattern ("/expenses/*"), and the JSP it forwards to is recorded again under the
+ * JSP path, so rendering time can be told apart from servlet time. Async requests such as
+ * the notification stream are recorded when they complete. Requests running more than
+ * {@code metrics.queriesPerRequestWarn} queries are logged as likely N+1 patterns.
+ */
+public class MetricsFilter implements Filter {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricsFilter.class);
+
+    private int queriesPerRequestWarn;
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+        queriesPerRequestWarn = AppConfig.getInt("metrics.queriesPerRequestWarn", 50);
+    }
+
+    @Override
+    public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain)
+            throws IOException, ServletException {
+        if (!(req instanceof HttpServletRequest)) {
+            chain.doFilter(req, res);
+            return;
+        }
+        HttpServletRequest request = (HttpServletRequest) req;
+        HttpServletResponse response = (HttpServletResponse) res;
+        RequestMetrics.Route route = RequestMetrics.route(request.getMethod(), routeOf(request));
+
+        long start = System.nanoTime();
+        JdbcMetrics.RequestQueries previous = JdbcMetrics.beginRequest();
+        boolean failed = true;
+        try {
+            chain.doFilter(req, res);
+            failed = false;
+        } finally {
+            JdbcMetrics.RequestQueries queries = JdbcMetrics.endRequest(previous);
+            if (!failed && request.isAsyncStarted()) {
+                // Queries on the container thread are known now; the duration only on completion
+                request.getAsyncContext().addListener(new CompletionListener(route, start, queries.getCount()));
+            } else {
+                int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+                route.record(System.nanoTime() - start, queries.getCount(), status);
+                if (request.getDispatcherType() == DispatcherType.REQUEST && queries.getCount() > queriesPerRequestWarn) {
+                    log.warn("{} {} ran {} queries ({} ms in JDBC)", route.getMethod(), route.getPath(),
+                            queries.getCount(), queries.getNanos() / 1_000_000);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    static String routeOf(HttpServletRequest request) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return request.getServletPath();
+        }
+        HttpServletMapping mapping = request.getHttpServletMapping();
+        if (mapping == null || mapping.getMappingMatch() == null) {
+            return request.getServletPath();
+        }
+        // Extension matches (*.jsp) are a bounded set of files; name them individually
+        return mapping.getMappingMatch() == MappingMatch.EXTENSION ? request.getServletPath() : mapping.getPattern();
+    }
+
+    private static final class CompletionListener implements AsyncListener {
+        private final RequestMetrics.Route route;
+        private final long start;
+        private final long queries;
+
+        CompletionListener(RequestMetrics.Route route, long start, long queries) {
+            this.route = route;
+            this.start = start;
+            this.queries = queries;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            ServletResponse response = event.getSuppliedResponse();
+            int status = response instanceof HttpServletResponse ? ((HttpServletResponse) response).getStatus() : 200;
+            route.record(System.nanoTime() - start, queries, status);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.expensemgmt.job;
+
+import com.expensemgmt.dao.RollupDao;
+import com.expensemgmt.service.DashboardStatsService;
+import com.expensemgmt.util.AppConfig;
+import com.expensemgmt.util.DatabaseConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps expense_rollup_monthly up to date.
+ *
+ * Incremental runs find the (organization, month) buckets touched by expenses whose
+ * updated_at is at or after the stored watermark and recompute just those buckets.
+ * updated_at is stamped when a row is written, not when its transaction commits, so a
+ * slow transaction (or one stamped from the application clock, as bulk approval does) can
+ * become visible with an updated_at before the watermark. Each run therefore re-scans
+ * {@code rollup.overlapSeconds} before the watermark; recomputing a bucket is idempotent,
+ * so the overlap only costs the repeated work.
+ * Deleted expenses and expenses moved to another month leave their old bucket stale
+ * until the next full rebuild, which recomputes every organization from scratch.
+ *
+ * Incremental runs and full rebuilds hold the same lock, since the scheduler may start
+ * one while the other is still writing buckets and the watermark.
+ */
+public class ExpenseRollupJob implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseRollupJob.class);
+
+    static final String WATERMARK = "expense_rollup_monthly";
+
+    private final RollupDao rollupDao = new RollupDao();
+    private final long overlapMillis = TimeUnit.SECONDS.toMillis(AppConfig.getLong("rollup.overlapSeconds", 300));
+    private final DashboardStatsService dashboardStatsService = DashboardStatsService.getInstance();
+    private final Object runLock = new Object();
+
+    @Override
+    public void run() {
+        try {
+            runIncremental();
+        } catch (SQLException | RuntimeException e) {
+            log.error("Expense rollup failed", e);
+        }
+    }
+
+    public void runIncremental() throws SQLException {
+        synchronized (runLock) {
+            incremental();
+        }
+    }
+
+    public void runFullRebuild() throws SQLException {
+        synchronized (runLock) {
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                rebuildAll(conn, rollupDao.currentTimestamp(conn));
+            }
+        }
+    }
+
+    private void incremental() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            Timestamp now = rollupDao.currentTimestamp(conn);
+            Timestamp watermark = rollupDao.getWatermark(conn, WATERMARK);
+            if (watermark == null) {
+                rebuildAll(conn, now);
+                return;
+            }
+            Timestamp from = new Timestamp(watermark.getTime() - overlapMillis);
+            List<RollupDao.MonthBucket> buckets = rollupDao.findChangedBuckets(conn, from, now);
+            Set<String> organizations = new HashSet<>();
+            conn.setAutoCommit(false);
+            try {
+                for (RollupDao.MonthBucket bucket : buckets) {
+                    rollupDao.rebuildBucket(conn, bucket);
+                    conn.commit();
+                    organizations.add(bucket.getOrganizationId());
+                }
+                rollupDao.setWatermark(conn, WATERMARK, now);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            organizations.forEach(dashboardStatsService::invalidate);
+            if (!buckets.isEmpty()) {
+                log.debug("Rolled up {} changed month buckets", buckets.size());
+            }
+        }
+    }
+
+    private void rebuildAll(Connection conn, Timestamp now) throws SQLException {
+        List<String> organizations = rollupDao.findOrganizationIdsWithExpenses(conn);
+        conn.setAutoCommit(false);
+        try {
+            for (String organizationId : organizations) {
+                rollupDao.rebuildOrganization(conn, organizationId);
+                conn.commit();
+                dashboardStatsService.invalidate(organizationId);
+            }
+            rollupDao.setWatermark(conn, WATERMARK, now);
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        }
+        log.info("Rebuilt expense rollups for {} organizations", organizations.size());
+    }
+}
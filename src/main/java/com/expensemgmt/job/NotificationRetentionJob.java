@@ -0,0 +1,127 @@
+package com.expensemgmt.job;
+
+import com.expensemgmt.dao.NotificationDao;
+import com.expensemgmt.dao.NotificationPartitionDao;
+import com.expensemgmt.util.AppConfig;
+import com.expensemgmt.util.DatabaseConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes notifications nobody needs any more.
+ *
+ * Expired notifications, and read ones older than {@code notifications.retention.readDays},
+ * are deleted by walking the primary key in ranges of {@code notifications.retention.batchSize}
+ * with autocommit on, pausing {@code notifications.retention.pauseMillis} between ranges. Each
+ * DELETE therefore locks at most one small range and replicas never see one huge transaction.
+ *
+ * With {@code notifications.partitioning.enabled} (after applying notification_partitioning.sql)
+ * the job also keeps {@code notifications.partitioning.monthsAhead} future monthly partitions and
+ * drops months older than {@code notifications.partitioning.retentionMonths} as whole partitions.
+ */
+public class NotificationRetentionJob implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationRetentionJob.class);
+
+    private final NotificationDao notificationDao = new NotificationDao();
+    private final NotificationPartitionDao partitionDao = new NotificationPartitionDao();
+
+    private final int readRetentionDays = AppConfig.getInt("notifications.retention.readDays", 90);
+    private final int batchSize = AppConfig.getInt("notifications.retention.batchSize", 1000);
+    private final long pauseMillis = AppConfig.getLong("notifications.retention.pauseMillis", 50);
+    private final boolean partitioningEnabled = AppConfig.getBoolean("notifications.partitioning.enabled", false);
+    private final int monthsAhead = AppConfig.getInt("notifications.partitioning.monthsAhead", 2);
+    private final int retentionMonths = AppConfig.getInt("notifications.partitioning.retentionMonths", 12);
+
+    @Override
+    public void run() {
+        try {
+            if (partitioningEnabled) {
+                maintainPartitions();
+            }
+            purgeExpired();
+        } catch (SQLException | RuntimeException e) {
+            log.error("Notification retention failed", e);
+        }
+    }
+
+    /**
+     * Deletes expired and old read notifications range by range. Returns the number deleted.
+     */
+    public int purgeExpired() throws SQLException {
+        int deleted = 0;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            long[] range = notificationDao.findIdRange(conn);
+            if (range == null) {
+                return 0;
+            }
+            Timestamp readCutoff = new Timestamp(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(readRetentionDays));
+            for (long from = range[0]; from <= range[1]; from += batchSize) {
+                deleted += notificationDao.deleteExpiredInRange(conn, from, from + batchSize, readCutoff, partitioningEnabled);
+                if (pauseMillis > 0) {
+                    try {
+                        Thread.sleep(pauseMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+        }
+        if (deleted > 0) {
+            log.info("Purged {} expired or old read notifications", deleted);
+        }
+        return deleted;
+    }
+
+    /**
+     * Creates upcoming monthly partitions and drops the ones past retention.
+     */
+    public void maintainPartitions() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            List<NotificationPartitionDao.Partition> partitions = partitionDao.findPartitions(conn);
+            if (partitions.isEmpty()) {
+                log.warn("notifications.partitioning.enabled is set but the notification table is not partitioned");
+                return;
+            }
+
+            Set<String> existing = new HashSet<>();
+            LocalDate highestBound = null;
+            for (NotificationPartitionDao.Partition partition : partitions) {
+                existing.add(partition.getName());
+                if (partition.getLessThan() != null
+                        && (highestBound == null || partition.getLessThan().isAfter(highestBound))) {
+                    highestBound = partition.getLessThan();
+                }
+            }
+            YearMonth current = YearMonth.now();
+            for (int i = 0; i <= monthsAhead; i++) {
+                YearMonth month = current.plusMonths(i);
+                // Months at or below the highest bound are already covered by an earlier partition
+                if (highestBound != null && !month.atDay(1).isBefore(highestBound)
+                        && !existing.contains(NotificationPartitionDao.nameOf(month))) {
+                    partitionDao.addMonth(conn, month);
+                    log.info("Added notification partition {}", NotificationPartitionDao.nameOf(month));
+                }
+            }
+
+            LocalDate cutoff = current.minusMonths(retentionMonths).atDay(1);
+            for (NotificationPartitionDao.Partition partition : partitions) {
+                if (partition.getLessThan() != null && !partition.getLessThan().isAfter(cutoff)) {
+                    partitionDao.dropPartition(conn, partition.getName());
+                    log.info("Dropped notification partition {}", partition.getName());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.expensemgmt.listener;
+
+import com.expensemgmt.job.ExpenseRollupJob;
+import com.expensemgmt.job.NotificationRetentionJob;
+import com.expensemgmt.service.ApprovalQueueService;
+import com.expensemgmt.service.AuditLogWriter;
+import com.expensemgmt.service.DuplicateDetector;
+import com.expensemgmt.service.ExpenseQuotaService;
+import com.expensemgmt.service.FxRateService;
+import com.expensemgmt.service.NotificationFanoutService;
+import com.expensemgmt.service.NotificationPushRegistry;
+import com.expensemgmt.service.ReceiptStorageService;
+import com.expensemgmt.util.AppConfig;
+import com.expensemgmt.util.DatabaseConnection;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Starts and stops application-wide resources with the web application.
+ */
+public class AppContextListener implements ServletContextListener {
+
+    private ScheduledExecutorService scheduler;
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        // Open the pool's initial connections at deploy time, not on the first request
+        try {
+            DatabaseConnection.start();
+            sce.getServletContext().log("Connection pool started: " + DatabaseConnection.getPoolMetrics());
+        } catch (SQLException e) {
+            // Requests retry on borrow; a database that is down at deploy must not fail the deploy
+            sce.getServletContext().log("Connection pool could not be started", e);
+        }
+
+        // Two threads so a long retention pass does not hold up the rollups
+        AtomicInteger threadCount = new AtomicInteger();
+        scheduler = Executors.newScheduledThreadPool(2, r -> {
+            Thread thread = new Thread(r, "background-jobs-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (AppConfig.getBoolean("rollup.enabled", true)) {
+            ExpenseRollupJob rollupJob = new ExpenseRollupJob();
+            long interval = AppConfig.getLong("rollup.intervalSeconds", 60);
+            scheduler.scheduleWithFixedDelay(rollupJob, interval, interval, TimeUnit.SECONDS);
+            long rebuildHours = AppConfig.getLong("rollup.fullRebuildIntervalHours", 24);
+            scheduler.scheduleWithFixedDelay(() -> {
+                try {
+                    rollupJob.runFullRebuild();
+                } catch (SQLException e) {
+                    sce.getServletContext().log("Full expense rollup rebuild failed", e);
+                }
+            }, rebuildHours, rebuildHours, TimeUnit.HOURS);
+        }
+
+        // Backfill the reporting-hierarchy closure from user.manager_id in the background
+        if (AppConfig.getBoolean("hierarchy.rebuildOnStartup", true)) {
+            scheduler.execute(() -> {
+                try {
+                    int rows = new ApprovalQueueService().rebuildAllHierarchies();
+                    sce.getServletContext().log("Reporting hierarchy rebuilt: " + rows + " closure rows");
+                } catch (SQLException e) {
+                    sce.getServletContext().log("Reporting hierarchy rebuild failed", e);
+                }
+            });
+        }
+
+        // Rates must be in memory before the first dashboard or approval converts anything
+        FxRateService fxRateService = FxRateService.getInstance();
+        fxRateService.refreshQuietly();
+        long fxInterval = AppConfig.getLong("fx.refreshMinutes", 60);
+        scheduler.scheduleWithFixedDelay(fxRateService::refreshQuietly, fxInterval, fxInterval, TimeUnit.MINUTES);
+
+        // Seed the quota counters so submissions are checked without counting rows
+        ExpenseQuotaService quotaService = ExpenseQuotaService.getInstance();
+        quotaService.reconcileQuietly();
+        long quotaInterval = AppConfig.getLong("quota.reconcileMinutes", 15);
+        scheduler.scheduleWithFixedDelay(quotaService::reconcileQuietly, quotaInterval, quotaInterval, TimeUnit.MINUTES);
+
+        if (AppConfig.getBoolean("notifications.retention.enabled", true)) {
+            long interval = AppConfig.getLong("notifications.retention.intervalMinutes", 60);
+            scheduler.scheduleWithFixedDelay(new NotificationRetentionJob(), interval, interval, TimeUnit.MINUTES);
+        }
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        ReceiptStorageService.getInstance().shutdown();
+        DuplicateDetector.getInstance().shutdown();
+        NotificationPushRegistry.getInstance().shutdown();
+        NotificationFanoutService.getInstance().shutdown();
+        AuditLogWriter.getInstance().shutdown();
+        DatabaseConnection.shutdown();
+    }
+}
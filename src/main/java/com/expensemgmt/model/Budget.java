@@ -2,8 +2,6 @@ package com.expensemgmt.model;
 
 import java.math.BigDecimal;
 import java.util.Date;
-import java.util.List;
-import java.util.ArrayList;
 import java.util.Objects;
 
 public class Budget {
@@ -27,7 +25,6 @@ public class Budget {
     private String updatedBy;
     private Organization organization;
     private Category category;
-    private List<Expense> expenses = new ArrayList<>();
 
     public enum BudgetPeriod {
         MONTHLY("Monthly"),
@@ -62,42 +59,54 @@ public class Budget {
         this.isActive = true;
     }
 
-    // Business methods
+    // Business methods. Comparisons run on long minor units (see Money) rather than BigDecimal
     public BigDecimal getRemainingAmount() {
-        return allocatedAmount.subtract(spentAmount);
+        return BigDecimal.valueOf(Math.subtractExact(allocatedMinor(), spentMinor()), Money.DEFAULT_SCALE);
     }
 
     public BigDecimal getUtilizationPercentage() {
-        if (allocatedAmount.compareTo(BigDecimal.ZERO) == 0) {
-            return BigDecimal.ZERO;
-        }
-        return spentAmount.divide(allocatedAmount, 4, BigDecimal.ROUND_HALF_UP)
-                         .multiply(new BigDecimal("100"));
+        return Money.percentage(spentMinor(), allocatedMinor());
     }
 
     public boolean isOverBudget() {
-        return spentAmount.compareTo(allocatedAmount) > 0;
+        return spentMinor() > allocatedMinor();
     }
 
     public boolean isNearLimit() {
-        BigDecimal utilization = getUtilizationPercentage();
-        return utilization.compareTo(alertThreshold.multiply(new BigDecimal("100"))) >= 0;
+        long allocated = allocatedMinor();
+        if (allocated == 0) {
+            return false;
+        }
+        // Utilization and threshold both as hundredths of a percent, rounded as before
+        long threshold = Money.toMinorUnits(alertThreshold, 4);
+        return Money.basisPoints(spentMinor(), allocated) >= threshold;
+    }
+
+    private long allocatedMinor() {
+        return Money.toMinorUnits(allocatedAmount, Money.DEFAULT_SCALE);
     }
 
+    private long spentMinor() {
+        return Money.toMinorUnits(spentAmount, Money.DEFAULT_SCALE);
+    }
+
+    // Spend is tracked as a running total (budget.spent); see BudgetLedgerService
     public void addExpense(Expense expense) {
         if (expense != null && expense.getAmount() != null) {
-            this.spentAmount = this.spentAmount.add(expense.getAmount());
-            this.expenses.add(expense);
+            applySpend(expense.getAmount());
         }
     }
 
     public void removeExpense(Expense expense) {
-        if (expense != null && expense.getAmount() != null && this.expenses.contains(expense)) {
-            this.spentAmount = this.spentAmount.subtract(expense.getAmount());
-            this.expenses.remove(expense);
+        if (expense != null && expense.getAmount() != null) {
+            applySpend(expense.getAmount().negate());
         }
     }
 
+    public void applySpend(BigDecimal delta) {
+        this.spentAmount = this.spentAmount.add(delta);
+    }
+
     public boolean isExpired() {
         return new Date().after(endDate);
     }
@@ -259,14 +268,6 @@ public class Budget {
         this.category = category;
     }
 
-    public List<Expense> getExpenses() {
-        return expenses;
-    }
-
-    public void setExpenses(List<Expense> expenses) {
-        this.expenses = expenses;
-    }
-
     // Override equals and hashCode
     @Override
     public boolean equals(Object o) {
@@ -36,6 +36,9 @@ public class Expense {
     private BigDecimal taxAmount = BigDecimal.ZERO;
     private BigDecimal taxRate = BigDecimal.ZERO;
     private boolean isReimbursable = true;
+    // Amount in the organization's reporting currency, fixed when the expense is approved
+    private BigDecimal reportingAmount;
+    private String reportingCurrency;
     private Date createdAt;
     private Date updatedAt;
 
@@ -115,6 +118,12 @@ public class Expense {
     public boolean isReimbursable() { return isReimbursable; }
     public void setReimbursable(boolean reimbursable) { isReimbursable = reimbursable; }
 
+    public BigDecimal getReportingAmount() { return reportingAmount; }
+    public void setReportingAmount(BigDecimal reportingAmount) { this.reportingAmount = reportingAmount; }
+
+    public String getReportingCurrency() { return reportingCurrency; }
+    public void setReportingCurrency(String reportingCurrency) { this.reportingCurrency = reportingCurrency; }
+
     public Date getCreatedAt() { return createdAt; }
     public void setCreatedAt(Date createdAt) { this.createdAt = createdAt; }
 
@@ -126,6 +135,20 @@ public class Expense {
         return amount.add(taxAmount != null ? taxAmount : BigDecimal.ZERO);
     }
 
+    // Exact minor-unit views for aggregation; not bean getters, so they stay out of JSON
+    // and audit snapshots. The BigDecimal accessors above remain the API
+    public Money toAmountMoney() {
+        return amount != null ? Money.of(amount, currency) : null;
+    }
+
+    public Money toTotalMoney() {
+        if (amount == null) {
+            return null;
+        }
+        Money total = Money.of(amount, currency);
+        return taxAmount != null && taxAmount.signum() != 0 ? total.plus(Money.of(taxAmount, currency)) : total;
+    }
+
     public boolean isApproved() {
         return status == Status.APPROVED;
     }
@@ -0,0 +1,262 @@
+package com.expensemgmt.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * An amount of one currency held as a long count of minor units (cents for USD, whole yen for JPY).
+ *
+ * Arithmetic is exact and allocation-light: sums and differences are plain long operations that
+ * throw {@link ArithmeticException} on overflow instead of wrapping, and combining two currencies
+ * is an {@link IllegalArgumentException}. Conversion from {@link BigDecimal} rounds half-up to the
+ * currency's minor unit, the same rule the policy engine has always applied to amounts.
+ *
+ * Entities keep their BigDecimal accessors; aggregation loops should accumulate into a
+ * {@link Sum} rather than adding BigDecimals, and convert back once at the end.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final String DEFAULT_CURRENCY = "USD";
+
+    // Amount columns are DECIMAL(_, 2); used when no currency applies (budgets, policy limits)
+    public static final int DEFAULT_SCALE = 2;
+
+    private final long minorUnits;
+    private final String currency;
+    private final int scale;
+
+    private Money(long minorUnits, String currency, int scale) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+        this.scale = scale;
+    }
+
+    public static Money ofMinor(long minorUnits, String currency) {
+        String code = normalize(currency);
+        return new Money(minorUnits, code, scaleOf(code));
+    }
+
+    public static Money of(BigDecimal amount, String currency) {
+        Objects.requireNonNull(amount, "amount");
+        String code = normalize(currency);
+        int scale = scaleOf(code);
+        return new Money(toMinorUnits(amount, scale), code, scale);
+    }
+
+    public static Money zero(String currency) {
+        return ofMinor(0, currency);
+    }
+
+    /**
+     * Minor units of {@code amount} at {@code scale} decimal places, rounded half-up.
+     * Throws {@link ArithmeticException} when the result does not fit in a long.
+     */
+    public static long toMinorUnits(BigDecimal amount, int scale) {
+        // Values read from DECIMAL columns already carry the right scale; skip the rescale
+        if (amount.scale() == scale && amount.precision() < 19) {
+            return amount.unscaledValue().longValue();
+        }
+        return amount.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * {@code part / whole} as a percentage with two decimals, rounded half-up; zero when
+     * {@code whole} is zero. Both arguments are minor units of the same currency.
+     */
+    public static BigDecimal percentage(long part, long whole) {
+        return whole == 0 ? BigDecimal.ZERO : BigDecimal.valueOf(basisPoints(part, whole), 2);
+    }
+
+    /**
+     * {@code part / whole} in hundredths of a percent (0.8 is 8000), rounded half-up.
+     */
+    public static long basisPoints(long part, long whole) {
+        return divideHalfUp(Math.multiplyExact(part, 10_000L), whole);
+    }
+
+    /**
+     * Converts {@code minorUnits} at {@code fromScale} into minor units at {@code toScale} using
+     * {@code rate} expressed with {@code rateScale} decimals, rounded half-up. Stays on longs
+     * unless the intermediate product overflows.
+     */
+    public static long convertMinorUnits(long minorUnits, int fromScale, int toScale, long rate, int rateScale) {
+        int shift = toScale - fromScale - rateScale;
+        try {
+            long product = Math.multiplyExact(minorUnits, rate);
+            if (shift >= 0) {
+                return Math.multiplyExact(product, pow10(shift));
+            }
+            if (-shift <= 18) {
+                return divideHalfUp(product, pow10(-shift));
+            }
+        } catch (ArithmeticException e) {
+            // Fall through to the exact path
+        }
+        return BigDecimal.valueOf(minorUnits).multiply(BigDecimal.valueOf(rate))
+                .movePointRight(shift).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    public Money plus(Money other) {
+        checkCurrency(other);
+        return minorUnits == 0 ? other : new Money(Math.addExact(minorUnits, other.minorUnits), currency, scale);
+    }
+
+    public Money minus(Money other) {
+        checkCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency, scale);
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(minorUnits), currency, scale);
+    }
+
+    public Money times(long factor) {
+        return new Money(Math.multiplyExact(minorUnits, factor), currency, scale);
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, scale);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        checkCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Money money = (Money) o;
+        return minorUnits == money.minorUnits && currency.equals(money.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits) * 31 + currency.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency;
+    }
+
+    private void checkCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+    }
+
+    private static String normalize(String currency) {
+        return currency != null && !currency.isEmpty() ? currency : DEFAULT_CURRENCY;
+    }
+
+    /**
+     * Decimal places of the currency's minor unit, or {@link #DEFAULT_SCALE} for unknown codes.
+     */
+    public static int scaleOf(String currency) {
+        if (currency == null) {
+            return DEFAULT_SCALE;
+        }
+        try {
+            // Pseudo-currencies such as XAU report -1
+            int digits = Currency.getInstance(currency).getDefaultFractionDigits();
+            return digits >= 0 ? digits : DEFAULT_SCALE;
+        } catch (IllegalArgumentException e) {
+            return DEFAULT_SCALE;
+        }
+    }
+
+    private static long pow10(int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result = Math.multiplyExact(result, 10L);
+        }
+        return result;
+    }
+
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        // Compare |remainder| * 2 with |divisor| without overflowing
+        if (Math.abs(remainder) >= Math.abs(divisor) - Math.abs(remainder)) {
+            quotient += (dividend < 0) == (divisor < 0) ? 1 : -1;
+        }
+        return quotient;
+    }
+
+    /**
+     * Mutable running total of one currency. Adding does not allocate, so one instance can
+     * absorb any number of rows; it is not thread-safe.
+     */
+    public static final class Sum {
+        private final String currency;
+        private final int scale;
+        private long minorUnits;
+        private long count;
+
+        public Sum(String currency) {
+            this.currency = normalize(currency);
+            this.scale = scaleOf(this.currency);
+        }
+
+        public Sum add(long minor) {
+            minorUnits = Math.addExact(minorUnits, minor);
+            count++;
+            return this;
+        }
+
+        public Sum add(BigDecimal amount) {
+            return amount != null ? add(toMinorUnits(amount, scale)) : this;
+        }
+
+        public Sum add(Money money) {
+            if (!currency.equals(money.currency)) {
+                throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + money.currency);
+            }
+            return add(money.minorUnits);
+        }
+
+        public long getMinorUnits() {
+            return minorUnits;
+        }
+
+        /**
+         * Number of amounts added so far.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        public Money toMoney() {
+            return new Money(minorUnits, currency, scale);
+        }
+
+        public BigDecimal toBigDecimal() {
+            return BigDecimal.valueOf(minorUnits, scale);
+        }
+    }
+}
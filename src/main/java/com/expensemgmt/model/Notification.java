@@ -58,8 +58,10 @@ public class Notification {
         EXPENSE_REIMBURSED("Expense Reimbursed"),
         BUDGET_ALERT("Budget Alert"),
         POLICY_VIOLATION("Policy Violation"),
+        POSSIBLE_DUPLICATE("Possible Duplicate"),
         APPROVAL_REMINDER("Approval Reminder"),
-        SYSTEM_MAINTENANCE("System Maintenance");
+        SYSTEM_MAINTENANCE("System Maintenance"),
+        ANNOUNCEMENT("Announcement");
 
         private final String displayName;
 
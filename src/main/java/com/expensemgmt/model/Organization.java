@@ -84,10 +84,11 @@ public class Organization {
         return maxUsers != null && users != null && users.size() >= maxUsers;
     }
 
+    /**
+     * Checks only the loaded {@code expenses}; submission paths use ExpenseQuotaService.
+     */
     public boolean hasReachedExpenseLimit() {
-        return maxExpensesPerMonth != null && expenses != null &&
-               expenses.stream().filter(e -> e.getSubmissionDate() != null &&
-                   e.getSubmissionDate().getMonth() == new Date().getMonth()).count() >= maxExpensesPerMonth;
+        return maxExpensesPerMonth != null && getCurrentMonthExpenseCount() >= maxExpensesPerMonth;
     }
 
     public int getActiveUserCount() {
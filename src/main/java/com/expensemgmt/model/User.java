@@ -27,6 +27,7 @@ public class User {
     private Date updatedAt;
     private String createdBy;
     private String updatedBy;
+    private String managerId;
     private User manager;
     private List<User> subordinates = new ArrayList<>();
     private List<Expense> expenses = new ArrayList<>();
@@ -307,6 +308,14 @@ public class User {
         this.updatedBy = updatedBy;
     }
 
+    public String getManagerId() {
+        return managerId;
+    }
+
+    public void setManagerId(String managerId) {
+        this.managerId = managerId;
+    }
+
     public User getManager() {
         return manager;
     }
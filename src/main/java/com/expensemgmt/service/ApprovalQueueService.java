@@ -0,0 +1,163 @@
+package com.expensemgmt.service;
+
+import com.expensemgmt.dao.ExpenseDao;
+import com.expensemgmt.dao.HierarchyDao;
+import com.expensemgmt.dao.OrganizationDao;
+import com.expensemgmt.model.Expense;
+import com.expensemgmt.model.User;
+import com.expensemgmt.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Approval queues backed by the reporting-hierarchy closure (user_hierarchy).
+ *
+ * A pending expense is assigned to the submitter's direct manager through
+ * expense.approver_id, so "my pending approvals" is one lookup on
+ * (organization_id, status, approver_id). "My team's pending approvals" covers every
+ * user below the manager at any depth and is one join from the closure rows.
+ * Expenses whose submitter has no manager stay unassigned and only appear in the
+ * organization-wide PENDING listing.
+ */
+public class ApprovalQueueService {
+
+    private final ExpenseDao expenseDao = new ExpenseDao();
+    private final HierarchyDao hierarchyDao = new HierarchyDao();
+    private final OrganizationDao organizationDao = new OrganizationDao();
+
+    public List<Expense> getMyPendingApprovals(User approver, int limit) throws SQLException {
+        if (!approver.canApproveExpenses()) {
+            return Collections.emptyList();
+        }
+        return expenseDao.findPendingByApprover(approver.getOrganizationId(), approver.getId(), pageSize(limit));
+    }
+
+    public List<Expense> getTeamPendingApprovals(User manager, int limit) throws SQLException {
+        if (!manager.canApproveExpenses()) {
+            return Collections.emptyList();
+        }
+        return expenseDao.findPendingForTeam(manager.getOrganizationId(), manager.getId(), pageSize(limit));
+    }
+
+    public int countMyPendingApprovals(User approver) throws SQLException {
+        return approver.canApproveExpenses()
+                ? expenseDao.countPendingByApprover(approver.getOrganizationId(), approver.getId()) : 0;
+    }
+
+    public int countTeamPendingApprovals(User manager) throws SQLException {
+        return manager.canApproveExpenses()
+                ? expenseDao.countPendingForTeam(manager.getOrganizationId(), manager.getId()) : 0;
+    }
+
+    /**
+     * Assigns a pending expense to its submitter's manager, within the caller's transaction.
+     */
+    public void assignApprover(Connection conn, Expense expense) throws SQLException {
+        expense.setApprovedBy(hierarchyDao.findManagerId(conn, expense.getUserId()));
+    }
+
+    /**
+     * Assigns approvers to pending expenses that have none, with one lookup for the whole list.
+     */
+    public void assignApprovers(List<Expense> expenses) throws SQLException {
+        Set<String> userIds = new HashSet<>();
+        for (Expense expense : expenses) {
+            if (needsApprover(expense)) {
+                userIds.add(expense.getUserId());
+            }
+        }
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Map<String, String> managers;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            managers = hierarchyDao.findManagerIds(conn, userIds);
+        }
+        for (Expense expense : expenses) {
+            if (needsApprover(expense)) {
+                expense.setApprovedBy(managers.get(expense.getUserId()));
+            }
+        }
+    }
+
+    /**
+     * Sets a user's manager, moves the user's pending expenses to the new manager and
+     * rebuilds the organization's closure rows in one transaction. A null manager clears it.
+     * Rejects users outside the organization and assignments that would make a user report
+     * to themselves or to a subordinate.
+     */
+    public void changeManager(String organizationId, String userId, String managerId) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                if (userId.equals(managerId)) {
+                    throw new IllegalArgumentException("A user cannot manage themselves");
+                }
+                if (managerId != null && !hierarchyDao.isMember(conn, organizationId, managerId)) {
+                    throw new IllegalArgumentException("Unknown manager " + managerId);
+                }
+                if (managerId != null && hierarchyDao.isInSubtree(conn, userId, managerId)) {
+                    throw new IllegalArgumentException("User " + managerId + " reports to " + userId);
+                }
+                if (!hierarchyDao.updateManager(conn, organizationId, userId, managerId)) {
+                    throw new IllegalArgumentException("Unknown user " + userId);
+                }
+                expenseDao.reassignPending(conn, organizationId, userId, managerId);
+                hierarchyDao.rebuildOrganization(conn, organizationId);
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Recomputes an organization's closure rows from user.manager_id, e.g. after a bulk import.
+     */
+    public int rebuildHierarchy(String organizationId) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int rows = hierarchyDao.rebuildOrganization(conn, organizationId);
+                conn.commit();
+                return rows;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the closure rows of every organization, one transaction each. Run at startup
+     * so manager_id values written outside {@link #changeManager} (imports, direct SQL)
+     * show up in the team queues. Returns the number of rows written.
+     */
+    public int rebuildAllHierarchies() throws SQLException {
+        List<String> organizationIds;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            organizationIds = organizationDao.findAllIds(conn);
+        }
+        int rows = 0;
+        for (String organizationId : organizationIds) {
+            rows += rebuildHierarchy(organizationId);
+        }
+        return rows;
+    }
+
+    private static boolean needsApprover(Expense expense) {
+        return (expense.getStatus() == null || expense.getStatus() == Expense.Status.PENDING)
+                && expense.getApprovedBy() == null && expense.getUserId() != null;
+    }
+
+    private static int pageSize(int limit) {
+        return limit <= 0 ? ExpenseService.DEFAULT_PAGE_SIZE : Math.min(limit, ExpenseService.MAX_PAGE_SIZE);
+    }
+}
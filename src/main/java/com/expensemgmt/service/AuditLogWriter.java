@@ -0,0 +1,305 @@
+package com.expensemgmt.service;
+
+import com.expensemgmt.dao.AuditLogDao;
+import com.expensemgmt.dto.AuditEntry;
+import com.expensemgmt.util.AppConfig;
+import com.expensemgmt.util.AuditLogMetrics;
+import com.expensemgmt.util.DatabaseConnection;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes audit_log rows off the request path.
+ *
+ * Entries go into a bounded ring buffer (an ArrayBlockingQueue of {@code audit.queueCapacity})
+ * and a dedicated thread flushes them with multi-row INSERTs of up to {@code audit.batchSize}.
+ * {@code audit.mode} chooses the durability:
+ * <ul>
+ *   <li>SYNC - rows are inserted on the caller's thread before {@code record} returns;</li>
+ *   <li>ASYNC - {@code record} returns once the rows are queued;</li>
+ *   <li>GROUP_COMMIT - the writer collects rows for up to {@code audit.groupCommitMillis} and
+ *       {@code record} returns once the batch holding them has committed.</li>
+ * </ul>
+ * When the buffer stays full for {@code audit.offerTimeoutMillis} the caller inserts its own
+ * rows, which slows producers down to what the database can absorb and never drops an entry.
+ * Record after the business change has committed, so rolled-back changes are not audited,
+ * and after its connection is closed: in GROUP_COMMIT mode the writer thread needs a pool
+ * connection to flush, and callers holding theirs while they wait can exhaust the pool.
+ */
+public class AuditLogWriter {
+
+    public enum Mode {
+        SYNC,
+        ASYNC,
+        GROUP_COMMIT
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+
+    private static final AuditLogWriter INSTANCE = new AuditLogWriter(
+            Mode.valueOf(AppConfig.get("audit.mode", "GROUP_COMMIT").toUpperCase(Locale.ROOT)),
+            AppConfig.getInt("audit.queueCapacity", 10000),
+            AppConfig.getInt("audit.batchSize", 500),
+            AppConfig.getLong("audit.groupCommitMillis", 10),
+            AppConfig.getLong("audit.offerTimeoutMillis", 50));
+
+    private final Mode mode;
+    private final int batchSize;
+    private final long groupCommitNanos;
+    private final long offerTimeoutMillis;
+    private final long waitTimeoutMillis = AppConfig.getLong("audit.waitTimeoutMillis", 5000);
+    private final ArrayBlockingQueue<Pending> queue;
+    private final AuditLogDao auditLogDao = new AuditLogDao();
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder backpressureEvents = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder totalFlushNanos = new LongAdder();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    public AuditLogWriter(Mode mode, int queueCapacity, int batchSize, long groupCommitMillis, long offerTimeoutMillis) {
+        this.mode = mode;
+        this.batchSize = batchSize;
+        this.groupCommitNanos = TimeUnit.MILLISECONDS.toNanos(groupCommitMillis);
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writerThread = new Thread(this::drainLoop, "audit-log-writer");
+        this.writerThread.setDaemon(true);
+        if (mode != Mode.SYNC) {
+            writerThread.start();
+        }
+    }
+
+    public static AuditLogWriter getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Serializes an object's current state for old_values/new_values. Call it before the
+     * object is mutated again; the JSON is what gets stored.
+     */
+    public static String snapshot(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return MAPPER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize audit snapshot of " + value.getClass().getName(), e);
+        }
+    }
+
+    /**
+     * Records a change, capturing {@code before} and {@code after} as JSON immediately.
+     */
+    public void recordChange(String tableName, String recordId, String action, Object before, Object after, String userId) {
+        record(Collections.singletonList(new AuditEntry(tableName, recordId, action, snapshot(before), snapshot(after), userId)));
+    }
+
+    public void record(List<AuditEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (mode == Mode.SYNC || !running) {
+            writeDirectly(entries);
+            return;
+        }
+
+        boolean wait = mode == Mode.GROUP_COMMIT;
+        List<CompletableFuture<Void>> futures = wait ? new ArrayList<>(entries.size()) : null;
+        for (int i = 0; i < entries.size(); i++) {
+            Pending pending = new Pending(entries.get(i), wait ? new CompletableFuture<>() : null);
+            boolean queued;
+            try {
+                queued = queue.offer(pending, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queued = false;
+            }
+            if (!queued) {
+                backpressureEvents.increment();
+                writeDirectly(entries.subList(i, entries.size()));
+                break;
+            }
+            enqueued.increment();
+            if (wait) {
+                futures.add(pending.done);
+            }
+            if (!running) {
+                // shutdown() may already have drained the queue; flush this entry ourselves
+                drainAndFlush();
+                writeDirectly(entries.subList(i + 1, entries.size()));
+                break;
+            }
+        }
+
+        if (wait) {
+            awaitAll(futures);
+        }
+    }
+
+    public AuditLogMetrics getMetrics() {
+        return new AuditLogMetrics(mode.name(), queue.size(), queue.size() + queue.remainingCapacity(),
+                enqueued.sum(), written.sum(), failed.sum(), backpressureEvents.sum(),
+                flushes.sum(), totalFlushNanos.sum(), maxFlushNanos.get());
+    }
+
+    /**
+     * Stops accepting queued entries and flushes what is buffered. The writer notices within
+     * a second; this waits up to five.
+     * Entries recorded afterwards are written synchronously; a producer that queued an entry
+     * while this was draining sees {@code running} cleared and flushes the queue itself.
+     */
+    public void shutdown() {
+        running = false;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drainAndFlush();
+    }
+
+    private void drainAndFlush() {
+        List<Pending> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            flush(remaining);
+        }
+    }
+
+    private void drainLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Pending first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                if (mode == Mode.GROUP_COMMIT) {
+                    long deadline = System.nanoTime() + groupCommitNanos;
+                    long remaining;
+                    while (batch.size() < batchSize && (remaining = deadline - System.nanoTime()) > 0) {
+                        Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                        queue.drainTo(batch, batchSize - batch.size());
+                    }
+                } else {
+                    queue.drainTo(batch, batchSize - 1);
+                }
+            } catch (InterruptedException e) {
+                // Not expected: the thread is stopped through 'running'. Flush what was collected.
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        List<AuditEntry> entries = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            entries.add(pending.entry);
+        }
+        SQLException error = insert(entries);
+        for (Pending pending : batch) {
+            if (pending.done == null) {
+                continue;
+            }
+            if (error == null) {
+                pending.done.complete(null);
+            } else {
+                pending.done.completeExceptionally(error);
+            }
+        }
+    }
+
+    private void writeDirectly(List<AuditEntry> entries) {
+        SQLException error = null;
+        for (int from = 0; from < entries.size() && error == null; from += batchSize) {
+            error = insert(entries.subList(from, Math.min(from + batchSize, entries.size())));
+        }
+        if (error != null) {
+            throw new IllegalStateException("Unable to write audit log", error);
+        }
+    }
+
+    private SQLException insert(List<AuditEntry> entries) {
+        long start = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            auditLogDao.insertAll(conn, entries);
+            written.add(entries.size());
+            return null;
+        } catch (SQLException e) {
+            failed.add(entries.size());
+            log.error("Failed to write {} audit log rows", entries.size(), e);
+            for (AuditEntry entry : entries) {
+                log.error("Unwritten audit row: {}", snapshot(entry));
+            }
+            return e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            flushes.increment();
+            totalFlushNanos.add(elapsed);
+            maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    private void awaitAll(List<CompletableFuture<Void>> futures) {
+        if (futures.isEmpty()) {
+            return;
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Unable to write audit log", e.getCause());
+        } catch (TimeoutException e) {
+            log.warn("Audit log group commit did not complete within {} ms", waitTimeoutMillis);
+        }
+    }
+
+    private static final class Pending {
+        final AuditEntry entry;
+        final CompletableFuture<Void> done;
+
+        Pending(AuditEntry entry, CompletableFuture<Void> done) {
+            this.entry = entry;
+            this.done = done;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.expensemgmt.service;
+
+import com.expensemgmt.dao.BudgetDao;
+import com.expensemgmt.dao.UserDao;
+import com.expensemgmt.model.Budget;
+import com.expensemgmt.model.Expense;
+import com.expensemgmt.model.Notification;
+import com.expensemgmt.model.User;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keeps budget.spent in step with expense status changes. Approved and reimbursed
+ * expenses count against a budget; every other status does not. The counter is
+ * adjusted with a relative UPDATE on the caller's connection, so it commits or rolls
+ * back together with the status change and budgets never load their expenses.
+ */
+public class BudgetLedgerService {
+
+    private final BudgetDao budgetDao = new BudgetDao();
+    private final UserDao userDao = new UserDao();
+
+    public static boolean countsAgainstBudget(Expense.Status status) {
+        return status == Expense.Status.APPROVED || status == Expense.Status.REIMBURSED;
+    }
+
+    /**
+     * Applies the spend delta implied by moving {@code expense} from {@code from} to {@code to}.
+     * Must be called inside the transaction that persists the status change. Returns the
+     * BUDGET_ALERT notifications for budgets that crossed their alert threshold; hand them to
+     * {@link NotificationFanoutService} once the transaction has committed.
+     */
+    public List<Notification> applyStatusChange(Connection conn, Expense expense, Expense.Status from, Expense.Status to)
+            throws SQLException {
+        boolean before = countsAgainstBudget(from);
+        boolean after = countsAgainstBudget(to);
+        if (before == after || expense.getAmount() == null || expense.getExpenseDate() == null) {
+            return Collections.emptyList();
+        }
+        // Budgets are in the organization's currency; use the amount converted at approval when there is one
+        BigDecimal amount = expense.getReportingAmount() != null ? expense.getReportingAmount() : expense.getAmount();
+        BigDecimal delta = after ? amount : amount.negate();
+
+        List<Budget> budgets = budgetDao.findApplicableForUpdate(conn, expense.getOrganizationId(),
+                expense.getCategoryId(), expense.getExpenseDate());
+        if (budgets.isEmpty()) {
+            return Collections.emptyList();
+        }
+        budgetDao.addToSpent(conn, budgets, delta);
+
+        List<Budget> crossed = new ArrayList<>();
+        for (Budget budget : budgets) {
+            boolean wasNearLimit = budget.isNearLimit();
+            budget.applySpend(delta);
+            if (!wasNearLimit && budget.isNearLimit()) {
+                crossed.add(budget);
+            }
+        }
+        return crossed.isEmpty() ? Collections.<Notification>emptyList()
+                : budgetAlerts(conn, expense.getOrganizationId(), crossed);
+    }
+
+    private List<Notification> budgetAlerts(Connection conn, String organizationId, List<Budget> budgets) throws SQLException {
+        List<String> recipients = userDao.findActiveIdsByRoles(conn, organizationId,
+                User.Role.ADMIN, User.Role.MANAGER, User.Role.ACCOUNTANT);
+        List<Notification> notifications = new ArrayList<>(recipients.size() * budgets.size());
+        for (Budget budget : budgets) {
+            String message = "Budget '" + budget.getName() + "' has reached " +
+                    budget.getUtilizationPercentage().stripTrailingZeros().toPlainString() +
+                    "% of its allocated amount";
+            for (String userId : recipients) {
+                Notification notification = new Notification(null, userId, Notification.NotificationType.BUDGET_ALERT, message);
+                notification.setReferenceId(budget.getId());
+                notification.setReferenceType("BUDGET");
+                notifications.add(notification);
+            }
+        }
+        return notifications;
+    }
+}
@@ -0,0 +1,239 @@
+package com.expensemgmt.service;
+
+import com.expensemgmt.dao.ExpenseDao;
+import com.expensemgmt.dto.AuditEntry;
+import com.expensemgmt.dto.BulkApprovalResult;
+import com.expensemgmt.dto.BulkApprovalResult.Outcome;
+import com.expensemgmt.model.Expense;
+import com.expensemgmt.model.Notification;
+import com.expensemgmt.model.User;
+import com.expensemgmt.util.AppConfig;
+import com.expensemgmt.util.DatabaseConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Approves or rejects many pending expenses at once.
+ *
+ * Ids are processed in chunks of {@code approvals.bulk.chunkSize}, one transaction per
+ * chunk: the chunk is locked with one SELECT ... FOR UPDATE, decided with one batched
+ * UPDATE and its budget counters adjusted. Audit rows of committed chunks go to
+ * {@link AuditLogWriter} once every chunk is done, after the connections have gone back to
+ * the pool: a group commit needs a pool connection of its own to flush.
+ * Each UPDATE is guarded by status = 'PENDING' and the updated_at read under lock, and a
+ * caller-supplied updated_at must match too, so a decision is never applied to an expense
+ * that changed after the approver looked at it. Submitters and budget alert recipients are
+ * notified after commit through {@link NotificationFanoutService}.
+ */
+public class BulkApprovalService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkApprovalService.class);
+
+    public static final int MAX_ITEMS = AppConfig.getInt("approvals.bulk.maxItems", 1000);
+
+    private final int chunkSize = AppConfig.getInt("approvals.bulk.chunkSize", 200);
+
+    private final ExpenseDao expenseDao = new ExpenseDao();
+    private final AuditLogWriter auditLogWriter = AuditLogWriter.getInstance();
+    private final NotificationFanoutService notificationFanoutService = NotificationFanoutService.getInstance();
+    private final BudgetLedgerService budgetLedgerService = new BudgetLedgerService();
+    private final DashboardStatsService dashboardStatsService = DashboardStatsService.getInstance();
+    private final FxRateService fxRateService = FxRateService.getInstance();
+    private final DuplicateDetector duplicateDetector = DuplicateDetector.getInstance();
+
+    /**
+     * Applies {@code decision} (APPROVED or REJECTED) to each expense id. {@code expectedVersions}
+     * maps ids, in request order, to the updated_at the caller last saw, or null to skip that check.
+     */
+    public BulkApprovalResult decide(User actor, Expense.Status decision, String reason,
+                                     Map<String, Date> expectedVersions, String ipAddress, String userAgent) {
+        if (decision != Expense.Status.APPROVED && decision != Expense.Status.REJECTED) {
+            throw new IllegalArgumentException("Bulk decisions must be APPROVED or REJECTED, not " + decision);
+        }
+        if (decision == Expense.Status.REJECTED && (reason == null || reason.trim().isEmpty())) {
+            throw new IllegalArgumentException("A reason is required to reject expenses");
+        }
+        if (expectedVersions.size() > MAX_ITEMS) {
+            throw new IllegalArgumentException("At most " + MAX_ITEMS + " expenses can be decided at once");
+        }
+
+        BulkApprovalResult result = new BulkApprovalResult();
+        List<Expense> decided = new ArrayList<>();
+        List<Notification> budgetAlerts = new ArrayList<>();
+        List<AuditEntry> audit = new ArrayList<>();
+        List<String> ids = new ArrayList<>(expectedVersions.keySet());
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<String> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            decideChunk(actor, decision, reason, chunk, expectedVersions, ipAddress, userAgent, result, decided,
+                    budgetAlerts, audit);
+        }
+
+        if (!decided.isEmpty()) {
+            dashboardStatsService.invalidate(actor.getOrganizationId());
+            if (decision == Expense.Status.REJECTED) {
+                decided.forEach(duplicateDetector::remove);
+            }
+            List<Notification> notifications = submitterNotifications(decided);
+            notifications.addAll(budgetAlerts);
+            notificationFanoutService.send(notifications);
+            recordAudit(audit);
+        }
+        return result;
+    }
+
+    private void decideChunk(User actor, Expense.Status decision, String reason, List<String> ids,
+                             Map<String, Date> expectedVersions, String ipAddress, String userAgent,
+                             BulkApprovalResult result, List<Expense> decided, List<Notification> budgetAlerts,
+                             List<AuditEntry> audit) {
+        Outcome[] outcomes = new Outcome[ids.size()];
+        Date[] versions = new Date[ids.size()];
+        String[] messages = new String[ids.size()];
+        // Truncated to seconds so the returned version equals what DATETIME stores
+        Date now = new Date(System.currentTimeMillis() / 1000 * 1000);
+
+        List<Expense> toUpdate = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                Map<String, Expense> current = expenseDao.findByIdsForUpdate(conn, actor.getOrganizationId(), ids);
+                String reportingCurrency = decision == Expense.Status.APPROVED
+                        ? fxRateService.reportingCurrency(conn, actor.getOrganizationId()) : null;
+                List<Date> previousVersions = new ArrayList<>();
+                List<AuditEntry> auditEntries = new ArrayList<>();
+                for (int i = 0; i < ids.size(); i++) {
+                    Expense expense = current.get(ids.get(i));
+                    Date expected = expectedVersions.get(ids.get(i));
+                    if (expense == null) {
+                        outcomes[i] = Outcome.NOT_FOUND;
+                    } else if (actor.getId().equals(expense.getUserId())) {
+                        outcomes[i] = Outcome.FORBIDDEN;
+                        messages[i] = "Approvers cannot decide their own expenses";
+                    } else if (expense.getStatus() != Expense.Status.PENDING) {
+                        outcomes[i] = Outcome.NOT_PENDING;
+                        versions[i] = expense.getUpdatedAt();
+                        messages[i] = "Expense is " + expense.getStatus();
+                    } else if (expected != null && !sameSecond(expected, expense.getUpdatedAt())) {
+                        outcomes[i] = Outcome.CONFLICT;
+                        versions[i] = expense.getUpdatedAt();
+                        messages[i] = "Expense was modified after it was loaded";
+                    } else {
+                        Map<String, Object> before = snapshot(expense);
+                        previousVersions.add(expense.getUpdatedAt());
+                        expense.setStatus(decision);
+                        expense.setApprovedBy(actor.getId());
+                        if (decision == Expense.Status.APPROVED) {
+                            expense.setApprovalDate(now);
+                            fxRateService.applyReportingAmount(expense, reportingCurrency);
+                        } else {
+                            expense.setRejectionReason(reason);
+                        }
+                        expense.setUpdatedAt(now);
+                        AuditEntry entry = new AuditEntry("expense", expense.getId(), decision.name(),
+                                AuditLogWriter.snapshot(before), AuditLogWriter.snapshot(snapshot(expense)), actor.getId());
+                        entry.setIpAddress(ipAddress);
+                        entry.setUserAgent(userAgent);
+                        auditEntries.add(entry);
+                        toUpdate.add(expense);
+                        positions.add(i);
+                    }
+                }
+
+                int[] counts = expenseDao.updateDecisionBatch(conn, toUpdate, Expense.Status.PENDING, previousVersions, now);
+                List<Expense> applied = new ArrayList<>();
+                List<Integer> appliedPositions = new ArrayList<>();
+                List<AuditEntry> appliedAudit = new ArrayList<>();
+                for (int k = 0; k < toUpdate.size(); k++) {
+                    int i = positions.get(k);
+                    if (counts[k] == 0) {
+                        outcomes[i] = Outcome.CONFLICT;
+                        messages[i] = "Expense was modified concurrently";
+                    } else if (counts[k] > 0 || counts[k] == Statement.SUCCESS_NO_INFO) {
+                        applied.add(toUpdate.get(k));
+                        appliedPositions.add(i);
+                        appliedAudit.add(auditEntries.get(k));
+                    }
+                }
+                List<Notification> alerts = new ArrayList<>();
+                for (Expense expense : applied) {
+                    alerts.addAll(budgetLedgerService.applyStatusChange(conn, expense, Expense.Status.PENDING, decision));
+                }
+                conn.commit();
+                budgetAlerts.addAll(alerts);
+                audit.addAll(appliedAudit);
+
+                for (int i : appliedPositions) {
+                    outcomes[i] = decision == Expense.Status.APPROVED ? Outcome.APPROVED : Outcome.REJECTED;
+                    versions[i] = now;
+                }
+                decided.addAll(applied);
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.warn("Bulk decision failed for a chunk of {} expenses", ids.size(), e);
+            for (int i = 0; i < ids.size(); i++) {
+                if (outcomes[i] == null || positions.contains(i)) {
+                    outcomes[i] = Outcome.FAILED;
+                    versions[i] = null;
+                    messages[i] = e.getMessage();
+                }
+            }
+        }
+
+        for (int i = 0; i < ids.size(); i++) {
+            result.add(ids.get(i), outcomes[i], versions[i], messages[i]);
+        }
+    }
+
+    private void recordAudit(List<AuditEntry> entries) {
+        try {
+            auditLogWriter.record(entries);
+        } catch (RuntimeException e) {
+            // The decisions are committed; a failed audit write must not report them as failed
+            log.error("Audit rows for {} committed decisions could not be written", entries.size(), e);
+        }
+    }
+
+    private static List<Notification> submitterNotifications(List<Expense> expenses) {
+        List<Notification> notifications = new ArrayList<>(expenses.size());
+        for (Expense expense : expenses) {
+            boolean approved = expense.getStatus() == Expense.Status.APPROVED;
+            String message = "Your expense '" + expense.getTitle() + "' was " + (approved ? "approved" : "rejected")
+                    + (approved ? "" : ": " + expense.getRejectionReason());
+            Notification notification = new Notification(null, expense.getUserId(),
+                    approved ? Notification.NotificationType.EXPENSE_APPROVED : Notification.NotificationType.EXPENSE_REJECTED,
+                    message);
+            notification.setReferenceId(expense.getId());
+            notification.setReferenceType("EXPENSE");
+            notifications.add(notification);
+        }
+        return notifications;
+    }
+
+    private static Map<String, Object> snapshot(Expense expense) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("status", expense.getStatus());
+        values.put("approverId", expense.getApprovedBy());
+        values.put("approvedAt", expense.getApprovalDate());
+        values.put("rejectedReason", expense.getRejectionReason());
+        values.put("reportingAmount", expense.getReportingAmount());
+        values.put("reportingCurrency", expense.getReportingCurrency());
+        values.put("updatedAt", expense.getUpdatedAt());
+        return values;
+    }
+
+    private static boolean sameSecond(Date a, Date b) {
+        return b != null && a.getTime() / 1000 == b.getTime() / 1000;
+    }
+}
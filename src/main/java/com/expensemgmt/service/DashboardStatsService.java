@@ -0,0 +1,233 @@
+package com.expensemgmt.service;
+
+import com.expensemgmt.dao.DashboardStatsDao;
+import com.expensemgmt.dto.DashboardStats;
+import com.expensemgmt.model.Expense;
+import com.expensemgmt.model.Money;
+import com.expensemgmt.model.User;
+import com.expensemgmt.util.AppConfig;
+import com.expensemgmt.util.CacheMetrics;
+import com.expensemgmt.util.DatabaseConnection;
+import com.expensemgmt.util.ReadThroughCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computes dashboard figures with two aggregate queries and caches them per
+ * organization and role (per user for employees, who only see their own expenses).
+ * Amounts are grouped by currency and month and converted in memory into the
+ * organization's reporting currency with {@link FxRateService}; groups with no rate are
+ * left out of the amounts and counted in {@link DashboardStats#getUnconvertedCount()}.
+ * Entries live in a {@link ReadThroughCache} bounded by {@code dashboard.cache.maxEntries},
+ * expire after {@code dashboard.cache.ttlSeconds} and are dropped as soon as an expense in
+ * the organization changes.
+ */
+public class DashboardStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardStatsService.class);
+
+    private static final DashboardStatsService INSTANCE = new DashboardStatsService();
+
+    private static final int CHART_MONTHS = 6;
+    private static final DateTimeFormatter MONTH_LABEL = DateTimeFormatter.ofPattern("MMM yyyy", Locale.ENGLISH);
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+
+    private final DashboardStatsDao statsDao = new DashboardStatsDao();
+    private final FxRateService fxRateService = FxRateService.getInstance();
+    private final ReadThroughCache<Scope, DashboardStats> cache = new ReadThroughCache<>("dashboardStats",
+            AppConfig.getInt("dashboard.cache.maxEntries", 10000),
+            AppConfig.getLong("dashboard.cache.ttlSeconds", 60), TimeUnit.SECONDS,
+            scope -> load(scope.organizationId, scope.userId));
+
+    public static DashboardStatsService getInstance() {
+        return INSTANCE;
+    }
+
+    public DashboardStats getStats(User user) throws SQLException {
+        String userId = user.canViewAllExpenses() ? null : user.getId();
+        return cache.get(new Scope(user.getOrganizationId(), user.getRole(), userId));
+    }
+
+    /**
+     * Drops every cached dashboard of the organization. Call after any expense write.
+     */
+    public void invalidate(String organizationId) {
+        if (organizationId != null) {
+            cache.invalidateIf(scope -> organizationId.equals(scope.organizationId));
+        }
+    }
+
+    public CacheMetrics getMetrics() {
+        return cache.getMetrics();
+    }
+
+    private DashboardStats load(String organizationId, String userId) throws SQLException {
+        YearMonth currentMonth = YearMonth.now();
+        YearMonth firstMonth = currentMonth.minusMonths(CHART_MONTHS - 1);
+
+        String reportingCurrency;
+        List<DashboardStatsDao.AmountRow> byStatus;
+        List<DashboardStatsDao.AmountRow> byCategory;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            reportingCurrency = fxRateService.reportingCurrency(conn, organizationId);
+            byStatus = statsDao.amountsByStatus(conn, organizationId, userId);
+            byCategory = statsDao.amountsByCategory(conn, organizationId, userId);
+        }
+        // One snapshot for the whole aggregation, so every group is converted with the same rates
+        Converter converter = new Converter(fxRateService.current(), reportingCurrency);
+
+        Map<Expense.Status, Long> counts = new EnumMap<>(Expense.Status.class);
+        Money.Sum totalAmount = new Money.Sum(reportingCurrency);
+        Map<YearMonth, Money.Sum> byMonth = new HashMap<>();
+        long totalCount = 0;
+        long unconverted = 0;
+        for (DashboardStatsDao.AmountRow row : byStatus) {
+            counts.merge(Expense.Status.valueOf(row.getKey()), row.getCount(), Long::sum);
+            totalCount += row.getCount();
+            long amount = converter.convert(row);
+            if (amount == Converter.NO_RATE) {
+                unconverted += row.getCount();
+                continue;
+            }
+            totalAmount.add(amount);
+            if (!row.getMonth().isBefore(firstMonth)) {
+                byMonth.computeIfAbsent(row.getMonth(), k -> new Money.Sum(reportingCurrency)).add(amount);
+            }
+        }
+        Map<String, Money.Sum> categorySums = new HashMap<>();
+        for (DashboardStatsDao.AmountRow row : byCategory) {
+            long amount = converter.convert(row);
+            if (amount != Converter.NO_RATE) {
+                categorySums.computeIfAbsent(row.getKey(), k -> new Money.Sum(reportingCurrency)).add(amount);
+            }
+        }
+        if (unconverted > 0) {
+            log.warn("Dashboard for organization {} leaves out {} expenses with no FX rate into {}",
+                    organizationId, unconverted, reportingCurrency);
+        }
+
+        DashboardStats stats = new DashboardStats();
+        stats.setReportingCurrency(reportingCurrency);
+        stats.setUnconvertedCount(unconverted);
+        long approved = counts.getOrDefault(Expense.Status.APPROVED, 0L) + counts.getOrDefault(Expense.Status.REIMBURSED, 0L);
+        long rejected = counts.getOrDefault(Expense.Status.REJECTED, 0L);
+        stats.setPendingCount(counts.getOrDefault(Expense.Status.PENDING, 0L));
+        stats.setApprovedCount(approved);
+        stats.setRejectedCount(rejected);
+        stats.setTotalCount(totalCount);
+        stats.setTotalAmount(totalAmount.toBigDecimal());
+        if (approved + rejected > 0) {
+            stats.setApprovalRate(BigDecimal.valueOf(approved * 100)
+                    .divide(BigDecimal.valueOf(approved + rejected), 1, RoundingMode.HALF_UP));
+        }
+
+        BigDecimal zero = Money.zero(reportingCurrency).toBigDecimal();
+        Map<String, BigDecimal> monthly = new LinkedHashMap<>();
+        for (YearMonth month = firstMonth; !month.isAfter(currentMonth); month = month.plusMonths(1)) {
+            Money.Sum sum = byMonth.get(month);
+            monthly.put(MONTH_LABEL.format(month), sum != null ? sum.toBigDecimal() : zero);
+        }
+        Money.Sum thisMonthSum = byMonth.get(currentMonth);
+        Money.Sum lastMonthSum = byMonth.get(currentMonth.minusMonths(1));
+        BigDecimal thisMonth = thisMonthSum != null ? thisMonthSum.toBigDecimal() : zero;
+        BigDecimal lastMonth = lastMonthSum != null ? lastMonthSum.toBigDecimal() : zero;
+        stats.setThisMonthAmount(thisMonth);
+        if (lastMonth.signum() != 0) {
+            stats.setMonthChange(thisMonth.subtract(lastMonth).multiply(HUNDRED)
+                    .divide(lastMonth, 1, RoundingMode.HALF_UP));
+        }
+        stats.setMonthlyData(Collections.unmodifiableMap(monthly));
+
+        // Largest first, as the chart expects
+        List<Map.Entry<String, Money.Sum>> categories = new ArrayList<>(categorySums.entrySet());
+        categories.sort((a, b) -> Long.compare(b.getValue().getMinorUnits(), a.getValue().getMinorUnits()));
+        Map<String, BigDecimal> categoryData = new LinkedHashMap<>();
+        for (Map.Entry<String, Money.Sum> category : categories) {
+            categoryData.put(category.getKey(), category.getValue().toBigDecimal());
+        }
+        stats.setCategoryData(Collections.unmodifiableMap(categoryData));
+        return stats;
+    }
+
+    /**
+     * Converts aggregate groups into minor units of the reporting currency at the rate of each
+     * month's last day (today for the current month).
+     */
+    private static final class Converter {
+        static final long NO_RATE = Long.MIN_VALUE;
+
+        private final FxRateSnapshot rates;
+        private final String reportingCurrency;
+        private final LocalDate today = LocalDate.now();
+
+        Converter(FxRateSnapshot rates, String reportingCurrency) {
+            this.rates = rates;
+            this.reportingCurrency = reportingCurrency;
+        }
+
+        long convert(DashboardStatsDao.AmountRow row) {
+            String currency = row.getCurrency();
+            long minor = Money.toMinorUnits(row.getAmount(), Money.scaleOf(currency));
+            if (currency.equals(reportingCurrency)) {
+                return minor;
+            }
+            LocalDate monthEnd = row.getMonth().atEndOfMonth();
+            LocalDate rateDate = monthEnd.isAfter(today) ? today : monthEnd;
+            if (!rates.canConvert(currency, reportingCurrency, rateDate)) {
+                return NO_RATE;
+            }
+            return rates.convertMinorUnits(minor, currency, reportingCurrency, rateDate);
+        }
+    }
+
+    /**
+     * Cache key: one entry per organization and role, and per user for employees.
+     */
+    private static final class Scope {
+        private final String organizationId;
+        private final User.Role role;
+        private final String userId;
+
+        Scope(String organizationId, User.Role role, String userId) {
+            this.organizationId = organizationId;
+            this.role = role;
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Scope)) {
+                return false;
+            }
+            Scope other = (Scope) o;
+            return Objects.equals(organizationId, other.organizationId) && Objects.equals(role, other.role)
+                    && Objects.equals(userId, other.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(organizationId, role, userId);
+        }
+    }
+}
@@ -0,0 +1,440 @@
+package com.expensemgmt.service;
+
+import com.expensemgmt.dao.ExpenseDao;
+import com.expensemgmt.dao.ExpenseFilter;
+import com.expensemgmt.dto.DuplicateCheckResult;
+import com.expensemgmt.dto.DuplicateMatch;
+import com.expensemgmt.model.Expense;
+import com.expensemgmt.model.Money;
+import com.expensemgmt.util.AppConfig;
+import com.expensemgmt.util.CacheMetrics;
+import com.expensemgmt.util.Dates;
+import com.expensemgmt.util.ReadThroughCache;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flags expenses that look like re-submissions of earlier ones, without comparing pairs.
+ *
+ * Each expense is reduced to two 64-bit fingerprints: its receipt's content hash (receipt
+ * URLs are content-addressed, see {@link ReceiptStorageService}), and a charge key over
+ * submitter, amount in minor units, currency, store and expense day. Two expenses whose
+ * receipt fingerprints match, or whose charge keys match on the same day or a neighbouring
+ * one, are likely duplicates; the later one (higher id) is reported as a duplicate of the
+ * earlier. Fingerprints are hashes, so a match is a strong hint rather than proof.
+ *
+ * {@link #check(Expense)} probes an organization's fingerprint index with four lookups,
+ * whatever its history size. An index covers the organization's expenses dated within the
+ * last {@code duplicates.index.windowDays}, rejected ones excluded. Indexes are kept in a
+ * {@link ReadThroughCache} and built on a background thread: on first use, check reports
+ * the index as not ready until it is built, and an index in use is rebuilt every
+ * {@code duplicates.index.refreshMinutes} to pick up rows written elsewhere, while the old
+ * one keeps serving. {@link #register(Expense)} and {@link #remove(Expense)} keep loaded
+ * indexes current in between. {@link #scan(String)} checks an organization's whole history
+ * on a fork/join pool.
+ */
+public class DuplicateDetector {
+
+    private static final DuplicateDetector INSTANCE = new DuplicateDetector(new ExpenseDao());
+
+    // Ranges at or below this size are handled by one task
+    private static final int SCAN_LEAF_SIZE = 4096;
+    private static final int DAY_TOLERANCE = 1;
+    private static final long NONE = 0L;
+
+    private final ExpenseDao expenseDao;
+    private final int windowDays = AppConfig.getInt("duplicates.index.windowDays", 180);
+    private final ExecutorService indexBuilder;
+    private final ReadThroughCache<String, FingerprintIndex> indexes;
+    private final ForkJoinPool scanPool;
+
+    public DuplicateDetector(ExpenseDao expenseDao) {
+        this.expenseDao = expenseDao;
+        this.indexBuilder = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "duplicate-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.indexes = new ReadThroughCache<>("duplicateIndex",
+                AppConfig.getInt("duplicates.index.maxOrganizations", 200),
+                AppConfig.getLong("duplicates.index.ttlMinutes", 60),
+                AppConfig.getLong("duplicates.index.refreshMinutes", 45), TimeUnit.MINUTES,
+                this::buildIndex, indexBuilder);
+        int parallelism = AppConfig.getInt("duplicates.scan.parallelism", 0);
+        this.scanPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    public static DuplicateDetector getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Earlier expenses of the same organization that {@code expense} appears to duplicate.
+     * Works for expenses that have not been saved yet; an expense never matches itself.
+     * Not ready, with no matches, while the organization's index is still being built.
+     */
+    public DuplicateCheckResult check(Expense expense) {
+        if (expense.getOrganizationId() == null) {
+            return new DuplicateCheckResult(true, Collections.emptyList());
+        }
+        FingerprintIndex index = indexes.getNow(expense.getOrganizationId());
+        return index != null ? new DuplicateCheckResult(true, index.matches(Fingerprint.of(expense), false))
+                : DuplicateCheckResult.notReady();
+    }
+
+    /**
+     * Adds a stored expense to its organization's index, if that index is loaded. Call after
+     * insert and after any status change other than a rejection; rejected expenses are ignored.
+     */
+    public void register(Expense expense) {
+        if (expense.getOrganizationId() == null || expense.getId() == null
+                || expense.getStatus() == Expense.Status.REJECTED) {
+            return;
+        }
+        FingerprintIndex index = indexes.getIfPresent(expense.getOrganizationId());
+        if (index != null) {
+            index.add(Fingerprint.of(expense));
+        }
+    }
+
+    /**
+     * Drops an expense from its organization's index, if that index is loaded. Call after the
+     * expense is rejected or deleted, so a corrected resubmission is not flagged against it.
+     */
+    public void remove(Expense expense) {
+        if (expense.getOrganizationId() == null || expense.getId() == null) {
+            return;
+        }
+        FingerprintIndex index = indexes.getIfPresent(expense.getOrganizationId());
+        if (index != null) {
+            index.remove(Fingerprint.of(expense));
+        }
+    }
+
+    /**
+     * Every likely duplicate in the organization's history, rejected expenses excluded, each
+     * pair reported once with the later expense as the duplicate. Streams the organization's
+     * expenses once, then indexes and probes them in parallel; the cached index is left untouched.
+     */
+    public List<DuplicateMatch> scan(String organizationId) throws SQLException {
+        List<Fingerprint> fingerprints = loadFingerprints(organizationId, null);
+        FingerprintIndex index = new FingerprintIndex();
+        scanPool.invoke(new IndexTask(index, fingerprints, 0, fingerprints.size()));
+        return scanPool.invoke(new ProbeTask(index, fingerprints, 0, fingerprints.size()));
+    }
+
+    public void invalidate(String organizationId) {
+        indexes.invalidate(organizationId);
+    }
+
+    public CacheMetrics getMetrics() {
+        return indexes.getMetrics();
+    }
+
+    public void shutdown() {
+        indexBuilder.shutdownNow();
+        scanPool.shutdownNow();
+    }
+
+    private FingerprintIndex buildIndex(String organizationId) throws SQLException {
+        // One day of slack so expenses at the window's edge still see their neighbours
+        LocalDate from = LocalDate.now().minusDays(windowDays + DAY_TOLERANCE);
+        FingerprintIndex index = new FingerprintIndex();
+        for (Fingerprint fingerprint : loadFingerprints(organizationId, from)) {
+            index.add(fingerprint);
+        }
+        return index;
+    }
+
+    // Non-rejected expenses dated on or after fromDate, or all of them when it is null
+    private List<Fingerprint> loadFingerprints(String organizationId, LocalDate fromDate) throws SQLException {
+        ExpenseFilter filter = new ExpenseFilter();
+        filter.setOrganizationId(organizationId);
+        filter.setExcludedStatus(Expense.Status.REJECTED);
+        filter.setFromDate(fromDate);
+        List<Fingerprint> fingerprints = new ArrayList<>();
+        try {
+            expenseDao.streamAll(filter, expense -> fingerprints.add(Fingerprint.of(expense)));
+        } catch (IOException e) {
+            // The handler only collects into memory
+            throw new IllegalStateException(e);
+        }
+        return fingerprints;
+    }
+
+    /**
+     * Content hash of a content-addressed receipt URL ({@code /receipts/<sha256>.<ext>}),
+     * or the URL itself for receipts stored elsewhere. Null without a receipt.
+     */
+    static String receiptHashOf(String receiptUrl) {
+        if (receiptUrl == null || receiptUrl.isEmpty()) {
+            return null;
+        }
+        String name = receiptUrl.substring(receiptUrl.lastIndexOf('/') + 1);
+        int dot = name.indexOf('.');
+        return dot > 0 ? name.substring(0, dot).toLowerCase(Locale.ROOT) : receiptUrl;
+    }
+
+    static long epochDay(Date date) {
+        return Dates.toLocalDate(date).toEpochDay();
+    }
+
+    // 64-bit FNV-1a
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer, so neighbouring days land in unrelated buckets
+    static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * The fingerprints of one expense. A missing field leaves the corresponding key at NONE.
+     */
+    static final class Fingerprint {
+        final String id;
+        final long receiptKey;
+        // Charge key without the day; combined with a day by chargeKey(long)
+        final long chargeBase;
+        final long epochDay;
+
+        private Fingerprint(String id, long receiptKey, long chargeBase, long epochDay) {
+            this.id = id;
+            this.receiptKey = receiptKey;
+            this.chargeBase = chargeBase;
+            this.epochDay = epochDay;
+        }
+
+        static Fingerprint of(Expense expense) {
+            String receipt = receiptHashOf(expense.getReceiptUrl());
+            long receiptKey = receipt != null ? nonZero(hash(receipt)) : NONE;
+            long chargeBase = NONE;
+            long day = 0;
+            if (expense.getUserId() != null && expense.getAmount() != null && expense.getExpenseDate() != null) {
+                // Minor units at the currency's scale, so 12.5 and 12.50 agree
+                String currency = expense.getCurrency() != null ? expense.getCurrency().toUpperCase(Locale.ROOT) : null;
+                Money money = Money.of(expense.getAmount(), currency);
+                chargeBase = nonZero(hash(expense.getUserId() + '|' + money.getCurrency() + '|' + money.getMinorUnits()
+                        + '|' + (expense.getStoreId() != null ? expense.getStoreId() : "")));
+                day = epochDay(expense.getExpenseDate());
+            }
+            return new Fingerprint(expense.getId(), receiptKey, chargeBase, day);
+        }
+
+        boolean hasCharge() {
+            return chargeBase != NONE;
+        }
+
+        long chargeKey(long day) {
+            return nonZero(mix(chargeBase ^ mix(day)));
+        }
+
+        private static long nonZero(long key) {
+            return key == NONE ? 1 : key;
+        }
+    }
+
+    /**
+     * Fingerprint to expense ids, for one organization. Safe for concurrent adds and lookups.
+     */
+    static final class FingerprintIndex {
+        private final ConcurrentHashMap<Long, String[]> byReceipt = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<Long, String[]> byCharge = new ConcurrentHashMap<>();
+
+        void add(Fingerprint fingerprint) {
+            if (fingerprint.id == null) {
+                return;
+            }
+            if (fingerprint.receiptKey != NONE) {
+                put(byReceipt, fingerprint.receiptKey, fingerprint.id);
+            }
+            if (fingerprint.hasCharge()) {
+                put(byCharge, fingerprint.chargeKey(fingerprint.epochDay), fingerprint.id);
+            }
+        }
+
+        void remove(Fingerprint fingerprint) {
+            if (fingerprint.id == null) {
+                return;
+            }
+            if (fingerprint.receiptKey != NONE) {
+                delete(byReceipt, fingerprint.receiptKey, fingerprint.id);
+            }
+            if (fingerprint.hasCharge()) {
+                delete(byCharge, fingerprint.chargeKey(fingerprint.epochDay), fingerprint.id);
+            }
+        }
+
+        /**
+         * Expenses sharing a fingerprint with {@code fingerprint}, receipt matches first. With
+         * {@code earlierOnly}, only those with a lower id, so a full scan reports each pair once.
+         */
+        List<DuplicateMatch> matches(Fingerprint fingerprint, boolean earlierOnly) {
+            Map<String, DuplicateMatch.Reason> found = new LinkedHashMap<>();
+            if (fingerprint.receiptKey != NONE) {
+                collect(found, byReceipt.get(fingerprint.receiptKey), fingerprint.id, earlierOnly,
+                        DuplicateMatch.Reason.SAME_RECEIPT);
+            }
+            if (fingerprint.hasCharge()) {
+                for (long day = fingerprint.epochDay - DAY_TOLERANCE; day <= fingerprint.epochDay + DAY_TOLERANCE; day++) {
+                    collect(found, byCharge.get(fingerprint.chargeKey(day)), fingerprint.id, earlierOnly,
+                            DuplicateMatch.Reason.SAME_CHARGE);
+                }
+            }
+            if (found.isEmpty()) {
+                return Collections.emptyList();
+            }
+            List<DuplicateMatch> matches = new ArrayList<>(found.size());
+            for (Map.Entry<String, DuplicateMatch.Reason> entry : found.entrySet()) {
+                matches.add(new DuplicateMatch(fingerprint.id, entry.getKey(), entry.getValue()));
+            }
+            return matches;
+        }
+
+        private static void put(ConcurrentHashMap<Long, String[]> map, long key, String id) {
+            map.merge(key, new String[]{id}, (existing, added) -> {
+                for (String present : existing) {
+                    if (present.equals(id)) {
+                        return existing;
+                    }
+                }
+                String[] grown = new String[existing.length + 1];
+                System.arraycopy(existing, 0, grown, 0, existing.length);
+                grown[existing.length] = id;
+                return grown;
+            });
+        }
+
+        private static void delete(ConcurrentHashMap<Long, String[]> map, long key, String id) {
+            map.computeIfPresent(key, (k, existing) -> {
+                for (int i = 0; i < existing.length; i++) {
+                    if (existing[i].equals(id)) {
+                        if (existing.length == 1) {
+                            return null;
+                        }
+                        String[] shrunk = new String[existing.length - 1];
+                        System.arraycopy(existing, 0, shrunk, 0, i);
+                        System.arraycopy(existing, i + 1, shrunk, i, existing.length - i - 1);
+                        return shrunk;
+                    }
+                }
+                return existing;
+            });
+        }
+
+        private static void collect(Map<String, DuplicateMatch.Reason> found, String[] ids, String selfId,
+                                    boolean earlierOnly, DuplicateMatch.Reason reason) {
+            if (ids == null) {
+                return;
+            }
+            for (String id : ids) {
+                if (id.equals(selfId) || (earlierOnly && !isEarlier(id, selfId))) {
+                    continue;
+                }
+                found.putIfAbsent(id, reason);
+            }
+        }
+
+        // Ids are AUTO_INCREMENT values, so a lower id was stored first
+        private static boolean isEarlier(String id, String selfId) {
+            return Long.parseLong(id) < Long.parseLong(selfId);
+        }
+    }
+
+    private static final class IndexTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final FingerprintIndex index;
+        private final List<Fingerprint> fingerprints;
+        private final int from;
+        private final int to;
+
+        IndexTask(FingerprintIndex index, List<Fingerprint> fingerprints, int from, int to) {
+            this.index = index;
+            this.fingerprints = fingerprints;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SCAN_LEAF_SIZE) {
+                for (int i = from; i < to; i++) {
+                    index.add(fingerprints.get(i));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new IndexTask(index, fingerprints, from, mid), new IndexTask(index, fingerprints, mid, to));
+        }
+    }
+
+    private static final class ProbeTask extends RecursiveTask<List<DuplicateMatch>> {
+        private static final long serialVersionUID = 1L;
+
+        private final FingerprintIndex index;
+        private final List<Fingerprint> fingerprints;
+        private final int from;
+        private final int to;
+
+        ProbeTask(FingerprintIndex index, List<Fingerprint> fingerprints, int from, int to) {
+            this.index = index;
+            this.fingerprints = fingerprints;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<DuplicateMatch> compute() {
+            if (to - from <= SCAN_LEAF_SIZE) {
+                List<DuplicateMatch> matches = new ArrayList<>();
+                for (int i = from; i < to; i++) {
+                    matches.addAll(index.matches(fingerprints.get(i), true));
+                }
+                return matches;
+            }
+            int mid = (from + to) >>> 1;
+            ProbeTask left = new ProbeTask(index, fingerprints, from, mid);
+            left.fork();
+            List<DuplicateMatch> right = new ProbeTask(index, fingerprints, mid, to).compute();
+            List<DuplicateMatch> matches = left.join();
+            return concat(matches, right);
+        }
+
+        private static List<DuplicateMatch> concat(List<DuplicateMatch> first, Collection<DuplicateMatch> second) {
+            if (second.isEmpty()) {
+                return first;
+            }
+            List<DuplicateMatch> all = new ArrayList<>(first.size() + second.size());
+            all.addAll(first);
+            all.addAll(second);
+            return all;
+        }
+    }
+}
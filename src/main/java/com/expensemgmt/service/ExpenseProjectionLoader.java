@@ -0,0 +1,97 @@
+package com.expensemgmt.service;
+
+import com.expensemgmt.dao.CategoryDao;
+import com.expensemgmt.dao.ExpenseDao;
+import com.expensemgmt.dao.ExpenseFilter;
+import com.expensemgmt.dao.StoreDao;
+import com.expensemgmt.dao.UserDao;
+import com.expensemgmt.dto.ExpenseView;
+import com.expensemgmt.model.Expense;
+import com.expensemgmt.model.User;
+import com.expensemgmt.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns pages of expenses into {@link ExpenseView}s. The users (submitters and approvers),
+ * categories and stores referenced by the whole page are resolved with one IN query per
+ * table on a single connection, so a page costs the same number of queries however many
+ * rows it has.
+ */
+public class ExpenseProjectionLoader {
+
+    private final ExpenseDao expenseDao = new ExpenseDao();
+    private final UserDao userDao = new UserDao();
+    private final CategoryDao categoryDao = new CategoryDao();
+    private final StoreDao storeDao = new StoreDao();
+
+    /**
+     * The newest {@code limit} expenses the user may see: the organization's for managers
+     * and above, their own otherwise.
+     */
+    public List<ExpenseView> findRecent(User user, int limit) throws SQLException {
+        ExpenseFilter filter = new ExpenseFilter();
+        filter.setOrganizationId(user.getOrganizationId());
+        if (!user.canViewAllExpenses()) {
+            filter.setUserId(user.getId());
+        }
+        List<Expense> expenses = expenseDao.findPage(filter, null, limit);
+        // findPage reads one row past the limit to detect a next page
+        return load(expenses.size() > limit ? expenses.subList(0, limit) : expenses);
+    }
+
+    public List<ExpenseView> load(List<Expense> expenses) throws SQLException {
+        if (expenses.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<String> userIds = new HashSet<>();
+        Set<String> categoryIds = new HashSet<>();
+        Set<String> storeIds = new HashSet<>();
+        for (Expense expense : expenses) {
+            addIfPresent(userIds, expense.getUserId());
+            addIfPresent(userIds, expense.getApprovedBy());
+            addIfPresent(categoryIds, expense.getCategoryId());
+            addIfPresent(storeIds, expense.getStoreId());
+        }
+
+        Map<String, String> userNames = Collections.emptyMap();
+        Map<String, String> categoryNames = Collections.emptyMap();
+        Map<String, String> storeNames = Collections.emptyMap();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            if (!userIds.isEmpty()) {
+                userNames = userDao.findNamesByIds(conn, userIds);
+            }
+            if (!categoryIds.isEmpty()) {
+                categoryNames = categoryDao.findNamesByIds(conn, categoryIds);
+            }
+            if (!storeIds.isEmpty()) {
+                storeNames = storeDao.findNamesByIds(conn, storeIds);
+            }
+        }
+
+        List<ExpenseView> views = new ArrayList<>(expenses.size());
+        for (Expense expense : expenses) {
+            views.add(new ExpenseView(expense, nameOf(userNames, expense.getUserId()),
+                    nameOf(userNames, expense.getApprovedBy()), nameOf(categoryNames, expense.getCategoryId()),
+                    nameOf(storeNames, expense.getStoreId())));
+        }
+        return views;
+    }
+
+    private static void addIfPresent(Set<String> ids, String id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    private static String nameOf(Map<String, String> names, String id) {
+        return id != null ? names.get(id) : null;
+    }
+}
@@ -0,0 +1,257 @@
+package com.expensemgmt.service;
+
+import com.expensemgmt.dao.ExpenseDao;
+import com.expensemgmt.dao.OrganizationDao;
+import com.expensemgmt.dao.UserDao;
+import com.expensemgmt.util.DatabaseConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Enforces each organization's {@code max_expenses_per_month} and {@code max_users} from
+ * in-memory counters, so a check at submission time is a map lookup and a compare-and-set
+ * rather than a COUNT over the organization's expenses.
+ *
+ * Counters are seeded from one grouped COUNT per table ({@link #reconcile()} at startup) and
+ * corrected by the same pass on a schedule; an organization first seen between passes is
+ * loaded on demand. Expense counts are kept per calendar month of {@code created_at}, so a
+ * new month starts from zero without a reset job.
+ *
+ * Callers reserve capacity before writing and then commit or release it. Reserved but
+ * uncommitted units count against the limit, so concurrent submissions cannot together
+ * overshoot it, and reconciliation keeps them on top of the database count. A row written
+ * while a pass is counting may briefly be counted twice; that errs towards enforcing the
+ * limit and is corrected by the next pass.
+ */
+public class ExpenseQuotaService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseQuotaService.class);
+
+    private static final ExpenseQuotaService INSTANCE = new ExpenseQuotaService();
+
+    static final long UNLIMITED = -1;
+
+    private final ExpenseDao expenseDao = new ExpenseDao();
+    private final OrganizationDao organizationDao = new OrganizationDao();
+    private final UserDao userDao = new UserDao();
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final ConcurrentHashMap<String, OrganizationQuota> quotas = new ConcurrentHashMap<>();
+
+    public static ExpenseQuotaService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Reserves {@code count} expenses against the organization's limit for the current month.
+     * Throws {@link IllegalStateException} when that would exceed the limit.
+     */
+    public Reservation reserveExpenses(String organizationId, int count) throws SQLException {
+        YearMonth month = YearMonth.now(zone);
+        OrganizationQuota quota = quota(organizationId);
+        Counter counter = quota.month(month);
+        long limit = quota.maxExpensesPerMonth;
+        if (!counter.tryReserve(count, limit)) {
+            throw new IllegalStateException("Organization " + organizationId + " has reached its limit of " +
+                    limit + " expenses for " + month);
+        }
+        return new Reservation(counter, count);
+    }
+
+    /**
+     * Reserves one active user against the organization's limit.
+     * Throws {@link IllegalStateException} when the organization is full.
+     */
+    public Reservation reserveUser(String organizationId) throws SQLException {
+        OrganizationQuota quota = quota(organizationId);
+        long limit = quota.maxUsers;
+        if (!quota.activeUsers.tryReserve(1, limit)) {
+            throw new IllegalStateException("Organization " + organizationId + " has reached its limit of " +
+                    limit + " users");
+        }
+        return new Reservation(quota.activeUsers, 1);
+    }
+
+    public boolean hasReachedExpenseLimit(String organizationId) throws SQLException {
+        OrganizationQuota quota = quota(organizationId);
+        long limit = quota.maxExpensesPerMonth;
+        return limit != UNLIMITED && quota.month(YearMonth.now(zone)).used.get() >= limit;
+    }
+
+    public long getCurrentMonthExpenseCount(String organizationId) throws SQLException {
+        return quota(organizationId).month(YearMonth.now(zone)).used.get();
+    }
+
+    public boolean hasReachedUserLimit(String organizationId) throws SQLException {
+        OrganizationQuota quota = quota(organizationId);
+        long limit = quota.maxUsers;
+        return limit != UNLIMITED && quota.activeUsers.used.get() >= limit;
+    }
+
+    /**
+     * Reloads every organization's limits and counts with one query per table and resets the
+     * counters to them, keeping outstanding reservations. Earlier months are dropped once idle.
+     */
+    public void reconcile() throws SQLException {
+        YearMonth month = YearMonth.now(zone);
+        Map<String, OrganizationDao.QuotaLimits> limits;
+        Map<String, Long> expenseCounts;
+        Map<String, Long> userCounts;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            limits = organizationDao.findQuotaLimits(conn, null);
+            expenseCounts = countExpenses(conn, null, month);
+            userCounts = userDao.countActiveByOrganization(conn, null);
+        }
+        for (Map.Entry<String, OrganizationDao.QuotaLimits> entry : limits.entrySet()) {
+            String organizationId = entry.getKey();
+            quotas.computeIfAbsent(organizationId, k -> new OrganizationQuota())
+                    .reset(entry.getValue(), month, expenseCounts.getOrDefault(organizationId, 0L),
+                            userCounts.getOrDefault(organizationId, 0L));
+        }
+        quotas.keySet().retainAll(limits.keySet());
+        log.debug("Reconciled expense quotas for {} organizations", limits.size());
+    }
+
+    /**
+     * {@link #reconcile()} for scheduled use: failures are logged and the counters keep running.
+     */
+    public void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (SQLException | RuntimeException e) {
+            log.error("Expense quota reconciliation failed", e);
+        }
+    }
+
+    /**
+     * Drops the organization's counters so its limits and counts are reloaded on next use,
+     * e.g. after its subscription plan changes.
+     */
+    public void invalidate(String organizationId) {
+        quotas.remove(organizationId);
+    }
+
+    private OrganizationQuota quota(String organizationId) throws SQLException {
+        OrganizationQuota quota = quotas.get(organizationId);
+        if (quota != null) {
+            return quota;
+        }
+        YearMonth month = YearMonth.now(zone);
+        OrganizationQuota loaded = new OrganizationQuota();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            OrganizationDao.QuotaLimits limits = organizationDao.findQuotaLimits(conn, organizationId)
+                    .getOrDefault(organizationId, new OrganizationDao.QuotaLimits(null, null));
+            loaded.reset(limits, month, countExpenses(conn, organizationId, month).getOrDefault(organizationId, 0L),
+                    userDao.countActiveByOrganization(conn, organizationId).getOrDefault(organizationId, 0L));
+        }
+        // Another thread may have loaded it meanwhile; keep whichever got there first
+        quota = quotas.putIfAbsent(organizationId, loaded);
+        return quota != null ? quota : loaded;
+    }
+
+    private Map<String, Long> countExpenses(Connection conn, String organizationId, YearMonth month)
+            throws SQLException {
+        Date from = Date.from(month.atDay(1).atStartOfDay(zone).toInstant());
+        Date to = Date.from(month.plusMonths(1).atDay(1).atStartOfDay(zone).toInstant());
+        return expenseDao.countCreatedByOrganization(conn, organizationId, from, to);
+    }
+
+    /**
+     * Capacity held for a pending write. {@link #commit(int)} once the rows are stored;
+     * closing without committing hands everything back.
+     */
+    public static final class Reservation implements AutoCloseable {
+        private final Counter counter;
+        private final int count;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Reservation(Counter counter, int count) {
+            this.counter = counter;
+            this.count = count;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * Keeps {@code stored} of the reserved units and releases the rest.
+         */
+        public void commit(int stored) {
+            if (done.compareAndSet(false, true)) {
+                int kept = Math.max(0, Math.min(stored, count));
+                counter.settle(count, count - kept);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (done.compareAndSet(false, true)) {
+                counter.settle(count, count);
+            }
+        }
+    }
+
+    private static final class OrganizationQuota {
+        volatile long maxExpensesPerMonth = UNLIMITED;
+        volatile long maxUsers = UNLIMITED;
+        final ConcurrentHashMap<YearMonth, Counter> months = new ConcurrentHashMap<>();
+        final Counter activeUsers = new Counter();
+
+        Counter month(YearMonth month) {
+            return months.computeIfAbsent(month, k -> new Counter());
+        }
+
+        void reset(OrganizationDao.QuotaLimits limits, YearMonth month, long expenseCount, long userCount) {
+            maxExpensesPerMonth = limits.getMaxExpensesPerMonth() != null ? limits.getMaxExpensesPerMonth() : UNLIMITED;
+            maxUsers = limits.getMaxUsers() != null ? limits.getMaxUsers() : UNLIMITED;
+            month(month).reset(expenseCount);
+            activeUsers.reset(userCount);
+            months.entrySet().removeIf(e -> e.getKey().isBefore(month) && e.getValue().pending.get() == 0);
+        }
+    }
+
+    /**
+     * {@code used} is stored plus reserved units; {@code pending} is the reserved part, which
+     * a reset adds back on top of the database count.
+     */
+    static final class Counter {
+        final AtomicLong used = new AtomicLong();
+        final AtomicLong pending = new AtomicLong();
+
+        boolean tryReserve(int count, long limit) {
+            // Publish the reservation before taking it so a concurrent reset cannot drop it
+            pending.addAndGet(count);
+            while (true) {
+                long current = used.get();
+                if (limit != UNLIMITED && current + count > limit) {
+                    pending.addAndGet(-count);
+                    return false;
+                }
+                if (used.compareAndSet(current, current + count)) {
+                    return true;
+                }
+            }
+        }
+
+        void settle(int reserved, int released) {
+            pending.addAndGet(-reserved);
+            if (released > 0) {
+                used.addAndGet(-released);
+            }
+        }
+
+        void reset(long stored) {
+            used.set(stored + pending.get());
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.expensemgmt.service;
+
+import com.expensemgmt.dao.ExpenseFilter;
+import com.expensemgmt.dao.ExpenseSearchDao;
+import com.expensemgmt.dto.ExpenseSearchResult;
+import com.expensemgmt.dto.ExpenseView;
+import com.expensemgmt.model.Expense;
+import com.expensemgmt.util.AppConfig;
+import com.expensemgmt.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Ranked search over expense titles, descriptions and store names, backed by the ngram
+ * FULLTEXT indexes rather than {@code LIKE '%term%'} scans.
+ *
+ * Every term must match, as a prefix, in the title or description. Expenses at a store
+ * whose name matches all terms are included too, and boosted. Searches are always scoped to
+ * one organization.
+ *
+ * When both passes find nothing and {@code search.fuzzy.enabled} is set, a natural-language
+ * match is tried at a lower weight; sharing most n-grams with the query is enough, so
+ * misspellings still find something. MySQL resolves that match against the whole ngram
+ * index, across every organization, before the organization filter applies, so it only
+ * runs as a last resort and only with terms of at least {@code search.fuzzy.minTermLength}
+ * characters; shorter terms consist of n-grams common enough to match most rows.
+ */
+public class ExpenseSearchService {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private static final double FUZZY_WEIGHT = 0.5;
+    private static final double STORE_MATCH_BOOST = 1.0;
+    private static final int MAX_TERMS = 10;
+    // Boolean-mode operators; stripped so user input is only ever matched as words
+    private static final String OPERATORS = "+-<>()~*\"@";
+
+    private final ExpenseSearchDao searchDao = new ExpenseSearchDao();
+    private final ExpenseProjectionLoader projectionLoader = new ExpenseProjectionLoader();
+    private final boolean fuzzyEnabled = AppConfig.getBoolean("search.fuzzy.enabled", true);
+    private final int fuzzyMinTermLength = AppConfig.getInt("search.fuzzy.minTermLength", 4);
+
+    /**
+     * Up to {@code limit} matches for {@code query} within {@code filter}, best first; ties
+     * go to the newest expense. The filter must name an organization.
+     */
+    public List<ExpenseSearchResult> search(ExpenseFilter filter, String query, int limit) throws SQLException {
+        if (filter.getOrganizationId() == null) {
+            throw new IllegalArgumentException("organizationId is required for search");
+        }
+        List<String> terms = parseTerms(query);
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search query has no searchable terms");
+        }
+        int size = limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        String booleanQuery = toBooleanQuery(terms);
+
+        Map<String, ExpenseSearchDao.Hit> hits = new LinkedHashMap<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            for (ExpenseSearchDao.Hit hit : searchDao.findByText(conn, filter, booleanQuery, size)) {
+                hits.put(hit.getExpense().getId(), hit);
+            }
+            List<String> storeIds = searchDao.findStoreIds(conn, filter.getOrganizationId(), booleanQuery);
+            for (ExpenseSearchDao.Hit hit : searchDao.findByStores(conn, filter, storeIds, size)) {
+                merge(hits, hit.getExpense(), STORE_MATCH_BOOST);
+            }
+            String fuzzyText = fuzzyEnabled && hits.isEmpty() ? toFuzzyText(terms, fuzzyMinTermLength) : "";
+            if (!fuzzyText.isEmpty()) {
+                for (ExpenseSearchDao.Hit hit : searchDao.findByTextFuzzy(conn, filter, fuzzyText, size)) {
+                    merge(hits, hit.getExpense(), hit.getScore() * FUZZY_WEIGHT);
+                }
+            }
+        }
+
+        List<ExpenseSearchDao.Hit> ranked = new ArrayList<>(hits.values());
+        ranked.sort(Comparator.comparingDouble(ExpenseSearchDao.Hit::getScore).reversed()
+                .thenComparing(hit -> hit.getExpense().getExpenseDate(), Comparator.nullsLast(Comparator.reverseOrder())));
+        if (ranked.size() > size) {
+            ranked = ranked.subList(0, size);
+        }
+
+        List<Expense> expenses = new ArrayList<>(ranked.size());
+        for (ExpenseSearchDao.Hit hit : ranked) {
+            expenses.add(hit.getExpense());
+        }
+        List<ExpenseView> views = projectionLoader.load(expenses);
+        List<ExpenseSearchResult> results = new ArrayList<>(views.size());
+        for (int i = 0; i < views.size(); i++) {
+            results.add(new ExpenseSearchResult(views.get(i), ranked.get(i).getScore()));
+        }
+        return results;
+    }
+
+    // Adds score to an existing hit, or records the expense with that score
+    private static void merge(Map<String, ExpenseSearchDao.Hit> hits, Expense expense, double score) {
+        ExpenseSearchDao.Hit existing = hits.get(expense.getId());
+        hits.put(expense.getId(), existing == null ? new ExpenseSearchDao.Hit(expense, score)
+                : new ExpenseSearchDao.Hit(existing.getExpense(), existing.getScore() + score));
+    }
+
+    static List<String> parseTerms(String query) {
+        if (query == null) {
+            return Collections.emptyList();
+        }
+        StringBuilder cleaned = new StringBuilder(query.length());
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            cleaned.append(OPERATORS.indexOf(c) >= 0 ? ' ' : c);
+        }
+        List<String> terms = new ArrayList<>();
+        for (String term : cleaned.toString().trim().toLowerCase(Locale.ROOT).split("\\s+")) {
+            if (!term.isEmpty() && !terms.contains(term) && terms.size() < MAX_TERMS) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    // Terms long enough for a selective natural-language match; empty when there are none
+    static String toFuzzyText(List<String> terms, int minLength) {
+        StringBuilder text = new StringBuilder();
+        for (String term : terms) {
+            if (term.codePointCount(0, term.length()) >= minLength) {
+                if (text.length() > 0) {
+                    text.append(' ');
+                }
+                text.append(term);
+            }
+        }
+        return text.toString();
+    }
+
+    // "+term*" per term: all required, each matched as a prefix
+    static String toBooleanQuery(List<String> terms) {
+        StringBuilder query = new StringBuilder();
+        for (String term : terms) {
+            if (query.length() > 0) {
+                query.append(' ');
+            }
+            query.append('+').append(term).append('*');
+        }
+        return query.toString();
+    }
+}
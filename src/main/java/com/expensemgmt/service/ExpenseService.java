@@ -0,0 +1,330 @@
+package com.expensemgmt.service;
+
+import com.expensemgmt.dao.BatchInsertResult;
+import com.expensemgmt.dao.ExpenseCursor;
+import com.expensemgmt.dao.ExpenseDao;
+import com.expensemgmt.dao.ExpenseFilter;
+import com.expensemgmt.dto.AuditEntry;
+import com.expensemgmt.dto.DuplicateCheckResult;
+import com.expensemgmt.dto.DuplicateMatch;
+import com.expensemgmt.dto.ExpensePage;
+import com.expensemgmt.dto.ExpenseSearchResult;
+import com.expensemgmt.dto.PolicyViolation;
+import com.expensemgmt.model.Expense;
+import com.expensemgmt.model.Notification;
+import com.expensemgmt.util.DatabaseConnection;
+import com.expensemgmt.util.Dates;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class ExpenseService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseService.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    // The default writer flushes after every value, which would mean one socket write per row
+    private static final ObjectWriter ROW_WRITER = MAPPER.writer()
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    private final ExpenseDao expenseDao = new ExpenseDao();
+    private final BudgetLedgerService budgetLedgerService = new BudgetLedgerService();
+    private final ApprovalQueueService approvalQueueService = new ApprovalQueueService();
+    private final AuditLogWriter auditLogWriter = AuditLogWriter.getInstance();
+    private final NotificationFanoutService notificationFanoutService = NotificationFanoutService.getInstance();
+    private final DashboardStatsService dashboardStatsService = DashboardStatsService.getInstance();
+    private final FxRateService fxRateService = FxRateService.getInstance();
+    private final ExpenseQuotaService expenseQuotaService = ExpenseQuotaService.getInstance();
+    private final ExpenseSearchService expenseSearchService = new ExpenseSearchService();
+    private final DuplicateDetector duplicateDetector = DuplicateDetector.getInstance();
+    private final PolicyEngine policyEngine = PolicyEngine.getInstance();
+
+    public ExpensePage getExpenses(ExpenseFilter filter, String cursor, int limit) throws SQLException {
+        int pageSize = limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        List<Expense> rows = expenseDao.findPage(filter, ExpenseCursor.decode(cursor), pageSize);
+        if (rows.size() <= pageSize) {
+            return new ExpensePage(rows, null);
+        }
+        List<Expense> page = rows.subList(0, pageSize);
+        Expense last = page.get(pageSize - 1);
+        return new ExpensePage(page, cursorOf(last).encode());
+    }
+
+    /**
+     * Writes every matching expense to {@code out} as a JSON array, one row at a time,
+     * so memory use does not grow with the size of the result.
+     */
+    public void streamExpenses(ExpenseFilter filter, OutputStream out) throws SQLException, IOException {
+        try (JsonGenerator generator = MAPPER.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            expenseDao.streamAll(filter, expense -> ROW_WRITER.writeValue(generator, expense));
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Ranked full-text search within one organization (see {@link ExpenseSearchService}).
+     */
+    public List<ExpenseSearchResult> search(ExpenseFilter filter, String query, int limit) throws SQLException {
+        return expenseSearchService.search(filter, query, limit);
+    }
+
+    /**
+     * Earlier expenses that {@code expense} appears to duplicate; meant to be checked before
+     * submitting. Submissions are checked again once committed and matches are sent to the approver.
+     */
+    public DuplicateCheckResult findDuplicates(Expense expense) throws SQLException {
+        return duplicateDetector.check(expense);
+    }
+
+    /**
+     * Every likely duplicate in an organization's history (see {@link DuplicateDetector#scan(String)}).
+     */
+    public List<DuplicateMatch> scanDuplicates(String organizationId) throws SQLException {
+        return duplicateDetector.scan(organizationId);
+    }
+
+    /**
+     * Bulk-inserts imported expenses (see {@link ExpenseDao#insertBatch(List)}) and drops
+     * the cached dashboards of every organization touched. Pending expenses are queued
+     * for their submitters' managers.
+     *
+     * Rows imported as pending are submissions and must pass their organization's policies;
+     * if any row has a blocking violation nothing is inserted and {@link IllegalArgumentException}
+     * is thrown. The whole import is then reserved against each organization's monthly expense
+     * limit; if any organization lacks room nothing is inserted and {@link IllegalStateException}
+     * is thrown. Rows of chunks that fail to insert are handed back to the quota; the rest
+     * are added to the duplicate index, and the approvers of pending rows that look like
+     * duplicates of earlier expenses are notified.
+     */
+    public BatchInsertResult importExpenses(List<Expense> expenses) throws SQLException {
+        for (int i = 0; i < expenses.size(); i++) {
+            Expense expense = expenses.get(i);
+            if (expense.getStatus() == null || expense.getStatus() == Expense.Status.PENDING) {
+                checkPolicies(expense, "Row " + i);
+            }
+        }
+        Map<String, Integer> perOrganization = countByOrganization(expenses);
+        Map<String, ExpenseQuotaService.Reservation> reservations = new HashMap<>();
+        try {
+            for (Map.Entry<String, Integer> entry : perOrganization.entrySet()) {
+                if (entry.getKey() == null) {
+                    continue;
+                }
+                reservations.put(entry.getKey(), expenseQuotaService.reserveExpenses(entry.getKey(), entry.getValue()));
+            }
+            approvalQueueService.assignApprovers(expenses);
+            BatchInsertResult result = expenseDao.insertBatch(expenses);
+            Map<String, Integer> failed = new HashMap<>();
+            Set<Expense> notInserted = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (BatchInsertResult.ChunkFailure failure : result.getFailures()) {
+                for (Expense expense : expenses.subList(failure.getFromIndex(), failure.getToIndex())) {
+                    failed.merge(expense.getOrganizationId(), 1, Integer::sum);
+                    notInserted.add(expense);
+                }
+            }
+            List<Expense> submitted = new ArrayList<>();
+            for (Expense expense : expenses) {
+                if (!notInserted.contains(expense) && expense.getStatus() == Expense.Status.PENDING) {
+                    submitted.add(expense);
+                }
+            }
+            // Checked before registering, so rows of the same import are not flagged against each other
+            List<Notification> duplicateAlerts = duplicateAlerts(submitted);
+            for (Expense expense : expenses) {
+                if (!notInserted.contains(expense)) {
+                    duplicateDetector.register(expense);
+                }
+            }
+            notificationFanoutService.send(duplicateAlerts);
+            for (Map.Entry<String, ExpenseQuotaService.Reservation> entry : reservations.entrySet()) {
+                ExpenseQuotaService.Reservation reservation = entry.getValue();
+                reservation.commit(reservation.getCount() - failed.getOrDefault(entry.getKey(), 0));
+            }
+            perOrganization.keySet().forEach(dashboardStatsService::invalidate);
+            return result;
+        } finally {
+            // Releases whatever was not committed, e.g. when the insert threw or a later org was over its limit
+            reservations.values().forEach(ExpenseQuotaService.Reservation::close);
+        }
+    }
+
+    /**
+     * Throws {@link IllegalArgumentException} naming every blocking policy violation of a submission.
+     */
+    private void checkPolicies(Expense expense, String label) throws SQLException {
+        if (expense.getOrganizationId() == null) {
+            return;
+        }
+        checkPolicies(policyEngine.evaluate(expense), label);
+    }
+
+    private static void checkPolicies(List<PolicyViolation> violations, String label) {
+        StringBuilder message = null;
+        for (PolicyViolation violation : violations) {
+            if (!violation.isBlocking()) {
+                continue;
+            }
+            message = message == null ? new StringBuilder(label).append(" violates policy: ") : message.append("; ");
+            message.append(violation.getMessage()).append(" (").append(violation.getPolicyName()).append(')');
+        }
+        if (message != null) {
+            throw new IllegalArgumentException(message.toString());
+        }
+    }
+
+    private static Map<String, Integer> countByOrganization(List<Expense> expenses) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (Expense expense : expenses) {
+            counts.merge(expense.getOrganizationId(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Moves an expense to {@code newStatus} and updates the affected budget counters in the
+     * same transaction. Submitting (moving to PENDING) fails with {@link IllegalArgumentException}
+     * when the expense has a blocking policy violation.
+     *
+     * Once committed, the change is reported as done: the dashboard cache is dropped, the
+     * duplicate index is updated, budget alerts and, for a submission, duplicate alerts are
+     * sent and the change is recorded in the audit log, but an audit write that fails or
+     * times out is only logged. The audit write happens after the connection is returned to
+     * the pool, since a group commit needs a pool connection of its own.
+     */
+    public Expense changeStatus(String expenseId, Expense.Status newStatus, String actorId, String reason)
+            throws SQLException {
+        // Fetched before the row lock is taken: loading policies on a cache miss borrows a
+        // second connection, which must not wait on a saturated pool while the lock is held
+        PolicyEngine.CompiledPolicies policies = null;
+        if (newStatus == Expense.Status.PENDING) {
+            String organizationId = expenseDao.findOrganizationId(expenseId);
+            policies = organizationId != null ? policyEngine.policiesFor(organizationId) : null;
+        }
+
+        Expense expense;
+        String before;
+        List<Notification> budgetAlerts;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                expense = expenseDao.findByIdForUpdate(conn, expenseId);
+                if (expense == null) {
+                    throw new IllegalArgumentException("Expense not found: " + expenseId);
+                }
+                Expense.Status oldStatus = expense.getStatus();
+                if (oldStatus == newStatus) {
+                    conn.commit();
+                    return expense;
+                }
+                before = AuditLogWriter.snapshot(expense);
+                expense.setStatus(newStatus);
+                if (newStatus == Expense.Status.APPROVED) {
+                    expense.setApprovedBy(actorId);
+                    expense.setApprovalDate(new Date());
+                    fxRateService.applyReportingAmount(expense,
+                            fxRateService.reportingCurrency(conn, expense.getOrganizationId()));
+                } else if (newStatus == Expense.Status.REJECTED) {
+                    expense.setApprovedBy(actorId);
+                    expense.setRejectionReason(reason);
+                } else if (newStatus == Expense.Status.PENDING) {
+                    if (policies != null) {
+                        checkPolicies(policies.evaluate(expense), "Expense " + expense.getId());
+                    }
+                    approvalQueueService.assignApprover(conn, expense);
+                }
+                expenseDao.updateStatus(conn, expense);
+                budgetAlerts = budgetLedgerService.applyStatusChange(conn, expense, oldStatus, newStatus);
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+
+        dashboardStatsService.invalidate(expense.getOrganizationId());
+        if (newStatus == Expense.Status.PENDING) {
+            notificationFanoutService.send(duplicateAlerts(Collections.singletonList(expense)));
+        }
+        if (newStatus == Expense.Status.REJECTED) {
+            duplicateDetector.remove(expense);
+        } else {
+            // Back in the index if it was resubmitted after a rejection
+            duplicateDetector.register(expense);
+        }
+        notificationFanoutService.send(budgetAlerts);
+        recordAudit(new AuditEntry("expense", expense.getId(), newStatus.name(), before,
+                AuditLogWriter.snapshot(expense), actorId));
+        return expense;
+    }
+
+    /**
+     * POSSIBLE_DUPLICATE notifications for the approvers of submitted expenses that match
+     * earlier ones. Expenses without an approver are skipped; they only appear in the
+     * organization-wide listing. An organization whose index is still being built cannot be
+     * checked, which is logged rather than taken as "no duplicates".
+     */
+    private List<Notification> duplicateAlerts(List<Expense> submitted) {
+        List<Notification> alerts = new ArrayList<>();
+        for (Expense expense : submitted) {
+            DuplicateCheckResult result = duplicateDetector.check(expense);
+            if (!result.isIndexReady()) {
+                log.info("Duplicate index of organization {} not ready; expense {} submitted unchecked",
+                        expense.getOrganizationId(), expense.getId());
+                continue;
+            }
+            if (result.getMatches().isEmpty() || expense.getApprovedBy() == null) {
+                continue;
+            }
+            StringBuilder message = new StringBuilder("Expense '").append(expense.getTitle())
+                    .append("' may duplicate expense");
+            String separator = result.getMatches().size() > 1 ? "s " : " ";
+            for (DuplicateMatch match : result.getMatches()) {
+                message.append(separator).append(match.getDuplicateOfId());
+                separator = ", ";
+            }
+            Notification alert = new Notification(null, expense.getApprovedBy(),
+                    Notification.NotificationType.POSSIBLE_DUPLICATE, message.toString());
+            alert.setReferenceId(expense.getId());
+            alert.setReferenceType("EXPENSE");
+            alerts.add(alert);
+        }
+        return alerts;
+    }
+
+    private void recordAudit(AuditEntry entry) {
+        try {
+            auditLogWriter.record(Collections.singletonList(entry));
+        } catch (RuntimeException e) {
+            // The change is committed; a failed audit write must not report it as failed
+            log.error("Audit row for committed change of expense {} could not be written", entry.getRecordId(), e);
+        }
+    }
+
+    private static ExpenseCursor cursorOf(Expense expense) {
+        return new ExpenseCursor(Dates.toLocalDate(expense.getExpenseDate()), Long.parseLong(expense.getId()));
+    }
+}
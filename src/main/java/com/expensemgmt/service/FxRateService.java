@@ -0,0 +1,155 @@
+package com.expensemgmt.service;
+
+import com.expensemgmt.dao.FxRateDao;
+import com.expensemgmt.dao.OrganizationDao;
+import com.expensemgmt.dto.FxRate;
+import com.expensemgmt.model.Expense;
+import com.expensemgmt.model.Money;
+import com.expensemgmt.util.AppConfig;
+import com.expensemgmt.util.DatabaseConnection;
+import com.expensemgmt.util.Dates;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link FxRateSnapshot} and replaces it on {@link #refresh()}.
+ *
+ * Rates come from the CSV file named by {@code fx.ratesFile} (lines of
+ * {@code date,base,quote,rate}) or, when that is unset, from the fx_rate table, limited to
+ * the last {@code fx.historyDays}. A refresh builds a complete new snapshot off to the side
+ * and publishes it with one reference swap, so readers never see a half-loaded table and
+ * never lock. Callers that convert many amounts should take {@link #current()} once and
+ * use that snapshot throughout, so one aggregation never mixes two rate versions.
+ */
+public class FxRateService {
+
+    private static final Logger log = LoggerFactory.getLogger(FxRateService.class);
+
+    private static final FxRateService INSTANCE = new FxRateService();
+
+    private final FxRateDao fxRateDao = new FxRateDao();
+    private final OrganizationDao organizationDao = new OrganizationDao();
+    private final String baseCurrency = AppConfig.get("fx.baseCurrency", Money.DEFAULT_CURRENCY);
+    private final int maxAgeDays = AppConfig.getInt("fx.maxRateAgeDays", 7);
+    private final int historyDays = AppConfig.getInt("fx.historyDays", 3650);
+    private final String ratesFile = AppConfig.get("fx.ratesFile", "");
+
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicReference<FxRateSnapshot> current =
+            new AtomicReference<>(FxRateSnapshot.empty(baseCurrency, maxAgeDays));
+
+    public static FxRateService getInstance() {
+        return INSTANCE;
+    }
+
+    public FxRateSnapshot current() {
+        return current.get();
+    }
+
+    /**
+     * Reloads every rate and atomically publishes the new snapshot.
+     */
+    public FxRateSnapshot refresh() throws SQLException, IOException {
+        List<FxRate> rates = ratesFile.isEmpty() ? loadFromTable() : loadFromFile(Paths.get(ratesFile));
+        FxRateSnapshot snapshot = FxRateSnapshot.build(rates, baseCurrency, maxAgeDays, versions.incrementAndGet());
+        current.set(snapshot);
+        log.info("Loaded FX rate snapshot v{} with {} rates", snapshot.getVersion(), snapshot.getRateCount());
+        return snapshot;
+    }
+
+    /**
+     * {@link #refresh()} for scheduled use: failures are logged and the previous snapshot stays in place.
+     */
+    public void refreshQuietly() {
+        try {
+            refresh();
+        } catch (SQLException | IOException | RuntimeException e) {
+            log.error("FX rate refresh failed; keeping snapshot v{}", current().getVersion(), e);
+        }
+    }
+
+    /**
+     * The organization's reporting currency.
+     */
+    public String reportingCurrency(Connection conn, String organizationId) throws SQLException {
+        return organizationDao.findCurrency(conn, organizationId);
+    }
+
+    /**
+     * Stores on the expense its amount in {@code reportingCurrency}, so reports and budgets use the
+     * figure fixed at approval rather than re-converting. Left unset when no rate is available.
+     */
+    public void applyReportingAmount(Expense expense, String reportingCurrency) {
+        BigDecimal converted = toReportingAmount(expense, reportingCurrency);
+        expense.setReportingAmount(converted);
+        expense.setReportingCurrency(converted != null ? reportingCurrency : null);
+    }
+
+    /**
+     * The expense's amount in {@code reportingCurrency} at the rate of its expense date,
+     * or null when no rate is available.
+     */
+    public BigDecimal toReportingAmount(Expense expense, String reportingCurrency) {
+        if (expense.getAmount() == null) {
+            return null;
+        }
+        String from = expense.getCurrency() != null ? expense.getCurrency() : Money.DEFAULT_CURRENCY;
+        LocalDate date = expense.getExpenseDate() != null
+                ? Dates.toLocalDate(expense.getExpenseDate()) : LocalDate.now();
+        FxRateSnapshot snapshot = current();
+        if (!snapshot.canConvert(from, reportingCurrency, date)) {
+            log.warn("No FX rate from {} to {} on {} for expense {}", from, reportingCurrency, date, expense.getId());
+            return null;
+        }
+        return snapshot.convert(expense.getAmount(), from, reportingCurrency, date);
+    }
+
+    private List<FxRate> loadFromTable() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return fxRateDao.findSince(conn, LocalDate.now().minusDays(historyDays));
+        }
+    }
+
+    static List<FxRate> loadFromFile(Path path) throws IOException {
+        List<FxRate> rates = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#") || line.startsWith("date,")) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                try {
+                    if (fields.length != 4) {
+                        throw new IllegalArgumentException("expected date,base,quote,rate");
+                    }
+                    rates.add(new FxRate(LocalDate.parse(fields[0].trim()), fields[1].trim(), fields[2].trim(),
+                            new BigDecimal(fields[3].trim())));
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    // NumberFormatException is an IllegalArgumentException
+                    throw new IOException("Invalid FX rate at " + path + ":" + lineNumber + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        return rates;
+    }
+}
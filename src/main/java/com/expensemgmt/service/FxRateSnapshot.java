@@ -0,0 +1,191 @@
+package com.expensemgmt.service;
+
+import com.expensemgmt.dto.FxRate;
+import com.expensemgmt.model.Money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable view of the FX rate table, built once per refresh and shared by every reader.
+ *
+ * Rates are held per (from, to) pair as parallel arrays of epoch days and fixed-point rates
+ * with {@link #RATE_SCALE} decimals, so a lookup is two map gets and a binary search with no
+ * allocation. The rate for a date is the latest one published on or before it, provided it
+ * is at most {@code maxAgeDays} old (weekends and holidays have no rates). Each stored rate
+ * also yields its inverse unless the table has that direction explicitly, and pairs with
+ * no rate of their own are crossed through the base currency.
+ */
+public final class FxRateSnapshot {
+
+    public static final int RATE_SCALE = 8;
+
+    private static final long NO_RATE = -1;
+
+    private final Map<String, Map<String, PairRates>> pairs;
+    private final String baseCurrency;
+    private final int maxAgeDays;
+    private final long version;
+    private final Instant loadedAt;
+    private final int rateCount;
+
+    private FxRateSnapshot(Map<String, Map<String, PairRates>> pairs, String baseCurrency, int maxAgeDays,
+                           long version, Instant loadedAt, int rateCount) {
+        this.pairs = pairs;
+        this.baseCurrency = baseCurrency;
+        this.maxAgeDays = maxAgeDays;
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.rateCount = rateCount;
+    }
+
+    static FxRateSnapshot empty(String baseCurrency, int maxAgeDays) {
+        return new FxRateSnapshot(Collections.emptyMap(), baseCurrency, maxAgeDays, 0, Instant.now(), 0);
+    }
+
+    static FxRateSnapshot build(List<FxRate> rates, String baseCurrency, int maxAgeDays, long version) {
+        // from -> to -> epoch day -> rate; explicit rows are applied after derived inverses so they win
+        Map<String, Map<String, TreeMap<Long, Long>>> staging = new HashMap<>();
+        for (FxRate rate : rates) {
+            if (rate.getRate() == null || rate.getRate().signum() <= 0) {
+                continue;
+            }
+            BigDecimal inverse = BigDecimal.ONE.divide(rate.getRate(), RATE_SCALE, RoundingMode.HALF_UP);
+            if (inverse.signum() > 0) {
+                staging.computeIfAbsent(rate.getQuoteCurrency(), k -> new HashMap<>())
+                        .computeIfAbsent(rate.getBaseCurrency(), k -> new TreeMap<>())
+                        .putIfAbsent(rate.getDate().toEpochDay(), Money.toMinorUnits(inverse, RATE_SCALE));
+            }
+        }
+        for (FxRate rate : rates) {
+            if (rate.getRate() == null || rate.getRate().signum() <= 0) {
+                continue;
+            }
+            staging.computeIfAbsent(rate.getBaseCurrency(), k -> new HashMap<>())
+                    .computeIfAbsent(rate.getQuoteCurrency(), k -> new TreeMap<>())
+                    .put(rate.getDate().toEpochDay(), Money.toMinorUnits(rate.getRate(), RATE_SCALE));
+        }
+
+        Map<String, Map<String, PairRates>> pairs = new HashMap<>();
+        int count = 0;
+        for (Map.Entry<String, Map<String, TreeMap<Long, Long>>> from : staging.entrySet()) {
+            Map<String, PairRates> targets = new HashMap<>();
+            for (Map.Entry<String, TreeMap<Long, Long>> to : from.getValue().entrySet()) {
+                targets.put(to.getKey(), PairRates.of(to.getValue()));
+                count += to.getValue().size();
+            }
+            pairs.put(from.getKey(), targets);
+        }
+        return new FxRateSnapshot(pairs, baseCurrency, maxAgeDays, version, Instant.now(), count);
+    }
+
+    /**
+     * Converts minor units of {@code from} into minor units of {@code to} at the rate for {@code date}.
+     * Throws {@link IllegalStateException} when no usable rate exists.
+     */
+    public long convertMinorUnits(long minorUnits, String from, String to, LocalDate date) {
+        if (from.equals(to)) {
+            return minorUnits;
+        }
+        long rate = rate(from, to, date.toEpochDay());
+        if (rate == NO_RATE) {
+            throw new IllegalStateException("No FX rate from " + from + " to " + to + " on " + date);
+        }
+        return Money.convertMinorUnits(minorUnits, Money.scaleOf(from), Money.scaleOf(to), rate, RATE_SCALE);
+    }
+
+    public BigDecimal convert(BigDecimal amount, String from, String to, LocalDate date) {
+        long minor = convertMinorUnits(Money.toMinorUnits(amount, Money.scaleOf(from)), from, to, date);
+        return BigDecimal.valueOf(minor, Money.scaleOf(to));
+    }
+
+    public boolean canConvert(String from, String to, LocalDate date) {
+        return from.equals(to) || rate(from, to, date.toEpochDay()) != NO_RATE;
+    }
+
+    /**
+     * The rate applied for {@code date}, or null when none is usable.
+     */
+    public BigDecimal getRate(String from, String to, LocalDate date) {
+        if (from.equals(to)) {
+            return BigDecimal.ONE;
+        }
+        long rate = rate(from, to, date.toEpochDay());
+        return rate == NO_RATE ? null : BigDecimal.valueOf(rate, RATE_SCALE);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * Number of (date, from, to) rates held, including derived inverses.
+     */
+    public int getRateCount() {
+        return rateCount;
+    }
+
+    private long rate(String from, String to, long epochDay) {
+        long direct = lookup(from, to, epochDay);
+        if (direct != NO_RATE || from.equals(baseCurrency) || to.equals(baseCurrency)) {
+            return direct;
+        }
+        long toBase = lookup(from, baseCurrency, epochDay);
+        long fromBase = toBase != NO_RATE ? lookup(baseCurrency, to, epochDay) : NO_RATE;
+        if (fromBase == NO_RATE) {
+            return NO_RATE;
+        }
+        return Money.convertMinorUnits(toBase, RATE_SCALE, RATE_SCALE, fromBase, RATE_SCALE);
+    }
+
+    private long lookup(String from, String to, long epochDay) {
+        Map<String, PairRates> targets = pairs.get(from);
+        PairRates pair = targets != null ? targets.get(to) : null;
+        return pair != null ? pair.onOrBefore(epochDay, maxAgeDays) : NO_RATE;
+    }
+
+    private static final class PairRates {
+        final long[] days;
+        final long[] rates;
+
+        private PairRates(long[] days, long[] rates) {
+            this.days = days;
+            this.rates = rates;
+        }
+
+        static PairRates of(TreeMap<Long, Long> byDay) {
+            long[] days = new long[byDay.size()];
+            long[] rates = new long[byDay.size()];
+            int i = 0;
+            for (Map.Entry<Long, Long> entry : byDay.entrySet()) {
+                days[i] = entry.getKey();
+                rates[i] = entry.getValue();
+                i++;
+            }
+            return new PairRates(days, rates);
+        }
+
+        long onOrBefore(long epochDay, int maxAgeDays) {
+            int index = Arrays.binarySearch(days, epochDay);
+            if (index < 0) {
+                index = -index - 2;
+            }
+            if (index < 0 || epochDay - days[index] > maxAgeDays) {
+                return NO_RATE;
+            }
+            return rates[index];
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.expensemgmt.service;
+
+import com.expensemgmt.dao.NotificationDao;
+import com.expensemgmt.dao.UserDao;
+import com.expensemgmt.model.Notification;
+import com.expensemgmt.util.AppConfig;
+import com.expensemgmt.util.DatabaseConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers notifications off the request thread and keeps per-user unread counts in memory.
+ *
+ * Notifications are inserted in chunks of {@code notifications.fanout.chunkSize}, one
+ * transaction per chunk, on a small bounded executor; when its queue is full the caller
+ * runs the insert itself. After each chunk commits, the unread counters of its recipients
+ * are incremented, so the bell icon is served from memory instead of COUNT(*). A counter
+ * is seeded from the database on first use and re-seeded after
+ * {@code notifications.unread.ttlSeconds}, which also corrects drift between nodes.
+ * Committed chunks are also pushed to open event streams via {@link NotificationPushRegistry}.
+ */
+public class NotificationFanoutService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationFanoutService.class);
+
+    private static final NotificationFanoutService INSTANCE = new NotificationFanoutService();
+
+    private final NotificationDao notificationDao = new NotificationDao();
+    private final UserDao userDao = new UserDao();
+    private final NotificationPushRegistry pushRegistry = NotificationPushRegistry.getInstance();
+    private final int chunkSize = AppConfig.getInt("notifications.fanout.chunkSize", 1000);
+    private final long counterTtlNanos = TimeUnit.SECONDS.toNanos(AppConfig.getLong("notifications.unread.ttlSeconds", 300));
+    private final ThreadPoolExecutor executor;
+
+    // userId -> unread count
+    private final ConcurrentHashMap<String, UnreadCounter> unreadCounts = new ConcurrentHashMap<>();
+
+    private NotificationFanoutService() {
+        int threads = AppConfig.getInt("notifications.fanout.threads", 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(AppConfig.getInt("notifications.fanout.queueSize", 1000)),
+                r -> {
+                    Thread thread = new Thread(r, "notification-fanout-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public static NotificationFanoutService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Inserts the notifications in the background. The future completes with the number
+     * of rows written; failed chunks are logged and skipped.
+     */
+    public CompletableFuture<Integer> send(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return CompletableFuture.completedFuture(0);
+        }
+        List<Notification> copy = new ArrayList<>(notifications);
+        return CompletableFuture.supplyAsync(() -> insertChunks(copy), executor);
+    }
+
+    /**
+     * Sends the same notification to every active user of an organization except {@code senderId}.
+     */
+    public CompletableFuture<Integer> broadcast(String organizationId, String senderId,
+                                                Notification.NotificationType type, String message) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<String> recipients;
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                recipients = userDao.findActiveIds(conn, organizationId);
+            } catch (SQLException e) {
+                log.warn("Broadcast to organization {} failed: could not load recipients", organizationId, e);
+                return 0;
+            }
+            List<Notification> notifications = new ArrayList<>(recipients.size());
+            for (String userId : recipients) {
+                if (userId.equals(senderId)) {
+                    continue;
+                }
+                notifications.add(new Notification(null, userId, type, message));
+            }
+            return insertChunks(notifications);
+        }, executor);
+    }
+
+    public int getUnreadCount(String userId) throws SQLException {
+        UnreadCounter counter = unreadCounts.get(userId);
+        if (counter != null && System.nanoTime() - counter.loadedAt < counterTtlNanos) {
+            return counter.count.get();
+        }
+        int count = notificationDao.countUnread(userId);
+        unreadCounts.put(userId, new UnreadCounter(count, System.nanoTime()));
+        return count;
+    }
+
+    public boolean markAsRead(String userId, String notificationId) throws SQLException {
+        boolean changed = notificationDao.markRead(userId, notificationId);
+        if (changed) {
+            UnreadCounter counter = unreadCounts.get(userId);
+            if (counter != null) {
+                counter.count.updateAndGet(c -> Math.max(0, c - 1));
+            }
+        }
+        return changed;
+    }
+
+    public int markAllRead(String userId) throws SQLException {
+        int updated = notificationDao.markAllRead(userId);
+        unreadCounts.put(userId, new UnreadCounter(0, System.nanoTime()));
+        return updated;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private int insertChunks(List<Notification> notifications) {
+        int written = 0;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            for (int from = 0; from < notifications.size(); from += chunkSize) {
+                List<Notification> chunk = notifications.subList(from, Math.min(from + chunkSize, notifications.size()));
+                try {
+                    List<String> ids = notificationDao.insertAll(conn, chunk);
+                    conn.commit();
+                    for (int i = 0; i < chunk.size() && i < ids.size(); i++) {
+                        chunk.get(i).setId(ids.get(i));
+                    }
+                    written += chunk.size();
+                    pushRegistry.publish(new ArrayList<>(chunk));
+                    for (Notification notification : chunk) {
+                        // Users without a counter are seeded from the database when next asked
+                        UnreadCounter counter = unreadCounts.get(notification.getUserId());
+                        if (counter != null) {
+                            counter.count.incrementAndGet();
+                        }
+                    }
+                } catch (SQLException e) {
+                    conn.rollback();
+                    log.warn("Failed to insert {} notifications", chunk.size(), e);
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("Notification fan-out failed after {} of {} rows", written, notifications.size(), e);
+        }
+        return written;
+    }
+
+    private static final class UnreadCounter {
+        final AtomicInteger count;
+        final long loadedAt;
+
+        UnreadCounter(int count, long loadedAt) {
+            this.count = new AtomicInteger(count);
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.expensemgmt.service;
+
+import com.expensemgmt.model.Notification;
+import com.expensemgmt.util.AppConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process registry of Server-Sent Events subscribers, keyed by user.
+ *
+ * All subscription state is owned by one dispatcher thread: subscribing, publishing,
+ * heartbeats and cleanup are submitted to it, so no locks are needed and request or
+ * fan-out threads never block on a slow socket. Each event is serialized once and queued
+ * on every connection of its user; the queue is drained with non-blocking servlet writes,
+ * so the dispatcher never blocks either. A client that falls more than
+ * {@code sse.maxPendingEvents} events behind is disconnected.
+ *
+ * Event ids are notification ids. The last {@code sse.replaySize} events per user are kept
+ * so a reconnecting client can resume from Last-Event-ID; if the gap cannot be filled from
+ * memory the client gets a {@code resync} event and should reload its notifications.
+ *
+ * Events only reach clients connected to the node that produced them.
+ */
+public class NotificationPushRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationPushRegistry.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final byte[] RETRY = bytes("retry: 5000\n\n");
+    private static final byte[] HEARTBEAT = bytes(":\n\n");
+
+    private static final NotificationPushRegistry INSTANCE = new NotificationPushRegistry();
+
+    private final int maxConnections = AppConfig.getInt("sse.maxConnections", 10000);
+    private final int maxConnectionsPerUser = AppConfig.getInt("sse.maxConnectionsPerUser", 5);
+    private final int replaySize = AppConfig.getInt("sse.replaySize", 50);
+    private final int maxPendingEvents = AppConfig.getInt("sse.maxPendingEvents", 64);
+    private final long retentionNanos = TimeUnit.SECONDS.toNanos(AppConfig.getLong("sse.replayRetentionSeconds", 120));
+
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final ScheduledExecutorService dispatcher;
+
+    // Owned by the dispatcher thread
+    private final Map<String, Channel> channels = new HashMap<>();
+
+    private NotificationPushRegistry() {
+        dispatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "sse-dispatch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long heartbeat = AppConfig.getLong("sse.heartbeatSeconds", 25);
+        dispatcher.scheduleWithFixedDelay(this::heartbeat, heartbeat, heartbeat, TimeUnit.SECONDS);
+    }
+
+    public static NotificationPushRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Reserves a connection slot on this node. Returns false when the node is at capacity.
+     * A reserved slot is released by {@link Connection#close()}.
+     */
+    public boolean tryReserve() {
+        while (true) {
+            int current = connectionCount.get();
+            if (current >= maxConnections) {
+                return false;
+            }
+            if (connectionCount.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back a slot reserved with {@link #tryReserve()} that was never subscribed.
+     */
+    public void release() {
+        connectionCount.decrementAndGet();
+    }
+
+    /**
+     * Registers a reserved connection and replays what it missed after {@code lastEventId}
+     * (null for a fresh connection).
+     */
+    public Connection subscribe(String userId, AsyncContext context, ServletOutputStream out, String lastEventId) {
+        Connection connection = new Connection(userId, context, out);
+        // Switches the stream to non-blocking mode; must happen on the request thread
+        out.setWriteListener(connection);
+        dispatcher.execute(() -> {
+            Channel channel = channels.computeIfAbsent(userId, id -> new Channel());
+            if (channel.connections.size() >= maxConnectionsPerUser) {
+                // Drop the oldest tab rather than refusing the newest
+                channel.connections.remove(0).close();
+            }
+            channel.connections.add(connection);
+            connection.write(RETRY);
+            if (lastEventId != null) {
+                replay(channel, connection, lastEventId);
+            }
+        });
+        return connection;
+    }
+
+    public void unsubscribe(Connection connection) {
+        try {
+            dispatcher.execute(() -> {
+                Channel channel = channels.get(connection.userId);
+                if (channel != null) {
+                    channel.connections.remove(connection);
+                    channel.idleSince = System.nanoTime();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the channels are being discarded anyway
+        }
+    }
+
+    /**
+     * Pushes newly stored notifications to their recipients' open connections.
+     */
+    public void publish(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        dispatcher.execute(() -> {
+            for (Notification notification : notifications) {
+                Channel channel = channels.get(notification.getUserId());
+                if (channel == null) {
+                    continue;
+                }
+                Event event = new Event(notification.getId(), "notification", toJson(payload(notification)));
+                channel.remember(event, replaySize);
+                for (Connection connection : new ArrayList<>(channel.connections)) {
+                    connection.write(event.frame);
+                }
+            }
+        });
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    public void shutdown() {
+        dispatcher.execute(() -> {
+            for (Channel channel : channels.values()) {
+                for (Connection connection : new ArrayList<>(channel.connections)) {
+                    connection.close();
+                }
+            }
+            channels.clear();
+        });
+        dispatcher.shutdown();
+        try {
+            dispatcher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void replay(Channel channel, Connection connection, String lastEventId) {
+        // Matched by position rather than compared: chunks committed by concurrent fan-outs can
+        // be published out of id order. Events before the channel existed, evicted from the
+        // buffer, or pushed by another node cannot be replayed
+        boolean found = false;
+        for (Event event : channel.recent) {
+            if (found) {
+                connection.write(event.frame);
+            } else if (event.id != null && event.id.equals(lastEventId)) {
+                found = true;
+            }
+        }
+        if (!found) {
+            Event last = channel.recent.peekLast();
+            connection.write(new Event(last != null ? last.id : null, "resync", "{}").frame);
+        }
+    }
+
+    private void heartbeat() {
+        long now = System.nanoTime();
+        Iterator<Channel> it = channels.values().iterator();
+        while (it.hasNext()) {
+            Channel channel = it.next();
+            for (Connection connection : new ArrayList<>(channel.connections)) {
+                connection.write(HEARTBEAT);
+            }
+            channel.connections.removeIf(connection -> connection.closed.get());
+            if (channel.connections.isEmpty() && now - channel.idleSince > retentionNanos) {
+                it.remove();
+            }
+        }
+    }
+
+    private static Map<String, Object> payload(Notification notification) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", notification.getId());
+        payload.put("type", notification.getType().name());
+        payload.put("title", notification.getType().getDisplayName());
+        payload.put("message", notification.getMessage());
+        payload.put("referenceId", notification.getReferenceId());
+        payload.put("referenceType", notification.getReferenceType());
+        payload.put("createdAt", notification.getCreatedAt());
+        return payload;
+    }
+
+    private static byte[] bytes(String frame) {
+        return frame.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String toJson(Object value) {
+        try {
+            return MAPPER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize event", e);
+        }
+    }
+
+    /**
+     * One open event stream. Frames are queued by the dispatcher thread and written by
+     * whichever thread finds the stream ready: the dispatcher, or the container calling
+     * {@link #onWritePossible()} once the client has caught up.
+     */
+    public final class Connection implements WriteListener {
+        private final String userId;
+        private final AsyncContext context;
+        private final ServletOutputStream out;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        // Guarded by this
+        private final ArrayDeque<byte[]> pending = new ArrayDeque<>();
+        private boolean unflushed;
+
+        Connection(String userId, AsyncContext context, ServletOutputStream out) {
+            this.userId = userId;
+            this.context = context;
+            this.out = out;
+        }
+
+        void write(byte[] frame) {
+            if (closed.get()) {
+                return;
+            }
+            boolean overflow;
+            synchronized (this) {
+                overflow = pending.size() >= maxPendingEvents;
+                if (!overflow) {
+                    pending.addLast(frame);
+                }
+            }
+            if (overflow) {
+                // The client stopped reading; it reconnects and resumes from Last-Event-ID
+                log.debug("Closing event stream of user {}: {} events pending", userId, maxPendingEvents);
+                close();
+                return;
+            }
+            drain();
+        }
+
+        @Override
+        public void onWritePossible() {
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            close();
+        }
+
+        private void drain() {
+            boolean failed = false;
+            synchronized (this) {
+                try {
+                    // A false isReady() arms onWritePossible(), which resumes the drain
+                    while (!closed.get() && out.isReady()) {
+                        byte[] frame = pending.pollFirst();
+                        if (frame != null) {
+                            out.write(frame);
+                            unflushed = true;
+                        } else if (unflushed) {
+                            out.flush();
+                            unflushed = false;
+                        } else {
+                            return;
+                        }
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // The container may recycle the response once the client has gone
+                    failed = true;
+                }
+            }
+            if (failed) {
+                close();
+            }
+        }
+
+        /**
+         * Ends the stream and releases its connection slot; safe to call more than once.
+         */
+        public void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            connectionCount.decrementAndGet();
+            synchronized (this) {
+                pending.clear();
+            }
+            unsubscribe(this);
+            try {
+                context.complete();
+            } catch (IllegalStateException e) {
+                // Already completed by the container (timeout or client disconnect)
+                log.debug("Async context for user {} already completed", userId);
+            }
+        }
+    }
+
+    private static final class Channel {
+        final List<Connection> connections = new ArrayList<>(1);
+        final ArrayDeque<Event> recent = new ArrayDeque<>();
+        long idleSince = System.nanoTime();
+
+        void remember(Event event, int limit) {
+            recent.addLast(event);
+            while (recent.size() > limit) {
+                recent.removeFirst();
+            }
+        }
+    }
+
+    private static final class Event {
+        final String id;
+        final byte[] frame;
+
+        Event(String id, String name, String data) {
+            this.id = id;
+            // Encoded once and shared by every connection it is queued on
+            String idField = id != null ? "id: " + id + "\n" : "";
+            this.frame = bytes(idField + "event: " + name + "\ndata: " + data + "\n\n");
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.expensemgmt.service;
+
+import com.expensemgmt.dto.PolicyViolation;
+import com.expensemgmt.model.Expense;
+import com.expensemgmt.model.Money;
+import com.expensemgmt.model.Policy;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates expenses against an organization's active policies.
+ *
+ * Policies are compiled once per organization into one rule per category, with
+ * organization-wide policies (no category) folded into every category rule. Each
+ * rule keeps only the tightest limit of each kind and the policy that set it, so an
+ * evaluation is a single map lookup plus three comparisons on long cent values,
+ * however many policies the organization has. Compiled sets are immutable; they are
+ * built and cached by {@link ReferenceDataService} with the rest of the organization's
+ * reference data, so they share its bound, expiry and invalidation.
+ */
+public class PolicyEngine {
+
+    private static final PolicyEngine INSTANCE = new PolicyEngine(ReferenceDataService.getInstance());
+
+    private final ReferenceDataService referenceDataService;
+
+    public PolicyEngine(ReferenceDataService referenceDataService) {
+        this.referenceDataService = referenceDataService;
+    }
+
+    public static PolicyEngine getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns every violation of the expense's organization policies; an empty list means compliant.
+     */
+    public List<PolicyViolation> evaluate(Expense expense) throws SQLException {
+        return referenceDataService.getCompiledPolicies(expense.getOrganizationId()).evaluate(expense);
+    }
+
+    /**
+     * The organization's compiled policies. A cache miss borrows a connection, so a caller
+     * inside a transaction should fetch them before it starts and evaluate them directly.
+     */
+    public CompiledPolicies policiesFor(String organizationId) throws SQLException {
+        return referenceDataService.getCompiledPolicies(organizationId);
+    }
+
+    public boolean isCompliant(Expense expense) throws SQLException {
+        return evaluate(expense).isEmpty();
+    }
+
+    static long toCents(BigDecimal amount) {
+        return Money.toMinorUnits(amount, Money.DEFAULT_SCALE);
+    }
+
+    /**
+     * Immutable compiled rule set for one organization.
+     */
+    public static final class CompiledPolicies {
+        private final Map<String, Rule> byCategory;
+        private final Rule organizationWide;
+
+        private CompiledPolicies(Map<String, Rule> byCategory, Rule organizationWide) {
+            this.byCategory = byCategory;
+            this.organizationWide = organizationWide;
+        }
+
+        static CompiledPolicies compile(List<Policy> policies) {
+            Rule organizationWide = new Rule();
+            for (Policy policy : policies) {
+                if (Boolean.TRUE.equals(policy.getIsActive()) && policy.getCategoryId() == null) {
+                    organizationWide.merge(policy);
+                }
+            }
+            Map<String, Rule> byCategory = new HashMap<>();
+            for (Policy policy : policies) {
+                if (Boolean.TRUE.equals(policy.getIsActive()) && policy.getCategoryId() != null) {
+                    byCategory.computeIfAbsent(policy.getCategoryId(), k -> organizationWide.copy()).merge(policy);
+                }
+            }
+            return new CompiledPolicies(byCategory, organizationWide);
+        }
+
+        public List<PolicyViolation> evaluate(Expense expense) {
+            Rule rule = expense.getCategoryId() != null
+                    ? byCategory.getOrDefault(expense.getCategoryId(), organizationWide)
+                    : organizationWide;
+            return rule.evaluate(expense);
+        }
+    }
+
+    /**
+     * The tightest constraints contributed by any policy for one (organization, category) key.
+     */
+    private static final class Rule {
+        private long maxAmountCents = Long.MAX_VALUE;
+        private Policy maxAmountPolicy;
+        private Policy receiptPolicy;
+        private long approvalThresholdCents = Long.MAX_VALUE;
+        private Policy approvalPolicy;
+
+        Rule copy() {
+            Rule rule = new Rule();
+            rule.maxAmountCents = maxAmountCents;
+            rule.maxAmountPolicy = maxAmountPolicy;
+            rule.receiptPolicy = receiptPolicy;
+            rule.approvalThresholdCents = approvalThresholdCents;
+            rule.approvalPolicy = approvalPolicy;
+            return rule;
+        }
+
+        void merge(Policy policy) {
+            if (policy.getMaxAmount() != null) {
+                long cents = toCents(policy.getMaxAmount());
+                if (cents < maxAmountCents) {
+                    maxAmountCents = cents;
+                    maxAmountPolicy = policy;
+                }
+            }
+            if (Boolean.TRUE.equals(policy.getRequiresReceipt()) && receiptPolicy == null) {
+                receiptPolicy = policy;
+            }
+            if (Boolean.TRUE.equals(policy.getRequiresApproval()) && policy.getApprovalThreshold() != null) {
+                long cents = toCents(policy.getApprovalThreshold());
+                if (cents < approvalThresholdCents) {
+                    approvalThresholdCents = cents;
+                    approvalPolicy = policy;
+                }
+            }
+        }
+
+        List<PolicyViolation> evaluate(Expense expense) {
+            List<PolicyViolation> violations = null;
+            if (expense.getAmount() != null && (maxAmountPolicy != null || approvalPolicy != null)) {
+                long cents = toCents(expense.getAmount());
+                if (cents > maxAmountCents) {
+                    violations = add(violations, new PolicyViolation(PolicyViolation.Reason.AMOUNT_EXCEEDS_MAXIMUM,
+                            maxAmountPolicy.getId(), maxAmountPolicy.getName(),
+                            "Amount exceeds the maximum of " + maxAmountPolicy.getMaxAmount()));
+                }
+                if (cents >= approvalThresholdCents) {
+                    violations = add(violations, new PolicyViolation(PolicyViolation.Reason.APPROVAL_THRESHOLD_EXCEEDED,
+                            approvalPolicy.getId(), approvalPolicy.getName(),
+                            "Amount requires approval at or above " + approvalPolicy.getApprovalThreshold()));
+                }
+            }
+            if (receiptPolicy != null && (expense.getReceiptUrl() == null || expense.getReceiptUrl().isBlank())) {
+                violations = add(violations, new PolicyViolation(PolicyViolation.Reason.RECEIPT_REQUIRED,
+                        receiptPolicy.getId(), receiptPolicy.getName(), "A receipt is required"));
+            }
+            return violations != null ? violations : Collections.emptyList();
+        }
+
+        private static List<PolicyViolation> add(List<PolicyViolation> violations, PolicyViolation violation) {
+            if (violations == null) {
+                violations = new ArrayList<>(3);
+            }
+            violations.add(violation);
+            return violations;
+        }
+    }
+}
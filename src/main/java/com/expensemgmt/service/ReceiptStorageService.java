@@ -0,0 +1,291 @@
+package com.expensemgmt.service;
+
+import com.expensemgmt.dto.StoredReceipt;
+import com.expensemgmt.util.AppConfig;
+import com.expensemgmt.util.DigestingReadableByteChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed receipt storage.
+ *
+ * Uploads are streamed to a temp file with {@code FileChannel.transferFrom} while being
+ * hashed, then moved to {@code <root>/<ab>/<cd>/<sha256>.<ext>}. Identical content maps
+ * to the same file, so a re-uploaded receipt is stored once. Thumbnails for images are
+ * produced on a small bounded executor; when its queue is full the thumbnail is skipped
+ * and generated on first request instead, so uploads never wait for image work. Images are
+ * decoded subsampled to about twice the thumbnail size, and images declaring more than
+ * {@code receipts.thumbnail.maxSourcePixels} pixels get no thumbnail, so a small file
+ * with huge declared dimensions cannot exhaust the heap.
+ */
+public class ReceiptStorageService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReceiptStorageService.class);
+
+    private static final ReceiptStorageService INSTANCE = new ReceiptStorageService(
+            Paths.get(AppConfig.get("receipts.storageDir", System.getProperty("java.io.tmpdir") + "/expense-receipts")),
+            AppConfig.getLong("receipts.maxBytes", 5L * 1024 * 1024));
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern EXTENSION = Pattern.compile("[a-z0-9]{1,5}");
+    private static final long TRANSFER_CHUNK = 256 * 1024;
+    private static final String THUMBNAIL_SUFFIX = ".thumb.jpg";
+
+    private final Path root;
+    private final long maxBytes;
+    private final int thumbnailSize = AppConfig.getInt("receipts.thumbnail.maxPixels", 256);
+    private final long maxSourcePixels = AppConfig.getLong("receipts.thumbnail.maxSourcePixels", 100_000_000L);
+    private final ThreadPoolExecutor thumbnailExecutor;
+
+    public ReceiptStorageService(Path root, long maxBytes) {
+        this.root = root;
+        this.maxBytes = maxBytes;
+        int threads = AppConfig.getInt("receipts.thumbnail.threads", 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.thumbnailExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(AppConfig.getInt("receipts.thumbnail.queueSize", 100)),
+                r -> {
+                    Thread thread = new Thread(r, "receipt-thumbnails-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, executor) -> log.warn("Thumbnail queue full; thumbnail will be generated on demand"));
+        this.thumbnailExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    public static ReceiptStorageService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Stores an upload and returns its content address. Rejects empty and oversized uploads.
+     */
+    public StoredReceipt store(InputStream in, String fileName, String contentType) throws IOException {
+        String extension = extensionFor(fileName, contentType);
+        Path tmpDir = Files.createDirectories(root.resolve("tmp"));
+        Path tmp = Files.createTempFile(tmpDir, "upload-", ".part");
+        try {
+            DigestingReadableByteChannel source = new DigestingReadableByteChannel(Channels.newChannel(in), sha256());
+            long size = 0;
+            try (FileChannel target = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                while (!source.isEndOfStream()) {
+                    size += target.transferFrom(source, size, TRANSFER_CHUNK);
+                    if (size > maxBytes) {
+                        throw new IllegalArgumentException("Receipt exceeds the maximum size of " + maxBytes + " bytes");
+                    }
+                }
+                target.force(false);
+            }
+            if (size == 0) {
+                throw new IllegalArgumentException("Receipt upload is empty");
+            }
+
+            String hash = toHex(source.digest());
+            Path destination = pathFor(hash, extension);
+            boolean duplicate = Files.exists(destination);
+            if (!duplicate) {
+                Files.createDirectories(destination.getParent());
+                try {
+                    Files.move(tmp, destination, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    duplicate = true;
+                }
+            }
+            if (isImage(extension)) {
+                scheduleThumbnail(destination);
+            }
+            return new StoredReceipt(hash, extension, size, duplicate);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Resolves a stored file name ({@code <sha256>.<ext>}) to its path, or null if the name is malformed.
+     */
+    public Path resolve(String fileName) {
+        int dot = fileName.indexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+        String hash = fileName.substring(0, dot);
+        String extension = fileName.substring(dot + 1);
+        if (!HASH.matcher(hash).matches() || !EXTENSION.matcher(extension).matches()) {
+            return null;
+        }
+        return pathFor(hash, extension);
+    }
+
+    /**
+     * Returns the thumbnail for a stored image, generating it synchronously if the
+     * background pass has not produced it yet. Returns null for non-images.
+     */
+    public Path thumbnailFor(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        if (!isImage(name.substring(name.lastIndexOf('.') + 1))) {
+            return null;
+        }
+        Path thumbnail = thumbnailPath(file);
+        if (!Files.exists(thumbnail)) {
+            generateThumbnail(file);
+        }
+        return Files.exists(thumbnail) ? thumbnail : null;
+    }
+
+    public void shutdown() {
+        thumbnailExecutor.shutdownNow();
+    }
+
+    private Path pathFor(String hash, String extension) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash + "." + extension);
+    }
+
+    private static Path thumbnailPath(Path file) {
+        String name = file.getFileName().toString();
+        return file.resolveSibling(name.substring(0, name.indexOf('.')) + THUMBNAIL_SUFFIX);
+    }
+
+    private void scheduleThumbnail(Path file) {
+        if (Files.exists(thumbnailPath(file))) {
+            return;
+        }
+        thumbnailExecutor.execute(() -> {
+            try {
+                generateThumbnail(file);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Thumbnail generation failed for {}", file, e);
+            }
+        });
+    }
+
+    private void generateThumbnail(Path file) throws IOException {
+        BufferedImage image = readForThumbnail(file);
+        if (image == null) {
+            return;
+        }
+        double scale = Math.min(1.0, thumbnailSize / (double) Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+        BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = thumbnail.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+
+        Path target = thumbnailPath(file);
+        Path tmp = Files.createTempFile(file.getParent(), "thumb-", ".part");
+        try {
+            ImageIO.write(thumbnail, "jpg", tmp.toFile());
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // Null when the file is not a readable image or declares too many pixels
+    private BufferedImage readForThumbnail(Path file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                // Read from the header; nothing is decoded yet
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxSourcePixels) {
+                    log.warn("No thumbnail for {}: {}x{} pixels exceeds the limit", file, width, height);
+                    return null;
+                }
+                int step = Math.max(1, Math.max(width, height) / (thumbnailSize * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    static String extensionFor(String fileName, String contentType) {
+        if (contentType != null) {
+            switch (contentType.toLowerCase(Locale.ROOT)) {
+                case "image/jpeg": return "jpg";
+                case "image/png": return "png";
+                case "image/gif": return "gif";
+                case "image/webp": return "webp";
+                case "application/pdf": return "pdf";
+                default: break;
+            }
+        }
+        if (fileName != null && fileName.lastIndexOf('.') >= 0) {
+            String extension = fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+            if (extension.equals("jpeg")) {
+                return "jpg";
+            }
+            if (EXTENSION.matcher(extension).matches()) {
+                return extension;
+            }
+        }
+        return "bin";
+    }
+
+    private static boolean isImage(String extension) {
+        return extension.equals("jpg") || extension.equals("png") || extension.equals("gif");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,95 @@
+package com.expensemgmt.service;
+
+import com.expensemgmt.dao.CategoryDao;
+import com.expensemgmt.dao.PolicyDao;
+import com.expensemgmt.dao.StoreDao;
+import com.expensemgmt.dto.ReferenceData;
+import com.expensemgmt.model.Category;
+import com.expensemgmt.model.Policy;
+import com.expensemgmt.model.Store;
+import com.expensemgmt.util.AppConfig;
+import com.expensemgmt.util.CacheMetrics;
+import com.expensemgmt.util.DatabaseConnection;
+import com.expensemgmt.util.ReadThroughCache;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves each organization's categories, stores and policies from a {@link ReadThroughCache}
+ * keyed by organization id, so expense forms and validation do not query them per request.
+ * All three lists are loaded together on one connection, and the policies are compiled for
+ * {@link PolicyEngine} as they load. Entries expire after {@code refdata.cache.ttlSeconds};
+ * at most {@code refdata.cache.maxOrganizations} are kept.
+ */
+public class ReferenceDataService {
+
+    private static final ReferenceDataService INSTANCE = new ReferenceDataService();
+
+    private final CategoryDao categoryDao = new CategoryDao();
+    private final StoreDao storeDao = new StoreDao();
+    private final PolicyDao policyDao = new PolicyDao();
+    private final ReadThroughCache<String, Entry> cache = new ReadThroughCache<>("referenceData",
+            AppConfig.getInt("refdata.cache.maxOrganizations", 1000),
+            AppConfig.getLong("refdata.cache.ttlSeconds", 300), TimeUnit.SECONDS, this::load);
+
+    public static ReferenceDataService getInstance() {
+        return INSTANCE;
+    }
+
+    public ReferenceData get(String organizationId) throws SQLException {
+        return cache.get(organizationId).data;
+    }
+
+    public List<Category> getCategories(String organizationId) throws SQLException {
+        return get(organizationId).getCategories();
+    }
+
+    public List<Store> getStores(String organizationId) throws SQLException {
+        return get(organizationId).getStores();
+    }
+
+    public List<Policy> getPolicies(String organizationId) throws SQLException {
+        return get(organizationId).getPolicies();
+    }
+
+    /**
+     * The organization's active policies compiled into rules, cached with its reference data.
+     */
+    public PolicyEngine.CompiledPolicies getCompiledPolicies(String organizationId) throws SQLException {
+        return cache.get(organizationId).policies;
+    }
+
+    /**
+     * Drops the organization's cached lists and compiled policies. Call after any category,
+     * store or policy write.
+     */
+    public void invalidate(String organizationId) {
+        cache.invalidate(organizationId);
+    }
+
+    public CacheMetrics getMetrics() {
+        return cache.getMetrics();
+    }
+
+    private Entry load(String organizationId) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            ReferenceData data = new ReferenceData(categoryDao.findActiveByOrganization(conn, organizationId),
+                    storeDao.findActiveByOrganization(conn, organizationId),
+                    policyDao.findActiveByOrganization(conn, organizationId));
+            return new Entry(data, PolicyEngine.CompiledPolicies.compile(data.getPolicies()));
+        }
+    }
+
+    private static final class Entry {
+        final ReferenceData data;
+        final PolicyEngine.CompiledPolicies policies;
+
+        Entry(ReferenceData data, PolicyEngine.CompiledPolicies policies) {
+            this.data = data;
+            this.policies = policies;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.expensemgmt.servlet;
+
+import com.expensemgmt.model.Expense;
+import com.expensemgmt.model.User;
+import com.expensemgmt.service.ApprovalQueueService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Returns the signed-in approver's pending queue as JSON.
+ * {@code scope=team} lists everything pending below them in the hierarchy; the default
+ * {@code scope=mine} lists expenses assigned to them directly.
+ */
+public class ApprovalQueueServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ApprovalQueueService approvalQueueService = new ApprovalQueueService();
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        HttpSession session = request.getSession(false);
+        User user = session != null ? (User) session.getAttribute("user") : null;
+        if (user == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        if (!user.canApproveExpenses()) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        int limit;
+        try {
+            String value = request.getParameter("limit");
+            limit = value != null ? Integer.parseInt(value) : 0;
+        } catch (NumberFormatException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid limit");
+            return;
+        }
+
+        boolean team = "team".equals(request.getParameter("scope"));
+        Map<String, Object> body = new LinkedHashMap<>();
+        try {
+            List<Expense> items = team
+                    ? approvalQueueService.getTeamPendingApprovals(user, limit)
+                    : approvalQueueService.getMyPendingApprovals(user, limit);
+            body.put("items", items);
+            body.put("total", team
+                    ? approvalQueueService.countTeamPendingApprovals(user)
+                    : approvalQueueService.countMyPendingApprovals(user));
+        } catch (SQLException e) {
+            throw new ServletException("Unable to load approval queue", e);
+        }
+
+        response.setContentType("application/json");
+        MAPPER.writeValue(response.getOutputStream(), body);
+    }
+}
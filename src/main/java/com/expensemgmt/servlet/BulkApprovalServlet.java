@@ -0,0 +1,75 @@
+package com.expensemgmt.servlet;
+
+import com.expensemgmt.dto.BulkApprovalResult;
+import com.expensemgmt.model.Expense;
+import com.expensemgmt.model.User;
+import com.expensemgmt.service.BulkApprovalService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bulk approve or reject. Accepts
+ * {@code {"decision": "APPROVED"|"REJECTED", "reason": "...", "expenses": [{"id": "1", "updatedAt": 1700000000000}]}}
+ * where updatedAt (epoch millis) is optional, and returns the per-expense outcomes.
+ */
+public class BulkApprovalServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final BulkApprovalService bulkApprovalService = new BulkApprovalService();
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        HttpSession session = request.getSession(false);
+        User user = session != null ? (User) session.getAttribute("user") : null;
+        if (user == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        if (!user.canApproveExpenses()) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        BulkApprovalResult result;
+        try {
+            JsonNode body = MAPPER.readTree(request.getInputStream());
+            if (body == null || !body.path("expenses").isArray()) {
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST, "An 'expenses' array is required");
+                return;
+            }
+            Expense.Status decision = Expense.Status.valueOf(body.path("decision").asText());
+            String reason = body.hasNonNull("reason") ? body.get("reason").asText() : null;
+            Map<String, Date> expectedVersions = new LinkedHashMap<>();
+            for (JsonNode item : body.get("expenses")) {
+                String id = item.path("id").asText(null);
+                if (id == null || id.isEmpty()) {
+                    response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Every expense needs an id");
+                    return;
+                }
+                expectedVersions.put(id, item.hasNonNull("updatedAt") ? new Date(item.get("updatedAt").asLong()) : null);
+            }
+            result = bulkApprovalService.decide(user, decision, reason, expectedVersions,
+                    request.getRemoteAddr(), request.getHeader("User-Agent"));
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+
+        response.setContentType("application/json");
+        MAPPER.writeValue(response.getOutputStream(), result);
+    }
+}
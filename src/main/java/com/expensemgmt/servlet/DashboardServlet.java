@@ -0,0 +1,97 @@
+package com.expensemgmt.servlet;
+
+import com.expensemgmt.dto.DashboardStats;
+import com.expensemgmt.dto.ExpenseView;
+import com.expensemgmt.model.User;
+import com.expensemgmt.service.DashboardStatsService;
+import com.expensemgmt.service.ExpenseProjectionLoader;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.CharacterEscapes;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+
+public class DashboardServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ObjectMapper MAPPER = scriptSafeMapper();
+    private static final int RECENT_EXPENSES = 5;
+
+    private final DashboardStatsService statsService = DashboardStatsService.getInstance();
+    private final ExpenseProjectionLoader projectionLoader = new ExpenseProjectionLoader();
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        HttpSession session = request.getSession(false);
+        User user = session != null ? (User) session.getAttribute("user") : null;
+        if (user == null) {
+            response.sendRedirect(request.getContextPath() + "/login");
+            return;
+        }
+
+        DashboardStats stats;
+        List<ExpenseView> recentExpenses;
+        try {
+            stats = statsService.getStats(user);
+            recentExpenses = projectionLoader.findRecent(user, RECENT_EXPENSES);
+        } catch (SQLException e) {
+            throw new ServletException("Unable to load dashboard statistics", e);
+        }
+
+        request.setAttribute("pendingCount", stats.getPendingCount());
+        request.setAttribute("approvedCount", stats.getApprovedCount());
+        request.setAttribute("rejectedCount", stats.getRejectedCount());
+        request.setAttribute("totalCount", stats.getTotalCount());
+        request.setAttribute("reportingCurrency", stats.getReportingCurrency());
+        request.setAttribute("unconvertedCount", stats.getUnconvertedCount());
+        request.setAttribute("totalAmount", stats.getTotalAmount());
+        request.setAttribute("thisMonthAmount", stats.getThisMonthAmount());
+        request.setAttribute("monthChange", stats.getMonthChange());
+        request.setAttribute("isIncrease", stats.isIncrease());
+        request.setAttribute("approvalRate", stats.getApprovalRate());
+        // Embedded in a <script> block; category names and the currency are user-entered text
+        request.setAttribute("reportingCurrencyJson", MAPPER.writeValueAsString(stats.getReportingCurrency()));
+        request.setAttribute("categoryDataJson", MAPPER.writeValueAsString(stats.getCategoryData()));
+        request.setAttribute("monthlyDataJson", MAPPER.writeValueAsString(stats.getMonthlyData()));
+        request.setAttribute("recentExpenses", recentExpenses);
+        request.getRequestDispatcher("/WEB-INF/jsp/dashboard.jsp").forward(request, response);
+    }
+
+    // JSON that can be written inside <script>: <, > and & are written as unicode escapes,
+    // so a value cannot close the script element
+    private static ObjectMapper scriptSafeMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.getFactory().setCharacterEscapes(new ScriptEscapes());
+        return mapper;
+    }
+
+    private static final class ScriptEscapes extends CharacterEscapes {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] escapes = standardAsciiEscapesForJSON();
+
+        ScriptEscapes() {
+            escapes['<'] = ESCAPE_STANDARD;
+            escapes['>'] = ESCAPE_STANDARD;
+            escapes['&'] = ESCAPE_STANDARD;
+        }
+
+        @Override
+        public int[] getEscapeCodesForAscii() {
+            return escapes;
+        }
+
+        @Override
+        public SerializableString getEscapeSequence(int ch) {
+            return null;
+        }
+    }
+}
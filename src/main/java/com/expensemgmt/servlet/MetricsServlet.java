@@ -0,0 +1,166 @@
+package com.expensemgmt.servlet;
+
+import com.expensemgmt.service.AuditLogWriter;
+import com.expensemgmt.service.DashboardStatsService;
+import com.expensemgmt.service.DuplicateDetector;
+import com.expensemgmt.service.FxRateService;
+import com.expensemgmt.service.FxRateSnapshot;
+import com.expensemgmt.service.NotificationPushRegistry;
+import com.expensemgmt.service.ReferenceDataService;
+import com.expensemgmt.util.AppConfig;
+import com.expensemgmt.util.AuditLogMetrics;
+import com.expensemgmt.util.CacheMetrics;
+import com.expensemgmt.util.ConnectionPoolMetrics;
+import com.expensemgmt.util.DatabaseConnection;
+import com.expensemgmt.util.Histogram;
+import com.expensemgmt.util.JdbcMetrics;
+import com.expensemgmt.util.PrometheusWriter;
+import com.expensemgmt.util.RequestMetrics;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serves request, JDBC, pool, audit log, cache, live-stream and FX metrics in the
+ * Prometheus text format. Only addresses listed in {@code metrics.allowFrom} may scrape;
+ * an empty list allows everyone.
+ */
+public class MetricsServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final double MICROS_TO_SECONDS = 1e-6;
+    private static final double NANOS_TO_SECONDS = 1e-9;
+
+    private Set<String> allowFrom = Collections.emptySet();
+
+    @Override
+    public void init() {
+        String allowed = AppConfig.get("metrics.allowFrom", "").trim();
+        if (!allowed.isEmpty()) {
+            allowFrom = new HashSet<>(Arrays.asList(allowed.split("\\s*,\\s*")));
+        }
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!allowFrom.isEmpty() && !allowFrom.contains(request.getRemoteAddr())) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        response.setContentType(PrometheusWriter.CONTENT_TYPE);
+        response.setHeader("Cache-Control", "no-store");
+        PrintWriter out = response.getWriter();
+        PrometheusWriter writer = new PrometheusWriter(out);
+        writeRequests(writer);
+        writeJdbc(writer);
+        writePool(writer);
+        writeAuditLog(writer);
+        writeCaches(writer);
+        writeServices(writer);
+        out.flush();
+    }
+
+    private static void writeRequests(PrometheusWriter writer) {
+        Collection<RequestMetrics.Route> routes = RequestMetrics.getRoutes();
+        writer.header("http_request_duration_seconds", "summary",
+                "Request latency by route, including forwarded JSP rendering under the JSP path");
+        for (RequestMetrics.Route route : routes) {
+            writer.summary("http_request_duration_seconds", route.getLatencyMicros(), MICROS_TO_SECONDS,
+                    "method", route.getMethod(), "route", route.getPath());
+        }
+        writer.header("http_request_queries", "summary", "JDBC statements executed per request");
+        for (RequestMetrics.Route route : routes) {
+            writer.summary("http_request_queries", route.getQueries(), 1, "method", route.getMethod(),
+                    "route", route.getPath());
+        }
+        writer.header("http_server_errors_total", "counter", "Requests that ended with a 5xx status or an exception");
+        for (RequestMetrics.Route route : routes) {
+            writer.sample("http_server_errors_total", route.getServerErrors(), "method", route.getMethod(),
+                    "route", route.getPath());
+        }
+    }
+
+    private static void writeJdbc(PrometheusWriter writer) {
+        writer.header("db_query_duration_seconds", "summary", "JDBC statement execution time by statement kind");
+        for (Map.Entry<String, Histogram> entry : JdbcMetrics.getLatencyHistograms().entrySet()) {
+            writer.summary("db_query_duration_seconds", entry.getValue(), MICROS_TO_SECONDS, "kind", entry.getKey());
+        }
+        writer.counter("db_slow_queries_total", "Statements slower than db.slowQueryMillis",
+                JdbcMetrics.getSlowQueryCount());
+        writer.counter("db_failed_queries_total", "Statements that threw", JdbcMetrics.getFailedQueryCount());
+    }
+
+    private static void writePool(PrometheusWriter writer) {
+        ConnectionPoolMetrics pool = DatabaseConnection.getPoolMetrics();
+        writer.gauge("db_pool_active_connections", "Connections currently borrowed", pool.getActive());
+        writer.gauge("db_pool_idle_connections", "Idle connections in the pool", pool.getIdle());
+        writer.gauge("db_pool_max_connections", "Maximum pool size", pool.getMaxTotal());
+        writer.counter("db_pool_borrows_total", "Successful connection borrows", pool.getBorrowCount());
+        writer.counter("db_pool_borrow_wait_seconds_total", "Total time spent waiting for a connection",
+                pool.getTotalWaitNanos() * NANOS_TO_SECONDS);
+        writer.gauge("db_pool_borrow_wait_seconds_max", "Longest wait for a connection since startup",
+                pool.getMaxWaitMillis() / 1000.0);
+        writer.counter("db_pool_borrow_timeouts_total", "Borrows that timed out waiting for a connection",
+                pool.getTimeouts());
+        writer.counter("db_pool_borrow_failures_total", "Borrows that failed for other reasons", pool.getFailures());
+    }
+
+    private static void writeAuditLog(PrometheusWriter writer) {
+        AuditLogMetrics audit = AuditLogWriter.getInstance().getMetrics();
+        writer.gauge("audit_log_queue_depth", "Audit entries waiting to be written", audit.getQueueDepth());
+        writer.gauge("audit_log_queue_capacity", "Audit queue capacity", audit.getQueueCapacity());
+        writer.counter("audit_log_enqueued_total", "Audit entries queued", audit.getEnqueued());
+        writer.counter("audit_log_written_total", "Audit entries written", audit.getWritten());
+        writer.counter("audit_log_failed_total", "Audit entries that could not be written", audit.getFailed());
+        writer.counter("audit_log_backpressure_total", "Times the queue was full and the caller wrote directly",
+                audit.getBackpressureEvents());
+        writer.counter("audit_log_flushes_total", "Audit batch flushes", audit.getFlushes());
+        writer.counter("audit_log_flush_seconds_total", "Time spent flushing audit batches",
+                audit.getTotalFlushNanos() * NANOS_TO_SECONDS);
+    }
+
+    private static void writeCaches(PrometheusWriter writer) {
+        List<CacheMetrics> caches = Arrays.asList(ReferenceDataService.getInstance().getMetrics(),
+                DashboardStatsService.getInstance().getMetrics(), DuplicateDetector.getInstance().getMetrics());
+        writer.header("cache_size", "gauge", "Entries currently cached");
+        caches.forEach(cache -> writer.sample("cache_size", cache.getSize(), "cache", cache.getName()));
+        writer.header("cache_max_size", "gauge", "Cache size bound");
+        caches.forEach(cache -> writer.sample("cache_max_size", cache.getMaxSize(), "cache", cache.getName()));
+        writer.header("cache_hits_total", "counter", "Lookups served from the cache");
+        caches.forEach(cache -> writer.sample("cache_hits_total", cache.getHits(), "cache", cache.getName()));
+        writer.header("cache_misses_total", "counter", "Lookups that needed a load");
+        caches.forEach(cache -> writer.sample("cache_misses_total", cache.getMisses(), "cache", cache.getName()));
+        writer.header("cache_load_failures_total", "counter", "Loads that threw");
+        caches.forEach(cache -> writer.sample("cache_load_failures_total", cache.getLoadFailures(),
+                "cache", cache.getName()));
+        writer.header("cache_evictions_total", "counter", "Entries evicted by the size bound");
+        caches.forEach(cache -> writer.sample("cache_evictions_total", cache.getEvictions(), "cache", cache.getName()));
+        writer.header("cache_expirations_total", "counter", "Entries dropped after their TTL");
+        caches.forEach(cache -> writer.sample("cache_expirations_total", cache.getExpirations(),
+                "cache", cache.getName()));
+        writer.header("cache_load_seconds_total", "counter", "Time spent loading entries");
+        caches.forEach(cache -> writer.sample("cache_load_seconds_total",
+                cache.getTotalLoadNanos() * NANOS_TO_SECONDS, "cache", cache.getName()));
+    }
+
+    private static void writeServices(PrometheusWriter writer) {
+        writer.gauge("sse_connections", "Open notification stream connections",
+                NotificationPushRegistry.getInstance().getConnectionCount());
+        FxRateSnapshot fx = FxRateService.getInstance().current();
+        writer.gauge("fx_snapshot_version", "Version of the FX rate snapshot in use", fx.getVersion());
+        writer.gauge("fx_rates", "Rates held in the FX snapshot, including derived inverses", fx.getRateCount());
+        writer.gauge("fx_snapshot_loaded_timestamp_seconds", "When the FX snapshot was loaded",
+                fx.getLoadedAt().toEpochMilli() / 1000.0);
+    }
+}
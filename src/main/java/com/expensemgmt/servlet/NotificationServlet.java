@@ -0,0 +1,116 @@
+package com.expensemgmt.servlet;
+
+import com.expensemgmt.model.Notification;
+import com.expensemgmt.model.User;
+import com.expensemgmt.service.NotificationFanoutService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Collections;
+
+/**
+ * Notification endpoints for the signed-in user:
+ * GET /notifications/unread-count, POST /notifications/read?id=..., POST /notifications/read-all,
+ * and, for administrators, POST /notifications/send with {@code {"message": "..."}} to
+ * notify everyone else in the organization.
+ */
+public class NotificationServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final NotificationFanoutService fanoutService = NotificationFanoutService.getInstance();
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        User user = currentUser(request, response);
+        if (user == null) {
+            return;
+        }
+        if (!"/unread-count".equals(request.getPathInfo())) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        try {
+            writeJson(response, "count", fanoutService.getUnreadCount(user.getId()));
+        } catch (SQLException e) {
+            throw new ServletException("Unable to count unread notifications", e);
+        }
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        User user = currentUser(request, response);
+        if (user == null) {
+            return;
+        }
+        String action = request.getPathInfo() != null ? request.getPathInfo() : "";
+        try {
+            switch (action) {
+                case "/read":
+                    String id = request.getParameter("id");
+                    if (id == null || id.isEmpty()) {
+                        response.sendError(HttpServletResponse.SC_BAD_REQUEST, "id is required");
+                        return;
+                    }
+                    writeJson(response, "updated", fanoutService.markAsRead(user.getId(), id));
+                    break;
+                case "/read-all":
+                    writeJson(response, "updated", fanoutService.markAllRead(user.getId()));
+                    break;
+                case "/send":
+                    send(user, request, response);
+                    break;
+                default:
+                    response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                    break;
+            }
+        } catch (SQLException e) {
+            throw new ServletException("Unable to update notifications", e);
+        }
+    }
+
+    private void send(User user, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!user.isAdmin()) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Only admins can send notifications");
+            return;
+        }
+        String message;
+        try {
+            JsonNode body = MAPPER.readTree(request.getInputStream());
+            message = body != null ? body.path("message").asText("").trim() : "";
+        } catch (JsonProcessingException e) {
+            message = "";
+        }
+        if (message.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Message is required");
+            return;
+        }
+        fanoutService.broadcast(user.getOrganizationId(), user.getId(), Notification.NotificationType.ANNOUNCEMENT, message);
+        response.setStatus(HttpServletResponse.SC_ACCEPTED);
+        writeJson(response, "queued", true);
+    }
+
+    private static User currentUser(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        HttpSession session = request.getSession(false);
+        User user = session != null ? (User) session.getAttribute("user") : null;
+        if (user == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+        }
+        return user;
+    }
+
+    private static void writeJson(HttpServletResponse response, String key, Object value) throws IOException {
+        response.setContentType("application/json");
+        MAPPER.writeValue(response.getOutputStream(), Collections.singletonMap(key, value));
+    }
+}
@@ -0,0 +1,98 @@
+package com.expensemgmt.servlet;
+
+import com.expensemgmt.model.User;
+import com.expensemgmt.service.NotificationPushRegistry;
+import com.expensemgmt.util.AppConfig;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-Sent Events stream of the signed-in user's new notifications, at /notifications/stream.
+ *
+ * The request is put into async mode and handed to {@link NotificationPushRegistry}, so an
+ * idle client holds no request thread and causes no database queries. Streams are closed
+ * after {@code sse.connectionTimeoutMinutes}; browsers reconnect with Last-Event-ID and
+ * receive what they missed. When the node is at {@code sse.maxConnections} the request is
+ * refused with 503 and a Retry-After header.
+ */
+public class NotificationStreamServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    private final NotificationPushRegistry registry = NotificationPushRegistry.getInstance();
+    private final long timeoutMillis = TimeUnit.MINUTES.toMillis(AppConfig.getLong("sse.connectionTimeoutMinutes", 30));
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        HttpSession session = request.getSession(false);
+        User user = session != null ? (User) session.getAttribute("user") : null;
+        if (user == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        if (!registry.tryReserve()) {
+            response.setHeader("Retry-After", "30");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many open notification streams");
+            return;
+        }
+
+        try {
+            response.setContentType("text/event-stream");
+            response.setCharacterEncoding("UTF-8");
+            response.setHeader("Cache-Control", "no-cache");
+            response.setHeader("X-Accel-Buffering", "no");
+            response.setBufferSize(2048);
+
+            AsyncContext context = request.startAsync();
+            context.setTimeout(timeoutMillis);
+            ServletOutputStream out = response.getOutputStream();
+            NotificationPushRegistry.Connection connection = registry.subscribe(user.getId(), context, out, lastEventId(request));
+            context.addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    connection.close();
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                    connection.close();
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                    connection.close();
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            // Not yet subscribed; give the slot back
+            registry.release();
+            throw e;
+        }
+        // Headers are committed by the registry's first write ("retry:"), on its own thread
+    }
+
+    private static String lastEventId(HttpServletRequest request) {
+        String value = request.getHeader("Last-Event-ID");
+        if (value == null) {
+            value = request.getParameter("lastEventId");
+        }
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        return value.trim();
+    }
+}
@@ -0,0 +1,64 @@
+package com.expensemgmt.servlet;
+
+import com.expensemgmt.dto.StoredReceipt;
+import com.expensemgmt.model.User;
+import com.expensemgmt.service.ReceiptStorageService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import javax.servlet.http.Part;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Accepts a multipart "receipt" part and returns its content-addressed URL as JSON.
+ */
+public class ReceiptUploadServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ReceiptStorageService storageService = ReceiptStorageService.getInstance();
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        HttpSession session = request.getSession(false);
+        User user = session != null ? (User) session.getAttribute("user") : null;
+        if (user == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
+        Part part = request.getPart("receipt");
+        if (part == null || part.getSize() == 0) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "A non-empty receipt file is required");
+            return;
+        }
+
+        StoredReceipt receipt;
+        try (InputStream in = part.getInputStream()) {
+            receipt = storageService.store(in, part.getSubmittedFileName(), part.getContentType());
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        } finally {
+            part.delete();
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("url", receipt.getUrl());
+        body.put("sha256", receipt.getSha256());
+        body.put("size", receipt.getSize());
+        body.put("duplicate", receipt.isDuplicate());
+        response.setStatus(receipt.isDuplicate() ? HttpServletResponse.SC_OK : HttpServletResponse.SC_CREATED);
+        response.setContentType("application/json");
+        MAPPER.writeValue(response.getOutputStream(), body);
+    }
+}
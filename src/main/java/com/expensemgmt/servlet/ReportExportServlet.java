@@ -0,0 +1,133 @@
+package com.expensemgmt.servlet;
+
+import com.expensemgmt.dao.ExpenseFilter;
+import com.expensemgmt.dao.ReportDao;
+import com.expensemgmt.model.User;
+import com.expensemgmt.util.CsvWriter;
+import com.expensemgmt.util.XlsxStreamWriter;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams the expense report as CSV or XLSX directly from a forward-only database
+ * cursor. Rows are written as they are read, so memory use does not depend on the
+ * number of rows exported.
+ *
+ * Parameters: format=csv|xlsx, from/to (ISO dates). Exports always cover the caller's own
+ * organization, and only their own expenses unless their role can view all.
+ */
+public class ReportExportServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String[] HEADER = {"Title", "Amount", "Currency", "Reporting Amount", "Reporting Currency",
+            "Status", "Employee", "Category", "Store", "Date"};
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ReportDao reportDao = new ReportDao();
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        HttpSession session = request.getSession(false);
+        User user = session != null ? (User) session.getAttribute("user") : null;
+        if (user == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
+        // Every role is scoped to its own organization, admins included
+        ExpenseFilter filter = new ExpenseFilter();
+        filter.setOrganizationId(user.getOrganizationId());
+        if (!user.canViewAllExpenses()) {
+            filter.setUserId(user.getId());
+        }
+        try {
+            filter.setFromDate(parseDate(request.getParameter("from")));
+            filter.setToDate(parseDate(request.getParameter("to")));
+        } catch (DateTimeParseException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Dates must be in yyyy-MM-dd format");
+            return;
+        }
+
+        boolean xlsx = "xlsx".equalsIgnoreCase(request.getParameter("format"));
+        try {
+            if (xlsx) {
+                exportXlsx(filter, response);
+            } else {
+                exportCsv(filter, request, response);
+            }
+        } catch (SQLException e) {
+            throw new ServletException("Report export failed", e);
+        }
+    }
+
+    private void exportCsv(ExpenseFilter filter, HttpServletRequest request, HttpServletResponse response)
+            throws IOException, SQLException {
+        response.setContentType("text/csv; charset=utf-8");
+        response.setHeader("Content-Disposition", "attachment; filename=expenses_export.csv");
+
+        OutputStream out = response.getOutputStream();
+        String acceptEncoding = request.getHeader("Accept-Encoding");
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            response.setHeader("Content-Encoding", "gzip");
+            response.addHeader("Vary", "Accept-Encoding");
+            out = new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+
+        try (CsvWriter csv = new CsvWriter(new BufferedWriter(
+                new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE))) {
+            csv.writeRow(HEADER);
+            reportDao.streamExpenseRows(filter, row -> csv.writeRow(
+                    row.getTitle(),
+                    row.getAmount() != null ? row.getAmount().toPlainString() : "",
+                    row.getCurrency(),
+                    row.getReportingAmount() != null ? row.getReportingAmount().toPlainString() : "",
+                    row.getReportingCurrency(),
+                    row.getStatus(),
+                    row.getEmployee(),
+                    row.getCategory(),
+                    row.getStore(),
+                    row.getDate() != null ? row.getDate().toString() : ""));
+        }
+    }
+
+    private void exportXlsx(ExpenseFilter filter, HttpServletResponse response) throws IOException, SQLException {
+        response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+        response.setHeader("Content-Disposition", "attachment; filename=expenses_export.xlsx");
+
+        try (XlsxStreamWriter xlsx = new XlsxStreamWriter(response.getOutputStream(), "Expenses")) {
+            xlsx.writeRow(HEADER);
+            reportDao.streamExpenseRows(filter, row -> {
+                xlsx.startRow();
+                xlsx.writeString(row.getTitle());
+                xlsx.writeNumber(row.getAmount());
+                xlsx.writeString(row.getCurrency());
+                xlsx.writeNumber(row.getReportingAmount());
+                xlsx.writeString(row.getReportingCurrency());
+                xlsx.writeString(row.getStatus());
+                xlsx.writeString(row.getEmployee());
+                xlsx.writeString(row.getCategory());
+                xlsx.writeString(row.getStore());
+                xlsx.writeString(row.getDate() != null ? row.getDate().toString() : null);
+                xlsx.endRow();
+            });
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        return value == null || value.trim().isEmpty() ? null : LocalDate.parse(value.trim());
+    }
+}
@@ -0,0 +1,58 @@
+package com.expensemgmt.servlet;
+
+import com.expensemgmt.model.User;
+import com.expensemgmt.service.ApprovalQueueService;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * Assigns a user's manager within the signed-in administrator's organization.
+ * Takes {@code userId} and {@code managerId}; an empty managerId clears the manager.
+ * The user's pending expenses move to the new manager's queue.
+ */
+public class TeamManagerServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ApprovalQueueService approvalQueueService = new ApprovalQueueService();
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        HttpSession session = request.getSession(false);
+        User user = session != null ? (User) session.getAttribute("user") : null;
+        if (user == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        if (!user.canManageUsers() || user.getOrganizationId() == null) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        String userId = request.getParameter("userId");
+        String managerId = request.getParameter("managerId");
+        if (userId == null || userId.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "A userId is required");
+            return;
+        }
+        if (managerId != null && managerId.isEmpty()) {
+            managerId = null;
+        }
+
+        try {
+            approvalQueueService.changeManager(user.getOrganizationId(), userId, managerId);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        } catch (SQLException e) {
+            throw new ServletException("Unable to change manager", e);
+        }
+        response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+    }
+}
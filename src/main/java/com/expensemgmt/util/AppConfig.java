@@ -0,0 +1,49 @@
+package com.expensemgmt.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Application settings loaded from application.properties on the classpath.
+ * A JVM system property with the same key overrides the file value.
+ */
+public final class AppConfig {
+    private static final String RESOURCE = "/application.properties";
+    private static final Properties PROPERTIES = new Properties();
+
+    static {
+        try (InputStream in = AppConfig.class.getResourceAsStream(RESOURCE)) {
+            if (in != null) {
+                PROPERTIES.load(in);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to load " + RESOURCE, e);
+        }
+    }
+
+    private AppConfig() {}
+
+    public static String get(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = PROPERTIES.getProperty(key);
+        }
+        return value != null ? value.trim() : defaultValue;
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = get(key, null);
+        return value != null && !value.isEmpty() ? Integer.parseInt(value) : defaultValue;
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        String value = get(key, null);
+        return value != null && !value.isEmpty() ? Long.parseLong(value) : defaultValue;
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key, null);
+        return value != null && !value.isEmpty() ? Boolean.parseBoolean(value) : defaultValue;
+    }
+}
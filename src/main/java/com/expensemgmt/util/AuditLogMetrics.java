@@ -0,0 +1,94 @@
+package com.expensemgmt.util;
+
+/**
+ * Point-in-time snapshot of the audit log writer.
+ */
+public class AuditLogMetrics {
+    private final String mode;
+    private final int queueDepth;
+    private final int queueCapacity;
+    private final long enqueued;
+    private final long written;
+    private final long failed;
+    private final long backpressureEvents;
+    private final long flushes;
+    private final long totalFlushNanos;
+    private final long maxFlushNanos;
+
+    public AuditLogMetrics(String mode, int queueDepth, int queueCapacity, long enqueued, long written, long failed,
+                           long backpressureEvents, long flushes, long totalFlushNanos, long maxFlushNanos) {
+        this.mode = mode;
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+        this.enqueued = enqueued;
+        this.written = written;
+        this.failed = failed;
+        this.backpressureEvents = backpressureEvents;
+        this.flushes = flushes;
+        this.totalFlushNanos = totalFlushNanos;
+        this.maxFlushNanos = maxFlushNanos;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public long getEnqueued() {
+        return enqueued;
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * Times the queue stayed full and the caller wrote its own rows instead.
+     */
+    public long getBackpressureEvents() {
+        return backpressureEvents;
+    }
+
+    public long getFlushes() {
+        return flushes;
+    }
+
+    public long getTotalFlushNanos() {
+        return totalFlushNanos;
+    }
+
+    public double getMeanFlushMillis() {
+        return flushes == 0 ? 0.0 : totalFlushNanos / (double) flushes / 1_000_000.0;
+    }
+
+    public double getMaxFlushMillis() {
+        return maxFlushNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return "AuditLogMetrics{" +
+                "mode=" + mode +
+                ", queueDepth=" + queueDepth +
+                ", queueCapacity=" + queueCapacity +
+                ", enqueued=" + enqueued +
+                ", written=" + written +
+                ", failed=" + failed +
+                ", backpressureEvents=" + backpressureEvents +
+                ", flushes=" + flushes +
+                ", meanFlushMillis=" + getMeanFlushMillis() +
+                ", maxFlushMillis=" + getMaxFlushMillis() +
+                '}';
+    }
+}
@@ -0,0 +1,77 @@
+package com.expensemgmt.util;
+
+/**
+ * Point-in-time snapshot of the JDBC connection pool.
+ */
+public class ConnectionPoolMetrics {
+    private final int active;
+    private final int idle;
+    private final int maxTotal;
+    private final long borrowCount;
+    private final long totalWaitNanos;
+    private final long maxWaitNanos;
+    private final long timeouts;
+    private final long failures;
+
+    public ConnectionPoolMetrics(int active, int idle, int maxTotal, long borrowCount,
+                                 long totalWaitNanos, long maxWaitNanos, long timeouts, long failures) {
+        this.active = active;
+        this.idle = idle;
+        this.maxTotal = maxTotal;
+        this.borrowCount = borrowCount;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.timeouts = timeouts;
+        this.failures = failures;
+    }
+
+    public int getActive() {
+        return active;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    public long getBorrowCount() {
+        return borrowCount;
+    }
+
+    public long getTotalWaitNanos() {
+        return totalWaitNanos;
+    }
+
+    public double getMeanWaitMillis() {
+        return borrowCount == 0 ? 0.0 : totalWaitNanos / (double) borrowCount / 1_000_000.0;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitNanos / 1_000_000.0;
+    }
+
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPoolMetrics{" +
+                "active=" + active +
+                ", idle=" + idle +
+                ", maxTotal=" + maxTotal +
+                ", borrowCount=" + borrowCount +
+                ", meanWaitMillis=" + getMeanWaitMillis() +
+                ", maxWaitMillis=" + getMaxWaitMillis() +
+                ", timeouts=" + timeouts +
+                ", failures=" + failures +
+                '}';
+    }
+}
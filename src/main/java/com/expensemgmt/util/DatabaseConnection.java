@@ -1,24 +1,95 @@
 package com.expensemgmt.util;
 
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 public class DatabaseConnection {
-    private static final String URL = "jdbc:mysql://localhost:3306/expense_mgmt";
-    private static final String USER = "root";
-    private static final String PASSWORD = "password"; // Change this to your MySQL password
+    private static final Logger log = LoggerFactory.getLogger(DatabaseConnection.class);
 
-    static {
-        try {
-            Class.forName("com.mysql.cj.jdbc.Driver");
-        } catch (ClassNotFoundException e) {
-            throw new RuntimeException("MySQL JDBC Driver not found", e);
-        }
+    private static final String DRIVER = "com.mysql.cj.jdbc.Driver";
+
+    private static final BasicDataSource DATA_SOURCE = createDataSource();
+
+    // Borrow statistics, recorded around every getConnection() call
+    private static final LongAdder BORROW_COUNT = new LongAdder();
+    private static final LongAdder BORROW_WAIT_NANOS = new LongAdder();
+    private static final AtomicLong MAX_BORROW_WAIT_NANOS = new AtomicLong();
+    private static final LongAdder BORROW_TIMEOUTS = new LongAdder();
+    private static final LongAdder BORROW_FAILURES = new LongAdder();
+
+    // Statement timing and slow-query logging (JdbcMetrics)
+    private static final boolean INSTRUMENTED = AppConfig.getBoolean("db.instrumentation.enabled", true);
+
+    private static BasicDataSource createDataSource() {
+        BasicDataSource ds = new BasicDataSource();
+        ds.setDriverClassName(AppConfig.get("db.driver", DRIVER));
+        ds.setUrl(AppConfig.get("db.url", "jdbc:mysql://localhost:3306/expense_mgmt?rewriteBatchedStatements=true"));
+        ds.setUsername(AppConfig.get("db.username", "root"));
+        ds.setPassword(AppConfig.get("db.password", "password"));
+
+        // Bounded pool size
+        ds.setInitialSize(AppConfig.getInt("db.pool.initialSize", 5));
+        ds.setMinIdle(AppConfig.getInt("db.pool.minIdle", 5));
+        ds.setMaxIdle(AppConfig.getInt("db.pool.maxIdle", 20));
+        ds.setMaxTotal(AppConfig.getInt("db.pool.maxTotal", 50));
+        ds.setMaxWaitMillis(AppConfig.getLong("db.pool.maxWaitMillis", 5000));
+
+        // Validation on borrow and while idle
+        ds.setValidationQuery(AppConfig.get("db.pool.validationQuery", "SELECT 1"));
+        ds.setValidationQueryTimeout(AppConfig.getInt("db.pool.validationQueryTimeoutSeconds", 2));
+        ds.setTestOnBorrow(AppConfig.getBoolean("db.pool.testOnBorrow", true));
+        ds.setTestWhileIdle(AppConfig.getBoolean("db.pool.testWhileIdle", true));
+        ds.setTimeBetweenEvictionRunsMillis(AppConfig.getLong("db.pool.timeBetweenEvictionRunsMillis", 30000));
+        ds.setMinEvictableIdleTimeMillis(AppConfig.getLong("db.pool.minEvictableIdleTimeMillis", 300000));
+
+        // Leak detection: reclaim and log connections that are never closed. Off by default:
+        // streaming cursors (report export, /api/expenses/stream, duplicate scans) hold one
+        // connection for minutes without touching it, and would be cut off at the timeout.
+        // When enabled, the timeout must exceed the longest export.
+        boolean removeAbandoned = AppConfig.getBoolean("db.pool.removeAbandoned", false);
+        ds.setRemoveAbandonedOnBorrow(removeAbandoned);
+        ds.setRemoveAbandonedOnMaintenance(removeAbandoned);
+        ds.setRemoveAbandonedTimeout(AppConfig.getInt("db.pool.removeAbandonedTimeoutSeconds", 3600));
+        ds.setLogAbandoned(AppConfig.getBoolean("db.pool.logAbandoned", true));
+        ds.setAbandonedUsageTracking(AppConfig.getBoolean("db.pool.abandonedUsageTracking", false));
+
+        ds.setJmxName(AppConfig.get("db.pool.jmxName", "com.expensemgmt:type=DataSource,name=expense_mgmt"));
+        return ds;
+    }
+
+    public static DataSource getDataSource() {
+        return DATA_SOURCE;
+    }
+
+    /**
+     * Creates the pool and its initial connections now rather than on the first borrow.
+     */
+    public static void start() throws SQLException {
+        DATA_SOURCE.start();
     }
 
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(URL, USER, PASSWORD);
+        long start = System.nanoTime();
+        try {
+            Connection connection = DATA_SOURCE.getConnection();
+            recordBorrow(System.nanoTime() - start);
+            return INSTRUMENTED ? JdbcMetrics.wrap(connection) : connection;
+        } catch (SQLException e) {
+            if (e.getCause() instanceof NoSuchElementException) {
+                BORROW_TIMEOUTS.increment();
+            } else {
+                BORROW_FAILURES.increment();
+            }
+            throw e;
+        }
     }
 
     public static void closeConnection(Connection connection) {
@@ -26,8 +97,34 @@ public class DatabaseConnection {
             try {
                 connection.close();
             } catch (SQLException e) {
-                e.printStackTrace();
+                log.warn("Failed to close connection", e);
             }
         }
     }
+
+    public static ConnectionPoolMetrics getPoolMetrics() {
+        return new ConnectionPoolMetrics(
+                DATA_SOURCE.getNumActive(),
+                DATA_SOURCE.getNumIdle(),
+                DATA_SOURCE.getMaxTotal(),
+                BORROW_COUNT.sum(),
+                BORROW_WAIT_NANOS.sum(),
+                MAX_BORROW_WAIT_NANOS.get(),
+                BORROW_TIMEOUTS.sum(),
+                BORROW_FAILURES.sum());
+    }
+
+    public static void shutdown() {
+        try {
+            DATA_SOURCE.close();
+        } catch (SQLException e) {
+            log.warn("Failed to close the connection pool", e);
+        }
+    }
+
+    private static void recordBorrow(long waitNanos) {
+        BORROW_COUNT.increment();
+        BORROW_WAIT_NANOS.add(waitNanos);
+        MAX_BORROW_WAIT_NANOS.accumulateAndGet(waitNanos, Math::max);
+    }
 }
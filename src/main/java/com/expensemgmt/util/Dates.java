@@ -0,0 +1,25 @@
+package com.expensemgmt.util;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Conversions for the {@link Date} values the model carries.
+ */
+public final class Dates {
+
+    private Dates() {}
+
+    /**
+     * The calendar date of {@code date} in the JVM's time zone, or null when it is null.
+     * java.sql.Date from the driver does not support toInstant(), so it is converted directly.
+     */
+    public static LocalDate toLocalDate(Date date) {
+        if (date == null) {
+            return null;
+        }
+        return date instanceof java.sql.Date ? ((java.sql.Date) date).toLocalDate()
+                : date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+}
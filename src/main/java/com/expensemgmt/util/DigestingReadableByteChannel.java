@@ -0,0 +1,55 @@
+package com.expensemgmt.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.security.MessageDigest;
+
+/**
+ * Feeds every byte read through a {@link MessageDigest}, so content can be hashed while
+ * it is copied instead of in a second pass. Also remembers whether end-of-stream was hit,
+ * which {@code FileChannel.transferFrom} does not report.
+ */
+public class DigestingReadableByteChannel implements ReadableByteChannel {
+
+    private final ReadableByteChannel delegate;
+    private final MessageDigest digest;
+    private boolean endOfStream;
+
+    public DigestingReadableByteChannel(ReadableByteChannel delegate, MessageDigest digest) {
+        this.delegate = delegate;
+        this.digest = digest;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        int start = dst.position();
+        int read = delegate.read(dst);
+        if (read > 0) {
+            ByteBuffer view = dst.duplicate();
+            view.flip().position(start);
+            digest.update(view);
+        } else if (read < 0) {
+            endOfStream = true;
+        }
+        return read;
+    }
+
+    public boolean isEndOfStream() {
+        return endOfStream;
+    }
+
+    public byte[] digest() {
+        return digest.digest();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return delegate.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+}
@@ -0,0 +1,244 @@
+package com.expensemgmt.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Times every statement run on connections from {@link DatabaseConnection}.
+ *
+ * Connections are wrapped in a dynamic proxy that hands out proxied statements; each
+ * {@code execute*} call is recorded in a per-kind latency histogram (select, insert,
+ * update, delete, other), and calls slower than {@code db.slowQueryMillis} are logged with
+ * their SQL text. Queries are also counted against the current request, if the thread is
+ * serving one (see MetricsFilter), so pages issuing a query per row show up as N+1.
+ */
+public final class JdbcMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcMetrics.class);
+
+    private static final long SLOW_QUERY_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(AppConfig.getLong("db.slowQueryMillis", 500));
+    private static final int MAX_LOGGED_SQL_LENGTH = 2000;
+
+    private static final ConcurrentHashMap<String, Histogram> LATENCY_MICROS = new ConcurrentHashMap<>();
+    private static final LongAdder SLOW_QUERIES = new LongAdder();
+    private static final LongAdder FAILED_QUERIES = new LongAdder();
+    private static final ThreadLocal<RequestQueries> CURRENT_REQUEST = new ThreadLocal<>();
+
+    private JdbcMetrics() {
+    }
+
+    public static Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    /**
+     * Starts counting this thread's queries for a request. Returns the previous counter, if any,
+     * to be restored with {@link #endRequest(RequestQueries)} (forwards nest).
+     */
+    public static RequestQueries beginRequest() {
+        RequestQueries previous = CURRENT_REQUEST.get();
+        CURRENT_REQUEST.set(new RequestQueries());
+        return previous;
+    }
+
+    /**
+     * Stops counting for the current request and returns what it ran.
+     */
+    public static RequestQueries endRequest(RequestQueries previous) {
+        RequestQueries current = CURRENT_REQUEST.get();
+        if (previous != null) {
+            previous.add(current);
+            CURRENT_REQUEST.set(previous);
+        } else {
+            CURRENT_REQUEST.remove();
+        }
+        return current != null ? current : new RequestQueries();
+    }
+
+    /**
+     * Statement latency histograms in microseconds, by statement kind.
+     */
+    public static Map<String, Histogram> getLatencyHistograms() {
+        return Collections.unmodifiableMap(new TreeMap<>(LATENCY_MICROS));
+    }
+
+    public static long getSlowQueryCount() {
+        return SLOW_QUERIES.sum();
+    }
+
+    public static long getFailedQueryCount() {
+        return FAILED_QUERIES.sum();
+    }
+
+    static void record(String sql, long nanos, boolean failed) {
+        LATENCY_MICROS.computeIfAbsent(kindOf(sql), k -> new Histogram()).record(nanos / 1_000);
+        if (failed) {
+            FAILED_QUERIES.increment();
+        }
+        RequestQueries request = CURRENT_REQUEST.get();
+        if (request != null) {
+            request.count++;
+            request.nanos += nanos;
+        }
+        if (nanos >= SLOW_QUERY_NANOS) {
+            SLOW_QUERIES.increment();
+            String text = sql == null ? "<unknown>" : sql.length() > MAX_LOGGED_SQL_LENGTH
+                    ? sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "..." : sql;
+            log.warn("Slow query ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(nanos), text);
+        }
+    }
+
+    static String kindOf(String sql) {
+        if (sql == null) {
+            return "other";
+        }
+        int start = 0;
+        while (start < sql.length() && (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) {
+            start++;
+        }
+        int end = start;
+        while (end < sql.length() && Character.isLetter(sql.charAt(end))) {
+            end++;
+        }
+        String verb = sql.substring(start, end).toLowerCase(Locale.ROOT);
+        switch (verb) {
+            case "select":
+            case "insert":
+            case "update":
+            case "delete":
+                return verb;
+            case "with":
+                return "select";
+            default:
+                return "other";
+        }
+    }
+
+    private static boolean isIdentityMethod(Method method) {
+        return method.getDeclaringClass() == Object.class && !method.getName().equals("toString");
+    }
+
+    /**
+     * equals and hashCode on the proxy itself, so proxies behave as map keys.
+     */
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return method.getName().equals("equals") ? proxy == args[0] : System.identityHashCode(proxy);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Queries run on one request thread. Only touched by that thread.
+     */
+    public static final class RequestQueries {
+        private long count;
+        private long nanos;
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        void add(RequestQueries other) {
+            if (other != null) {
+                count += other.count;
+                nanos += other.nanos;
+            }
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            Object result = JdbcMetrics.invoke(target, method, args);
+            if (result instanceof Statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                Class<?> type = result instanceof CallableStatement ? CallableStatement.class
+                        : result instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{type},
+                        new StatementHandler((Statement) result, (Connection) proxy, sql));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final Connection connection;
+        private final String preparedSql;
+        private String batchSql;
+
+        StatementHandler(Statement target, Connection connection, String preparedSql) {
+            this.target = target;
+            this.connection = connection;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            String name = method.getName();
+            if (name.equals("getConnection")) {
+                return connection;
+            }
+            if (name.equals("addBatch") && args != null && args.length == 1 && batchSql == null) {
+                batchSql = (String) args[0];
+            }
+            if (!name.startsWith("execute")) {
+                return JdbcMetrics.invoke(target, method, args);
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0]
+                    : preparedSql != null ? preparedSql : batchSql;
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = JdbcMetrics.invoke(target, method, args);
+                failed = false;
+                return result;
+            } finally {
+                record(sql, System.nanoTime() - start, failed);
+                if (name.equals("executeBatch")) {
+                    batchSql = null;
+                }
+            }
+        }
+    }
+}
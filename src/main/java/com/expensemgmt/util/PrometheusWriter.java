@@ -0,0 +1,88 @@
+package com.expensemgmt.util;
+
+import java.io.PrintWriter;
+
+/**
+ * Writes metrics in the Prometheus text exposition format (version 0.0.4).
+ * Labels are passed as alternating name, value pairs.
+ */
+public class PrometheusWriter {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final PrintWriter out;
+
+    public PrometheusWriter(PrintWriter out) {
+        this.out = out;
+    }
+
+    public PrometheusWriter header(String name, String type, String help) {
+        out.print("# HELP ");
+        out.print(name);
+        out.print(' ');
+        out.println(help.replace("\\", "\\\\").replace("\n", "\\n"));
+        out.print("# TYPE ");
+        out.print(name);
+        out.print(' ');
+        out.println(type);
+        return this;
+    }
+
+    public PrometheusWriter sample(String name, double value, String... labels) {
+        out.print(name);
+        if (labels.length > 0) {
+            out.print('{');
+            for (int i = 0; i + 1 < labels.length; i += 2) {
+                if (i > 0) {
+                    out.print(',');
+                }
+                out.print(labels[i]);
+                out.print("=\"");
+                out.print(escape(labels[i + 1]));
+                out.print('"');
+            }
+            out.print('}');
+        }
+        out.print(' ');
+        out.println(format(value));
+        return this;
+    }
+
+    public PrometheusWriter gauge(String name, String help, double value) {
+        return header(name, "gauge", help).sample(name, value);
+    }
+
+    public PrometheusWriter counter(String name, String help, double value) {
+        return header(name, "counter", help).sample(name, value);
+    }
+
+    /**
+     * Quantile, _sum and _count samples of a summary; the header is written separately, once per name.
+     * {@code scale} converts the histogram's unit into the exported one (1e-6 for microseconds to seconds).
+     */
+    public PrometheusWriter summary(String name, Histogram histogram, double scale, String... labels) {
+        String[] withQuantile = new String[labels.length + 2];
+        System.arraycopy(labels, 0, withQuantile, 0, labels.length);
+        withQuantile[labels.length] = "quantile";
+        for (double quantile : QUANTILES) {
+            withQuantile[labels.length + 1] = Double.toString(quantile);
+            sample(name, histogram.getValueAtQuantile(quantile) * scale, withQuantile);
+        }
+        sample(name + "_sum", histogram.getSum() * scale, labels);
+        sample(name + "_count", histogram.getCount(), labels);
+        return this;
+    }
+
+    private static String escape(String value) {
+        return value == null ? "" : value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String format(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+}
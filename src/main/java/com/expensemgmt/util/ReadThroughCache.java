@@ -0,0 +1,260 @@
+package com.expensemgmt.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Size-bounded, time-limited cache that loads missing values itself.
+ *
+ * Entries live in an access-ordered map, so once {@code maxEntries} is exceeded the least
+ * recently read entry is evicted; each entry also expires {@code ttl} after it was loaded.
+ * Concurrent misses for the same key share one load: the first caller runs the loader and
+ * the others wait for its result, so an expiry under load costs one query, not one per
+ * request. A load that finishes after {@link #invalidate(Object)} for its key returns its
+ * value to the waiting callers but is not stored.
+ *
+ * A cache built with a refresher reloads entries on it once they are {@code refreshAfter}
+ * old, serving the current value meanwhile, so entries that are read regularly never
+ * expire; {@link #getNow(Object)} also loads missing entries there instead of waiting.
+ */
+public class ReadThroughCache<K, V> {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadThroughCache.class);
+
+    @FunctionalInterface
+    public interface Loader<K, V> {
+        V load(K key) throws SQLException;
+    }
+
+    private final String name;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long refreshAfterNanos;
+    private final Loader<K, V> loader;
+    private final Executor refresher;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder totalLoadNanos = new LongAdder();
+
+    public ReadThroughCache(String name, int maxEntries, long ttl, TimeUnit unit, Loader<K, V> loader) {
+        // Loads run on the calling thread, and entries expire before they are due for a refresh
+        this(name, maxEntries, ttl, ttl, unit, loader, Runnable::run);
+    }
+
+    public ReadThroughCache(String name, int maxEntries, long ttl, long refreshAfter, TimeUnit unit,
+                            Loader<K, V> loader, Executor refresher) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.refreshAfterNanos = unit.toNanos(refreshAfter);
+        this.loader = loader;
+        this.refresher = refresher;
+        this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > ReadThroughCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * The cached value for {@code key}, loading it if absent or expired.
+     */
+    public V get(K key) throws SQLException {
+        Entry<V> entry = present(key);
+        if (entry != null) {
+            hits.increment();
+            refreshIfDue(key, entry);
+            return entry.value;
+        }
+        misses.increment();
+
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> running = loading.putIfAbsent(key, future);
+        if (running != null) {
+            return await(running);
+        }
+        return load(key, future);
+    }
+
+    /**
+     * The cached value for {@code key}, or null when it is absent or expired; it is then
+     * loaded on the refresher, and a later call returns it. Never waits for the loader.
+     */
+    public V getNow(K key) {
+        Entry<V> entry = present(key);
+        if (entry != null) {
+            hits.increment();
+            refreshIfDue(key, entry);
+            return entry.value;
+        }
+        misses.increment();
+        loadInBackground(key);
+        return null;
+    }
+
+    /**
+     * The cached value, or null when absent or expired. Never loads and does not count as a hit or miss.
+     */
+    public V getIfPresent(K key) {
+        Entry<V> entry = present(key);
+        return entry != null ? entry.value : null;
+    }
+
+    private Entry<V> present(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.loadedAt >= ttlNanos) {
+                entries.remove(key);
+                expirations.increment();
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    private void refreshIfDue(K key, Entry<V> entry) {
+        if (System.nanoTime() - entry.loadedAt >= refreshAfterNanos) {
+            loadInBackground(key);
+        }
+    }
+
+    private void loadInBackground(K key) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        if (loading.putIfAbsent(key, future) != null) {
+            return;
+        }
+        try {
+            refresher.execute(() -> {
+                try {
+                    load(key, future);
+                } catch (SQLException | RuntimeException e) {
+                    log.warn("Background load of {} for cache {} failed", key, name, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            loading.remove(key, future);
+            future.completeExceptionally(e);
+        }
+    }
+
+    private V load(K key, CompletableFuture<V> future) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            V value = loader.load(key);
+            // Only store if no invalidate() detached this load in the meantime
+            synchronized (entries) {
+                if (loading.remove(key, future) && value != null) {
+                    entries.put(key, new Entry<>(value, System.nanoTime()));
+                }
+            }
+            future.complete(value);
+            return value;
+        } catch (SQLException | RuntimeException e) {
+            loadFailures.increment();
+            loading.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            totalLoadNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Drops the key and detaches any load in progress for it. Call after a write to the underlying data.
+     */
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+            loading.remove(key);
+        }
+        invalidations.increment();
+    }
+
+    /**
+     * Drops every key matching {@code filter}, detaching their loads in progress.
+     */
+    public void invalidateIf(Predicate<? super K> filter) {
+        synchronized (entries) {
+            entries.keySet().removeIf(filter);
+            loading.keySet().removeIf(filter);
+        }
+        invalidations.increment();
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            loading.clear();
+        }
+        invalidations.increment();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public CacheMetrics getMetrics() {
+        return new CacheMetrics(name, size(), maxEntries, hits.sum(), misses.sum(), loadFailures.sum(),
+                evictions.sum(), expirations.sum(), invalidations.sum(), totalLoadNanos.sum());
+    }
+
+    private static <V> V await(CompletableFuture<V> future) throws SQLException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a cache load", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long loadedAt;
+
+        Entry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
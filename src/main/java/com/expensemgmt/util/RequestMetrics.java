@@ -0,0 +1,90 @@
+package com.expensemgmt.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-route request statistics recorded by MetricsFilter. Routes are servlet mapping
+ * patterns or JSP paths, never raw URIs, so the number of series stays bounded; past
+ * {@code metrics.maxRoutes} new routes are folded into "other". Methods outside the
+ * standard set are recorded as "OTHER", since the method string comes from the client.
+ */
+public final class RequestMetrics {
+
+    private static final int MAX_ROUTES = AppConfig.getInt("metrics.maxRoutes", 200);
+    private static final String OVERFLOW_ROUTE = "other";
+    private static final String OTHER_METHOD = "OTHER";
+    private static final Set<String> METHODS = new HashSet<>(Arrays.asList(
+            "GET", "POST", "PUT", "DELETE", "PATCH", "HEAD", "OPTIONS"));
+
+    private static final ConcurrentHashMap<String, Route> ROUTES = new ConcurrentHashMap<>();
+
+    private RequestMetrics() {
+    }
+
+    public static Route route(String requestMethod, String path) {
+        String method = METHODS.contains(requestMethod) ? requestMethod : OTHER_METHOD;
+        String key = method + ' ' + path;
+        Route route = ROUTES.get(key);
+        if (route != null) {
+            return route;
+        }
+        if (ROUTES.size() >= MAX_ROUTES) {
+            return ROUTES.computeIfAbsent(method + ' ' + OVERFLOW_ROUTE, k -> new Route(method, OVERFLOW_ROUTE));
+        }
+        return ROUTES.computeIfAbsent(key, k -> new Route(method, path));
+    }
+
+    public static Collection<Route> getRoutes() {
+        return new ArrayList<>(ROUTES.values());
+    }
+
+    public static final class Route {
+        private final String method;
+        private final String path;
+        private final Histogram latencyMicros = new Histogram();
+        private final Histogram queries = new Histogram();
+        private final LongAdder serverErrors = new LongAdder();
+
+        Route(String method, String path) {
+            this.method = method;
+            this.path = path;
+        }
+
+        public void record(long nanos, long queryCount, int status) {
+            latencyMicros.record(nanos / 1_000);
+            queries.record(queryCount);
+            if (status >= 500) {
+                serverErrors.increment();
+            }
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public Histogram getLatencyMicros() {
+            return latencyMicros;
+        }
+
+        /**
+         * JDBC statements run per request.
+         */
+        public Histogram getQueries() {
+            return queries;
+        }
+
+        public long getServerErrors() {
+            return serverErrors.sum();
+        }
+    }
+}
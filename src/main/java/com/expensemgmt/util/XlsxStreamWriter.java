@@ -0,0 +1,150 @@
+package com.expensemgmt.util;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes a single-sheet .xlsx workbook row by row straight into a zip stream.
+ * Strings are written inline (no shared-strings table), so nothing is buffered
+ * beyond the current row and memory stays constant for any number of rows.
+ */
+public class XlsxStreamWriter implements Closeable {
+
+    private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+    private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String REL_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String PKG_REL_NS = "http://schemas.openxmlformats.org/package/2006/relationships";
+
+    private final ZipOutputStream zip;
+    private final Writer sheet;
+    private long rowNumber;
+    private boolean inRow;
+
+    public XlsxStreamWriter(OutputStream out, String sheetName) throws IOException {
+        this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        writeEntry("[Content_Types].xml", XML_HEADER +
+                "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">" +
+                "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>" +
+                "<Default Extension=\"xml\" ContentType=\"application/xml\"/>" +
+                "<Override PartName=\"/xl/workbook.xml\" " +
+                "ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>" +
+                "<Override PartName=\"/xl/worksheets/sheet1.xml\" " +
+                "ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>" +
+                "</Types>");
+        writeEntry("_rels/.rels", XML_HEADER +
+                "<Relationships xmlns=\"" + PKG_REL_NS + "\">" +
+                "<Relationship Id=\"rId1\" Type=\"" + REL_NS + "/officeDocument\" Target=\"xl/workbook.xml\"/>" +
+                "</Relationships>");
+        writeEntry("xl/workbook.xml", XML_HEADER +
+                "<workbook xmlns=\"" + MAIN_NS + "\" xmlns:r=\"" + REL_NS + "\"><sheets>" +
+                "<sheet name=\"" + escape(sheetName) + "\" sheetId=\"1\" r:id=\"rId1\"/>" +
+                "</sheets></workbook>");
+        writeEntry("xl/_rels/workbook.xml.rels", XML_HEADER +
+                "<Relationships xmlns=\"" + PKG_REL_NS + "\">" +
+                "<Relationship Id=\"rId1\" Type=\"" + REL_NS + "/worksheet\" Target=\"worksheets/sheet1.xml\"/>" +
+                "</Relationships>");
+
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+        this.sheet = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), 16 * 1024);
+        sheet.write(XML_HEADER);
+        sheet.write("<worksheet xmlns=\"" + MAIN_NS + "\"><sheetData>");
+    }
+
+    public void startRow() throws IOException {
+        if (inRow) {
+            endRow();
+        }
+        rowNumber++;
+        sheet.write("<row r=\"");
+        sheet.write(Long.toString(rowNumber));
+        sheet.write("\">");
+        inRow = true;
+    }
+
+    public void writeString(String value) throws IOException {
+        if (value == null) {
+            sheet.write("<c/>");
+            return;
+        }
+        sheet.write("<c t=\"inlineStr\"><is><t>");
+        sheet.write(escape(value));
+        sheet.write("</t></is></c>");
+    }
+
+    public void writeNumber(BigDecimal value) throws IOException {
+        if (value == null) {
+            sheet.write("<c/>");
+            return;
+        }
+        sheet.write("<c><v>");
+        sheet.write(value.toPlainString());
+        sheet.write("</v></c>");
+    }
+
+    public void endRow() throws IOException {
+        sheet.write("</row>");
+        inRow = false;
+    }
+
+    public void writeRow(String... cells) throws IOException {
+        startRow();
+        for (String cell : cells) {
+            writeString(cell);
+        }
+        endRow();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (inRow) {
+            endRow();
+        }
+        sheet.write("</sheetData></worksheet>");
+        sheet.flush();
+        zip.closeEntry();
+        zip.finish();
+        zip.flush();
+    }
+
+    private void writeEntry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    static String escape(String value) {
+        StringBuilder sb = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String replacement;
+            switch (c) {
+                case '&': replacement = "&amp;"; break;
+                case '<': replacement = "&lt;"; break;
+                case '>': replacement = "&gt;"; break;
+                case '"': replacement = "&quot;"; break;
+                default:
+                    // Control characters other than tab/newline are not allowed in XML 1.0
+                    replacement = c < 0x20 && c != '\t' && c != '\n' && c != '\r' ? "" : null;
+            }
+            if (replacement != null && sb == null) {
+                sb = new StringBuilder(value.length() + 16).append(value, 0, i);
+            }
+            if (sb != null) {
+                if (replacement != null) {
+                    sb.append(replacement);
+                } else {
+                    sb.append(c);
+                }
+            }
+        }
+        return sb != null ? sb.toString() : value;
+    }
+}
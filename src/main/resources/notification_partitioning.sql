@@ -0,0 +1,26 @@
+-- Optional: monthly range partitioning of the notification table on created_at.
+--
+-- Apply once to a database created from schema.sql, then set
+-- notifications.partitioning.enabled=true so NotificationRetentionJob creates upcoming
+-- months and drops months older than notifications.partitioning.retentionMonths.
+--
+-- MySQL requires the partitioning column in every unique key and does not support foreign
+-- keys on partitioned InnoDB tables. The primary key therefore becomes (id, created_at) and
+-- the user_id foreign key is dropped; the retention job deletes notifications of removed
+-- users instead of relying on ON DELETE CASCADE.
+--
+-- p_history holds everything before the first monthly partition. Set its bound to the first
+-- day of the current month; the job adds the current and following months on its next run.
+
+ALTER TABLE notification DROP FOREIGN KEY notification_ibfk_1;
+
+ALTER TABLE notification
+    MODIFY created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, created_at);
+
+ALTER TABLE notification
+    PARTITION BY RANGE COLUMNS(created_at) (
+        PARTITION p_history VALUES LESS THAN ('2026-10-01'),
+        PARTITION p_future VALUES LESS THAN MAXVALUE
+    );
@@ -15,6 +15,9 @@ CREATE TABLE organization (
     tax_id VARCHAR(100),
     industry VARCHAR(100),
     size VARCHAR(50),
+    currency VARCHAR(3) DEFAULT 'USD',
+    max_users INT,
+    max_expenses_per_month INT,
     created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
     updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 );
@@ -27,11 +30,13 @@ CREATE TABLE user (
     password VARCHAR(255) NOT NULL,
     role ENUM('ADMIN', 'MANAGER', 'ACCOUNTANT', 'EMPLOYEE') DEFAULT 'EMPLOYEE',
     organization_id BIGINT,
+    manager_id BIGINT,
     is_active BOOLEAN DEFAULT TRUE,
     last_login DATETIME,
     created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
     updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-    FOREIGN KEY (organization_id) REFERENCES organization(id) ON DELETE SET NULL
+    FOREIGN KEY (organization_id) REFERENCES organization(id) ON DELETE SET NULL,
+    FOREIGN KEY (manager_id) REFERENCES user(id) ON DELETE SET NULL
 );
 
 -- Create category table
@@ -74,6 +79,7 @@ CREATE TABLE policy (
     max_amount DECIMAL(10,2),
     requires_receipt BOOLEAN DEFAULT TRUE,
     requires_approval BOOLEAN DEFAULT FALSE,
+    approval_threshold DECIMAL(10,2),
     organization_id BIGINT,
     is_active BOOLEAN DEFAULT TRUE,
     created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
@@ -89,6 +95,7 @@ CREATE TABLE budget (
     description TEXT,
     amount DECIMAL(10,2) NOT NULL,
     spent DECIMAL(10,2) DEFAULT 0.00,
+    alert_threshold DECIMAL(3,2) DEFAULT 0.80,
     period ENUM('MONTHLY', 'QUARTERLY', 'YEARLY') DEFAULT 'MONTHLY',
     start_date DATE NOT NULL,
     end_date DATE NOT NULL,
@@ -110,7 +117,7 @@ CREATE TABLE expense (
     currency VARCHAR(3) DEFAULT 'USD',
     date DATE NOT NULL,
     receipt_url VARCHAR(500),
-    status ENUM('PENDING', 'APPROVED', 'REJECTED', 'REIMBURSED') DEFAULT 'PENDING',
+    status ENUM('DRAFT', 'PENDING', 'APPROVED', 'REJECTED', 'REIMBURSED') DEFAULT 'PENDING',
     category_id BIGINT,
     store_id BIGINT,
     user_id BIGINT NOT NULL,
@@ -118,6 +125,8 @@ CREATE TABLE expense (
     approved_at DATETIME,
     rejected_reason TEXT,
     organization_id BIGINT,
+    reporting_amount DECIMAL(16,2),
+    reporting_currency VARCHAR(3),
     created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
     updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (category_id) REFERENCES category(id) ON DELETE SET NULL,
@@ -132,10 +141,14 @@ CREATE TABLE notification (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     title VARCHAR(255) NOT NULL,
     message TEXT NOT NULL,
-    type ENUM('INFO', 'WARNING', 'ERROR', 'SUCCESS') DEFAULT 'INFO',
+    type VARCHAR(50) DEFAULT 'INFO',
     user_id BIGINT NOT NULL,
+    reference_id BIGINT,
+    reference_type VARCHAR(50),
     is_read BOOLEAN DEFAULT FALSE,
+    read_at DATETIME,
     created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    expires_at DATETIME,
     FOREIGN KEY (user_id) REFERENCES user(id) ON DELETE CASCADE
 );
 
@@ -154,19 +167,78 @@ CREATE TABLE audit_log (
     FOREIGN KEY (user_id) REFERENCES user(id) ON DELETE SET NULL
 );
 
+-- Monthly expense rollups, maintained by ExpenseRollupJob.
+-- category_id/store_id use 0 for "none" because primary key columns cannot be NULL.
+CREATE TABLE expense_rollup_monthly (
+    organization_id BIGINT NOT NULL,
+    month DATE NOT NULL,
+    category_id BIGINT NOT NULL DEFAULT 0,
+    store_id BIGINT NOT NULL DEFAULT 0,
+    status VARCHAR(20) NOT NULL,
+    currency VARCHAR(3) NOT NULL DEFAULT 'USD',
+    expense_count INT NOT NULL,
+    amount_sum DECIMAL(16,2) NOT NULL,
+    PRIMARY KEY (organization_id, month, category_id, store_id, status, currency)
+);
+
+-- FX rates loaded into memory by FxRateService: on rate_date, 1 base_currency = rate quote_currency
+CREATE TABLE fx_rate (
+    rate_date DATE NOT NULL,
+    base_currency VARCHAR(3) NOT NULL,
+    quote_currency VARCHAR(3) NOT NULL,
+    rate DECIMAL(18,8) NOT NULL,
+    PRIMARY KEY (rate_date, base_currency, quote_currency)
+);
+
+-- High-water marks for incremental background jobs
+CREATE TABLE job_watermark (
+    name VARCHAR(100) PRIMARY KEY,
+    last_updated_at DATETIME NOT NULL
+);
+
+-- Reporting-hierarchy closure: one row per (ancestor, descendant) pair, including each user
+-- with itself at depth 0. Rebuilt per organization by HierarchyDao when managers change.
+CREATE TABLE user_hierarchy (
+    organization_id BIGINT NOT NULL,
+    ancestor_id BIGINT NOT NULL,
+    descendant_id BIGINT NOT NULL,
+    depth INT NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id),
+    FOREIGN KEY (organization_id) REFERENCES organization(id) ON DELETE CASCADE,
+    FOREIGN KEY (ancestor_id) REFERENCES user(id) ON DELETE CASCADE,
+    FOREIGN KEY (descendant_id) REFERENCES user(id) ON DELETE CASCADE
+);
+
 -- Create indexes for better performance
 CREATE INDEX idx_user_email ON user(email);
 CREATE INDEX idx_user_organization ON user(organization_id);
+CREATE INDEX idx_user_manager ON user(manager_id);
+CREATE INDEX idx_user_hierarchy_organization ON user_hierarchy(organization_id);
+CREATE INDEX idx_user_hierarchy_descendant ON user_hierarchy(descendant_id, depth);
 CREATE INDEX idx_expense_user ON expense(user_id);
 CREATE INDEX idx_expense_category ON expense(category_id);
 CREATE INDEX idx_expense_store ON expense(store_id);
 CREATE INDEX idx_expense_status ON expense(status);
 CREATE INDEX idx_expense_date ON expense(date);
 CREATE INDEX idx_expense_organization ON expense(organization_id);
+-- Covering indexes for the dashboard aggregates (DashboardStatsDao)
+CREATE INDEX idx_expense_org_status_date_currency_amount ON expense(organization_id, status, date, currency, amount);
+CREATE INDEX idx_expense_org_category_date_currency_amount ON expense(organization_id, category_id, date, currency, amount);
+CREATE INDEX idx_expense_user_org_status_category_date ON expense(user_id, organization_id, status, category_id, date, currency, amount);
+CREATE INDEX idx_expense_updated_at ON expense(updated_at);
+CREATE INDEX idx_expense_receipt_url ON expense(receipt_url);
+-- Approval queues (ApprovalQueueService): assigned approver, and submitter for team queues
+CREATE INDEX idx_expense_org_status_approver ON expense(organization_id, status, approver_id, date);
+CREATE INDEX idx_expense_user_status_date ON expense(user_id, status, date);
+-- Monthly expense quota counts (ExpenseQuotaService)
+CREATE INDEX idx_expense_org_created_at ON expense(organization_id, created_at);
+-- Expense search (ExpenseSearchService); ngram tokens match inside words and tolerate typos
+CREATE FULLTEXT INDEX ft_expense_title_description ON expense(title, description) WITH PARSER ngram;
+CREATE FULLTEXT INDEX ft_store_name ON store(name) WITH PARSER ngram;
 CREATE INDEX idx_category_organization ON category(organization_id);
 CREATE INDEX idx_store_organization ON store(organization_id);
-CREATE INDEX idx_policy_organization ON policy(organization_id);
+CREATE INDEX idx_policy_organization ON policy(organization_id, is_active);
 CREATE INDEX idx_budget_organization ON budget(organization_id);
-CREATE INDEX idx_notification_user ON notification(user_id);
+CREATE INDEX idx_notification_user_read ON notification(user_id, is_read);
 CREATE INDEX idx_audit_log_table_record ON audit_log(table_name, record_id);
 CREATE INDEX idx_audit_log_user ON audit_log(user_id);
@@ -136,13 +136,16 @@
                             <div class="col-6">
                                 <h6>Total Amount</h6>
                                 <h4 class="text-primary">
-                                    ₹<fmt:formatNumber value="${totalAmount}" pattern="#,##0.00"/>
+                                    <c:out value="${reportingCurrency}"/> <fmt:formatNumber value="${totalAmount}" pattern="#,##0.00"/>
                                 </h4>
+                                <c:if test="${unconvertedCount > 0}">
+                                    <small class="text-muted">Excludes ${unconvertedCount} expenses without an exchange rate</small>
+                                </c:if>
                             </div>
                             <div class="col-6">
                                 <h6>This Month</h6>
                                 <h4 class="text-success">
-                                    ₹<fmt:formatNumber value="${thisMonthAmount}" pattern="#,##0.00"/>
+                                    <c:out value="${reportingCurrency}"/> <fmt:formatNumber value="${thisMonthAmount}" pattern="#,##0.00"/>
                                 </h4>
                                 <small class="${isIncrease ? 'text-success' : 'text-danger'}">
                                     <i class="fas fa-arrow-${isIncrease ? 'up' : 'down'}"></i>
@@ -169,10 +172,10 @@
                         <c:forEach var="expense" items="${recentExpenses}">
                             <div class="d-flex justify-content-between align-items-center mb-2">
                                 <div>
-                                    <strong>${expense.title}</strong>
+                                    <strong><c:out value="${expense.title}"/></strong>
                                     <br>
                                     <small class="text-muted">
-                                        ${expense.userName} •
+                                        <c:out value="${expense.userName}"/> •
                                         <fmt:formatDate value="${expense.date}" pattern="dd MMM yyyy"/>
                                     </small>
                                 </div>
@@ -181,7 +184,7 @@
                                         ${expense.status}
                                     </span>
                                     <br>
-                                    <strong>₹<fmt:formatNumber value="${expense.amount}" pattern="#,##0.00"/></strong>
+                                    <strong><c:out value="${expense.currency}"/> <fmt:formatNumber value="${expense.amount}" pattern="#,##0.00"/></strong>
                                 </div>
                             </div>
                             <hr>
@@ -228,6 +231,8 @@
 
     <!-- Chart.js Scripts -->
     <script>
+        const reportingCurrency = ${reportingCurrencyJson};
+
         // Category Chart
         const categoryData = ${categoryDataJson};
         const categoryCtx = document.getElementById('categoryChart').getContext('2d');
@@ -277,7 +282,7 @@
                         beginAtZero: true,
                         ticks: {
                             callback: function(value) {
-                                return '₹' + value.toLocaleString();
+                                return reportingCurrency + ' ' + value.toLocaleString();
                             }
                         }
                     }
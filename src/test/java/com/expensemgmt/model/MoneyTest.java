@@ -0,0 +1,88 @@
+package com.expensemgmt.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    @Test
+    void roundsHalfUpToCents() {
+        assertEquals(101, Money.of(new BigDecimal("1.005"), "USD").getMinorUnits());
+        assertEquals(100, Money.of(new BigDecimal("1.0049"), "USD").getMinorUnits());
+        assertEquals(1250, Money.of(new BigDecimal("12.5"), "EUR").getMinorUnits());
+    }
+
+    @Test
+    void negativeHalvesRoundAwayFromZero() {
+        assertEquals(-101, Money.of(new BigDecimal("-1.005"), "USD").getMinorUnits());
+    }
+
+    @Test
+    void zeroDecimalCurrencyRoundsToWholeUnits() {
+        Money yen = Money.of(new BigDecimal("1234.5"), "JPY");
+        assertEquals(0, yen.getScale());
+        assertEquals(1235, yen.getMinorUnits());
+        assertEquals(new BigDecimal("1235"), yen.toBigDecimal());
+    }
+
+    @Test
+    void threeDecimalCurrencyKeepsMils() {
+        Money dinar = Money.of(new BigDecimal("1.2345"), "KWD");
+        assertEquals(3, dinar.getScale());
+        assertEquals(1235, dinar.getMinorUnits());
+    }
+
+    @Test
+    void unknownAndPseudoCurrenciesUseDefaultScale() {
+        assertEquals(Money.DEFAULT_SCALE, Money.scaleOf("XAU"));
+        assertEquals(Money.DEFAULT_SCALE, Money.scaleOf("ZZZ"));
+        assertEquals(Money.DEFAULT_SCALE, Money.scaleOf(null));
+        assertEquals(157, Money.of(new BigDecimal("1.565"), "XAU").getMinorUnits());
+    }
+
+    @Test
+    void missingCurrencyDefaultsToUsd() {
+        assertEquals(Money.DEFAULT_CURRENCY, Money.of(BigDecimal.ONE, null).getCurrency());
+        assertEquals(Money.DEFAULT_CURRENCY, Money.of(BigDecimal.ONE, "").getCurrency());
+    }
+
+    @Test
+    void valuesAlreadyAtScaleAreTakenAsIs() {
+        assertEquals(12345, Money.toMinorUnits(new BigDecimal("123.45"), 2));
+        assertEquals(-5, Money.toMinorUnits(new BigDecimal("-0.05"), 2));
+    }
+
+    @Test
+    void overflowingAmountThrows() {
+        assertThrows(ArithmeticException.class, () -> Money.toMinorUnits(new BigDecimal("1E18"), 2));
+    }
+
+    @Test
+    void sumRoundsEachAmountToItsCurrency() {
+        Money.Sum sum = new Money.Sum("JPY");
+        sum.add(new BigDecimal("0.5")).add(new BigDecimal("0.5")).add((BigDecimal) null);
+        assertEquals(2, sum.getMinorUnits());
+        assertEquals(2, sum.getCount());
+    }
+
+    @Test
+    void mixingCurrenciesIsRejected() {
+        Money usd = Money.ofMinor(100, "USD");
+        Money eur = Money.ofMinor(100, "EUR");
+        assertThrows(IllegalArgumentException.class, () -> usd.plus(eur));
+        assertThrows(IllegalArgumentException.class, () -> new Money.Sum("USD").add(eur));
+    }
+
+    @Test
+    void percentagesRoundHalfUp() {
+        assertEquals(3333, Money.basisPoints(1, 3));
+        assertEquals(6667, Money.basisPoints(2, 3));
+        assertEquals(-6667, Money.basisPoints(-2, 3));
+        assertEquals(new BigDecimal("66.67"), Money.percentage(2, 3));
+        assertEquals(BigDecimal.ZERO, Money.percentage(5, 0));
+    }
+}
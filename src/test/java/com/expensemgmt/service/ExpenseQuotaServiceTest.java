@@ -0,0 +1,60 @@
+package com.expensemgmt.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpenseQuotaServiceTest {
+
+    @Test
+    void reserveStopsAtTheLimit() {
+        ExpenseQuotaService.Counter counter = new ExpenseQuotaService.Counter();
+        assertTrue(counter.tryReserve(3, 5));
+        assertTrue(counter.tryReserve(2, 5));
+        assertFalse(counter.tryReserve(1, 5));
+        assertEquals(5, counter.used.get());
+        assertEquals(5, counter.pending.get());
+    }
+
+    @Test
+    void refusedReservationLeavesNothingPending() {
+        ExpenseQuotaService.Counter counter = new ExpenseQuotaService.Counter();
+        assertFalse(counter.tryReserve(6, 5));
+        assertEquals(0, counter.used.get());
+        assertEquals(0, counter.pending.get());
+    }
+
+    @Test
+    void unlimitedNeverRefuses() {
+        ExpenseQuotaService.Counter counter = new ExpenseQuotaService.Counter();
+        assertTrue(counter.tryReserve(1_000_000, ExpenseQuotaService.UNLIMITED));
+        assertEquals(1_000_000, counter.used.get());
+    }
+
+    @Test
+    void settleKeepsCommittedRowsAndReleasesTheRest() {
+        ExpenseQuotaService.Counter counter = new ExpenseQuotaService.Counter();
+        counter.tryReserve(4, 10);
+        // Three of the four rows were inserted
+        counter.settle(4, 1);
+        assertEquals(3, counter.used.get());
+        assertEquals(0, counter.pending.get());
+        assertTrue(counter.tryReserve(7, 10));
+        assertFalse(counter.tryReserve(1, 10));
+    }
+
+    @Test
+    void resetKeepsInFlightReservations() {
+        ExpenseQuotaService.Counter counter = new ExpenseQuotaService.Counter();
+        counter.tryReserve(2, 10);
+        // The stored count does not include the uncommitted reservation yet
+        counter.reset(5);
+        assertEquals(7, counter.used.get());
+        counter.settle(2, 0);
+        assertEquals(7, counter.used.get());
+        counter.reset(7);
+        assertEquals(7, counter.used.get());
+    }
+}
@@ -0,0 +1,96 @@
+package com.expensemgmt.service;
+
+import com.expensemgmt.dto.DuplicateMatch;
+import com.expensemgmt.model.Expense;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FingerprintIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 10);
+
+    private static Expense expense(String id, String userId, String amount, LocalDate date, String receiptUrl) {
+        Expense expense = new Expense(id, "Taxi", new BigDecimal(amount), "EUR", Date.valueOf(date), userId, "1");
+        expense.setStoreId("7");
+        expense.setReceiptUrl(receiptUrl);
+        return expense;
+    }
+
+    private static DuplicateDetector.Fingerprint fingerprint(Expense expense) {
+        return DuplicateDetector.Fingerprint.of(expense);
+    }
+
+    @Test
+    void sameChargeMatchesOnNeighbouringDaysOnly() {
+        DuplicateDetector.FingerprintIndex index = new DuplicateDetector.FingerprintIndex();
+        index.add(fingerprint(expense("10", "u1", "12.50", DAY, null)));
+
+        for (int offset = -1; offset <= 1; offset++) {
+            List<DuplicateMatch> matches = index.matches(
+                    fingerprint(expense(null, "u1", "12.5", DAY.plusDays(offset), null)), false);
+            assertEquals(1, matches.size(), "offset " + offset);
+            assertEquals("10", matches.get(0).getDuplicateOfId());
+            assertEquals(DuplicateMatch.Reason.SAME_CHARGE, matches.get(0).getReason());
+        }
+        assertTrue(index.matches(fingerprint(expense(null, "u1", "12.50", DAY.plusDays(2), null)), false).isEmpty());
+        assertTrue(index.matches(fingerprint(expense(null, "u1", "12.50", DAY.minusDays(2), null)), false).isEmpty());
+    }
+
+    @Test
+    void differentSubmitterOrAmountDoesNotMatch() {
+        DuplicateDetector.FingerprintIndex index = new DuplicateDetector.FingerprintIndex();
+        index.add(fingerprint(expense("10", "u1", "12.50", DAY, null)));
+
+        assertTrue(index.matches(fingerprint(expense(null, "u2", "12.50", DAY, null)), false).isEmpty());
+        assertTrue(index.matches(fingerprint(expense(null, "u1", "12.51", DAY, null)), false).isEmpty());
+    }
+
+    @Test
+    void sameReceiptMatchesAcrossSubmittersAndIsReportedFirst() {
+        DuplicateDetector.FingerprintIndex index = new DuplicateDetector.FingerprintIndex();
+        index.add(fingerprint(expense("10", "u1", "12.50", DAY, null)));
+        index.add(fingerprint(expense("11", "u2", "99.00", DAY.minusDays(30), "/receipts/ABCDEF.jpg")));
+
+        List<DuplicateMatch> matches = index.matches(
+                fingerprint(expense(null, "u1", "12.50", DAY, "/receipts/abcdef.png")), false);
+        assertEquals(2, matches.size());
+        assertEquals("11", matches.get(0).getDuplicateOfId());
+        assertEquals(DuplicateMatch.Reason.SAME_RECEIPT, matches.get(0).getReason());
+        assertEquals("10", matches.get(1).getDuplicateOfId());
+    }
+
+    @Test
+    void removedExpensesNoLongerMatch() {
+        DuplicateDetector.FingerprintIndex index = new DuplicateDetector.FingerprintIndex();
+        Expense stored = expense("10", "u1", "12.50", DAY, "/receipts/abcdef.jpg");
+        index.add(fingerprint(stored));
+        index.add(fingerprint(expense("11", "u1", "12.50", DAY, null)));
+        index.remove(fingerprint(stored));
+
+        List<DuplicateMatch> matches = index.matches(
+                fingerprint(expense(null, "u1", "12.50", DAY, "/receipts/abcdef.jpg")), false);
+        assertEquals(1, matches.size());
+        assertEquals("11", matches.get(0).getDuplicateOfId());
+    }
+
+    @Test
+    void expenseNeverMatchesItselfAndEarlierOnlySkipsLaterIds() {
+        DuplicateDetector.FingerprintIndex index = new DuplicateDetector.FingerprintIndex();
+        index.add(fingerprint(expense("10", "u1", "12.50", DAY, null)));
+        index.add(fingerprint(expense("11", "u1", "12.50", DAY, null)));
+
+        List<DuplicateMatch> later = index.matches(fingerprint(expense("11", "u1", "12.50", DAY, null)), true);
+        assertEquals(1, later.size());
+        assertEquals("11", later.get(0).getExpenseId());
+        assertEquals("10", later.get(0).getDuplicateOfId());
+        assertTrue(index.matches(fingerprint(expense("10", "u1", "12.50", DAY, null)), true).isEmpty());
+        assertEquals(1, index.matches(fingerprint(expense("10", "u1", "12.50", DAY, null)), false).size());
+    }
+}
@@ -0,0 +1,79 @@
+package com.expensemgmt.service;
+
+import com.expensemgmt.dto.FxRate;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FxRateSnapshotTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    private static FxRateSnapshot snapshot(FxRate... rates) {
+        return FxRateSnapshot.build(Arrays.asList(rates), "USD", 5, 1);
+    }
+
+    private static FxRate rate(String base, String quote, String value) {
+        return new FxRate(DAY, base, quote, new BigDecimal(value));
+    }
+
+    @Test
+    void storedRateYieldsItsInverse() {
+        FxRateSnapshot snapshot = snapshot(rate("USD", "EUR", "0.9"));
+        assertEquals(new BigDecimal("1.11111111"), snapshot.getRate("EUR", "USD", DAY));
+        assertEquals(2, snapshot.getRateCount());
+    }
+
+    @Test
+    void explicitRateWinsOverDerivedInverse() {
+        FxRateSnapshot snapshot = snapshot(rate("USD", "EUR", "0.9"), rate("EUR", "USD", "1.12"));
+        assertEquals(new BigDecimal("1.12000000"), snapshot.getRate("EUR", "USD", DAY));
+        assertEquals(new BigDecimal("0.90000000"), snapshot.getRate("USD", "EUR", DAY));
+    }
+
+    @Test
+    void crossRateGoesThroughBaseCurrency() {
+        FxRateSnapshot snapshot = snapshot(rate("USD", "EUR", "0.9"), rate("USD", "JPY", "150"));
+        // EUR -> USD is the inverse 1.11111111, then USD -> JPY
+        assertEquals(new BigDecimal("166.66666650"), snapshot.getRate("EUR", "JPY", DAY));
+        // JPY -> USD is the inverse 0.00666667, then USD -> EUR
+        assertEquals(new BigDecimal("0.00600000"), snapshot.getRate("JPY", "EUR", DAY));
+    }
+
+    @Test
+    void crossConversionRoundsToTargetMinorUnit() {
+        FxRateSnapshot snapshot = snapshot(rate("USD", "EUR", "0.9"), rate("USD", "JPY", "150"));
+        assertEquals(16667, snapshot.convertMinorUnits(10000, "EUR", "JPY", DAY));
+        assertEquals(6000, snapshot.convertMinorUnits(10000, "JPY", "EUR", DAY));
+        assertEquals(new BigDecimal("60.00"), snapshot.convert(new BigDecimal("10000"), "JPY", "EUR", DAY));
+    }
+
+    @Test
+    void crossRateNeedsBothLegs() {
+        FxRateSnapshot snapshot = snapshot(rate("USD", "EUR", "0.9"));
+        assertFalse(snapshot.canConvert("EUR", "JPY", DAY));
+        assertThrows(IllegalStateException.class, () -> snapshot.convertMinorUnits(100, "EUR", "JPY", DAY));
+    }
+
+    @Test
+    void ratesExpireAfterMaxAge() {
+        FxRateSnapshot snapshot = snapshot(rate("USD", "EUR", "0.9"));
+        assertEquals(new BigDecimal("1.11111111"), snapshot.getRate("EUR", "USD", DAY.plusDays(5)));
+        assertNull(snapshot.getRate("EUR", "USD", DAY.plusDays(6)));
+        assertNull(snapshot.getRate("EUR", "USD", DAY.minusDays(1)));
+    }
+
+    @Test
+    void nonPositiveRatesAreIgnored() {
+        FxRateSnapshot snapshot = snapshot(rate("USD", "EUR", "0"), rate("USD", "GBP", "-1"));
+        assertEquals(0, snapshot.getRateCount());
+        assertNull(snapshot.getRate("EUR", "USD", DAY));
+    }
+}
@@ -0,0 +1,72 @@
+package com.expensemgmt.servlet;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ReceiptDownloadServletTest {
+
+    private static final long SIZE = 1000;
+
+    @Test
+    void parsesClosedRange() {
+        assertArrayEquals(new long[]{0, 499}, ReceiptDownloadServlet.parseRange("bytes=0-499", SIZE));
+        assertArrayEquals(new long[]{500, 500}, ReceiptDownloadServlet.parseRange("bytes=500-500", SIZE));
+    }
+
+    @Test
+    void openEndedRangeRunsToLastByte() {
+        assertArrayEquals(new long[]{900, 999}, ReceiptDownloadServlet.parseRange("bytes=900-", SIZE));
+    }
+
+    @Test
+    void endPastSizeIsClampedToLastByte() {
+        assertArrayEquals(new long[]{900, 999}, ReceiptDownloadServlet.parseRange("bytes=900-5000", SIZE));
+    }
+
+    @Test
+    void suffixRangeSelectsLastBytes() {
+        assertArrayEquals(new long[]{900, 999}, ReceiptDownloadServlet.parseRange("bytes=-100", SIZE));
+    }
+
+    @Test
+    void suffixLongerThanFileSelectsWholeFile() {
+        assertArrayEquals(new long[]{0, 999}, ReceiptDownloadServlet.parseRange("bytes=-5000", SIZE));
+    }
+
+    @Test
+    void zeroLengthSuffixIsUnsatisfiable() {
+        assertNull(ReceiptDownloadServlet.parseRange("bytes=-0", SIZE));
+    }
+
+    @Test
+    void startAtOrPastSizeIsUnsatisfiable() {
+        assertNull(ReceiptDownloadServlet.parseRange("bytes=1000-", SIZE));
+        assertNull(ReceiptDownloadServlet.parseRange("bytes=2000-3000", SIZE));
+    }
+
+    @Test
+    void reversedRangeIsUnsatisfiable() {
+        assertNull(ReceiptDownloadServlet.parseRange("bytes=500-100", SIZE));
+    }
+
+    @Test
+    void anyRangeOfAnEmptyFileIsUnsatisfiable() {
+        assertNull(ReceiptDownloadServlet.parseRange("bytes=0-", 0));
+        assertNull(ReceiptDownloadServlet.parseRange("bytes=-10", 0));
+    }
+
+    @Test
+    void multipleRangesAreIgnored() {
+        assertArrayEquals(new long[0], ReceiptDownloadServlet.parseRange("bytes=0-10,20-30", SIZE));
+    }
+
+    @Test
+    void otherUnitsAndMalformedSpecsAreIgnored() {
+        assertArrayEquals(new long[0], ReceiptDownloadServlet.parseRange("items=0-10", SIZE));
+        assertArrayEquals(new long[0], ReceiptDownloadServlet.parseRange("bytes=10", SIZE));
+        assertArrayEquals(new long[0], ReceiptDownloadServlet.parseRange("bytes=a-b", SIZE));
+        assertArrayEquals(new long[0], ReceiptDownloadServlet.parseRange("bytes=-", SIZE));
+    }
+}
@@ -0,0 +1,88 @@
+package com.expensemgmt.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HistogramTest {
+
+    private static final long LARGEST = (1L << 40) - 1;
+
+    @Test
+    void smallValuesHaveABucketEach() {
+        for (long value = 0; value < 128; value++) {
+            assertEquals(value, Histogram.indexOf(value));
+            assertEquals(value, Histogram.upperBoundOf((int) value));
+        }
+    }
+
+    @Test
+    void firstLogarithmicBucketsSpanTwoValues() {
+        assertEquals(128, Histogram.indexOf(128));
+        assertEquals(128, Histogram.indexOf(129));
+        assertEquals(129, Histogram.indexOf(130));
+        assertEquals(129, Histogram.upperBoundOf(128));
+        assertEquals(191, Histogram.indexOf(255));
+        assertEquals(192, Histogram.indexOf(256));
+        assertEquals(259, Histogram.upperBoundOf(192));
+    }
+
+    @Test
+    void bucketsAreContiguousWithBoundedWidth() {
+        int last = Histogram.indexOf(LARGEST);
+        assertEquals(LARGEST, Histogram.upperBoundOf(last));
+        long lower = 0;
+        for (int index = 0; index <= last; index++) {
+            long upper = Histogram.upperBoundOf(index);
+            assertEquals(index, Histogram.indexOf(lower));
+            assertEquals(index, Histogram.indexOf(upper));
+            // Every value in the bucket is reported within 1/64 of itself
+            assertTrue((upper - lower) * 64 <= Math.max(lower, 1), "bucket " + index);
+            lower = upper + 1;
+        }
+    }
+
+    @Test
+    void quantilesOfLinearRangeAreExact() {
+        Histogram histogram = new Histogram();
+        for (long value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+        assertEquals(1, histogram.getValueAtQuantile(0));
+        assertEquals(50, histogram.getValueAtQuantile(0.5));
+        assertEquals(99, histogram.getValueAtQuantile(0.99));
+        assertEquals(100, histogram.getValueAtQuantile(1));
+        assertEquals(100, histogram.getCount());
+        assertEquals(5050, histogram.getSum());
+    }
+
+    @Test
+    void quantileIsBucketUpperBoundCappedAtMax() {
+        Histogram histogram = new Histogram();
+        histogram.record(1000);
+        histogram.record(10_000);
+        histogram.record(10_001);
+        // 1000 falls in [1000, 1007]
+        assertEquals(1007, histogram.getValueAtQuantile(0.3));
+        // 10000 and 10001 share [9984, 10111], but nothing above 10001 was recorded
+        assertEquals(10_001, histogram.getValueAtQuantile(0.99));
+        assertEquals(10_001, histogram.getMax());
+    }
+
+    @Test
+    void emptyHistogramReportsZero() {
+        assertEquals(0, new Histogram().getValueAtQuantile(0.5));
+    }
+
+    @Test
+    void outOfRangeValuesAreClamped() {
+        Histogram histogram = new Histogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(0, histogram.getValueAtQuantile(0.5));
+        assertEquals(LARGEST, histogram.getValueAtQuantile(1));
+        assertEquals(LARGEST, histogram.getMax());
+        assertEquals(LARGEST, histogram.getSum());
+    }
+}
@@ -0,0 +1,129 @@
+package com.expensemgmt.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReadThroughCacheTest {
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ReadThroughCache<String, String> cache = new ReadThroughCache<>("test", 10, 1, TimeUnit.HOURS, key -> {
+            loads.incrementAndGet();
+            entered.countDown();
+            await(release);
+            return key + "-value";
+        });
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> cache.get("a")));
+            }
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("a-value", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void loadFinishingAfterInvalidateIsNotStored() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ReadThroughCache<String, Integer> cache = new ReadThroughCache<>("test", 10, 1, TimeUnit.HOURS, key -> {
+            int load = loads.incrementAndGet();
+            if (load == 1) {
+                entered.countDown();
+                await(release);
+            }
+            return load;
+        });
+
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> stale = caller.submit(() -> cache.get("a"));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            cache.invalidate("a");
+            release.countDown();
+            // The waiting caller still gets its value, but it is not cached
+            assertEquals(1, stale.get(5, TimeUnit.SECONDS));
+        } finally {
+            caller.shutdownNow();
+        }
+        assertNull(cache.getIfPresent("a"));
+        assertEquals(2, cache.get("a"));
+        assertEquals(2, cache.getIfPresent("a"));
+    }
+
+    @Test
+    void dueEntriesAreRefreshedInTheBackground() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        Queue<Runnable> refresher = new ArrayDeque<>();
+        ReadThroughCache<String, Integer> cache = new ReadThroughCache<>("test", 10, 1, 0, TimeUnit.HOURS,
+                key -> loads.incrementAndGet(), refresher::add);
+
+        assertEquals(1, cache.get("a"));
+        // Due for a refresh: the current value is served and one reload is queued
+        assertEquals(1, cache.get("a"));
+        assertEquals(1, cache.get("a"));
+        assertEquals(1, refresher.size());
+        refresher.poll().run();
+        assertEquals(2, cache.getIfPresent("a"));
+    }
+
+    @Test
+    void getNowLoadsMissesOnTheRefresher() {
+        Queue<Runnable> refresher = new ArrayDeque<>();
+        ReadThroughCache<String, String> cache = new ReadThroughCache<>("test", 10, 1, 1, TimeUnit.HOURS,
+                key -> key + "-value", refresher::add);
+
+        assertNull(cache.getNow("a"));
+        assertNull(cache.getNow("a"));
+        assertEquals(1, refresher.size());
+        refresher.poll().run();
+        assertEquals("a-value", cache.getNow("a"));
+    }
+
+    @Test
+    void leastRecentlyReadEntryIsEvicted() throws Exception {
+        ReadThroughCache<String, String> cache = new ReadThroughCache<>("test", 2, 1, TimeUnit.HOURS, key -> key);
+        cache.get("a");
+        cache.get("b");
+        cache.get("a");
+        cache.get("c");
+        assertEquals("a", cache.getIfPresent("a"));
+        assertNull(cache.getIfPresent("b"));
+        assertEquals(1, cache.getMetrics().getEvictions());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}